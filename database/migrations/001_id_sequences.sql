@@ -0,0 +1,27 @@
+-- Migration: table-backed id generation (pooled-lo) for entity ids
+--
+-- Entities no longer rely on AUTO_INCREMENT; Hibernate and the JDBC bulk writers take
+-- blocks of ids from id_sequences, where next_val is the next id not yet handed out.
+-- Existing rows keep their ids: each sequence starts after the highest id in its table.
+-- The AUTO_INCREMENT attribute is left on the id columns and is simply no longer used.
+--
+-- Run once against an existing database before starting the new application version.
+-- Safe to re-run: a sequence is only ever moved forward.
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT s.sequence_name, s.next_val FROM (
+    SELECT 'users' AS sequence_name, COALESCE(MAX(id), 0) + 1 AS next_val FROM users
+    UNION ALL SELECT 'roles', COALESCE(MAX(id), 0) + 1 FROM roles
+    UNION ALL SELECT 'departments', COALESCE(MAX(id), 0) + 1 FROM departments
+    UNION ALL SELECT 'employees', COALESCE(MAX(id), 0) + 1 FROM employees
+    UNION ALL SELECT 'leave_requests', COALESCE(MAX(id), 0) + 1 FROM leave_requests
+    UNION ALL SELECT 'payrolls', COALESCE(MAX(id), 0) + 1 FROM payrolls
+) s
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_sequences.next_val, s.next_val);
+
+COMMIT;
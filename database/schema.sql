@@ -100,6 +100,55 @@ CREATE TABLE IF NOT EXISTS payrolls (
     UNIQUE KEY unique_employee_period (employee_id, month, year)
 );
 
+-- Bulk payroll runs table (progress and resume cursor for month-end runs)
+CREATE TABLE IF NOT EXISTS payroll_runs (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    month INT NOT NULL CHECK (month >= 1 AND month <= 12),
+    year INT NOT NULL CHECK (year >= 2000),
+    status ENUM('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') NOT NULL DEFAULT 'PENDING',
+    chunk_size INT NOT NULL,
+    total_employees BIGINT NOT NULL DEFAULT 0,
+    processed_employees BIGINT NOT NULL DEFAULT 0,
+    created_count BIGINT NOT NULL DEFAULT 0,
+    skipped_count BIGINT NOT NULL DEFAULT 0,
+    committed_chunks INT NOT NULL DEFAULT 0,
+    last_employee_id BIGINT NOT NULL DEFAULT 0,
+    error_message VARCHAR(1000),
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Payroll summaries table (totals per year, month and department, maintained by the application)
+-- department_id 0 holds payrolls of employees without a department
+CREATE TABLE IF NOT EXISTS payroll_summaries (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    year INT NOT NULL,
+    month INT NOT NULL,
+    department_id BIGINT NOT NULL DEFAULT 0,
+    payroll_count BIGINT NOT NULL DEFAULT 0,
+    total_salary DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_deductions DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_bonuses DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    total_net_pay DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_payroll_summary_period_department (year, month, department_id)
+);
+
+-- Id sequences table (pooled-lo id blocks per table; next_val is the next id not yet handed out)
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- Revoked tokens table (JWT ids revoked before expiry; change log polled by every instance)
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id VARCHAR(64) NOT NULL PRIMARY KEY,
+    expires_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL
+);
+
 -- Indexes for better query performance
 -- User table indexes
 CREATE INDEX idx_user_username ON users(username);
@@ -115,17 +164,28 @@ CREATE INDEX idx_employee_department ON employees(department_id);
 CREATE INDEX idx_employee_position ON employees(position);
 CREATE INDEX idx_employee_salary ON employees(salary);
 CREATE INDEX idx_employee_joining_date ON employees(date_of_joining);
+CREATE INDEX idx_employee_name ON employees(name, id);
 CREATE INDEX idx_employee_user ON employees(user_id);
 
 -- Leave request indexes
 CREATE INDEX idx_leave_request_employee ON leave_requests(employee_id);
 CREATE INDEX idx_leave_request_status ON leave_requests(status);
 CREATE INDEX idx_leave_request_dates ON leave_requests(start_date, end_date);
+CREATE INDEX idx_leave_request_status_dates ON leave_requests(status, end_date, start_date, employee_id);
+CREATE INDEX idx_leave_request_start_date ON leave_requests(start_date, id);
+CREATE INDEX idx_leave_request_employee_overlap ON leave_requests(employee_id, status, end_date, start_date);
 
 -- Payroll indexes
 CREATE INDEX idx_payroll_employee ON payrolls(employee_id);
 CREATE INDEX idx_payroll_period ON payrolls(year, month);
 
+-- Payroll run indexes
+CREATE INDEX idx_payroll_run_period ON payroll_runs(year, month, status);
+
+-- Revoked token indexes
+CREATE INDEX idx_revoked_token_revoked_at ON revoked_tokens(revoked_at);
+CREATE INDEX idx_revoked_token_expires_at ON revoked_tokens(expires_at);
+
 -- Insert default roles
 INSERT INTO roles (name, description) VALUES 
 ('ADMIN', 'System administrator with full access'),
@@ -182,4 +242,23 @@ INSERT INTO payrolls (employee_id, month, year, total_salary, deductions, bonuse
 (5, 11, 2024, 90000.00, 9000.00, 4000.00, 85000.00, 22, 0),
 (6, 11, 2024, 60000.00, 6000.00, 1000.00, 55000.00, 22, 0);
 
+-- Build payroll summaries for the sample payrolls
+INSERT INTO payroll_summaries (year, month, department_id, payroll_count, total_salary, total_deductions, total_bonuses, total_net_pay)
+SELECT p.year, p.month, COALESCE(e.department_id, 0), COUNT(*), SUM(p.total_salary),
+       COALESCE(SUM(p.deductions), 0), COALESCE(SUM(p.bonuses), 0), COALESCE(SUM(p.net_pay), 0)
+FROM payrolls p JOIN employees e ON e.id = p.employee_id
+GROUP BY p.year, p.month, COALESCE(e.department_id, 0);
+
+-- Start each id sequence after the sample data
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT s.sequence_name, s.next_val FROM (
+    SELECT 'users' AS sequence_name, COALESCE(MAX(id), 0) + 1 AS next_val FROM users
+    UNION ALL SELECT 'roles', COALESCE(MAX(id), 0) + 1 FROM roles
+    UNION ALL SELECT 'departments', COALESCE(MAX(id), 0) + 1 FROM departments
+    UNION ALL SELECT 'employees', COALESCE(MAX(id), 0) + 1 FROM employees
+    UNION ALL SELECT 'leave_requests', COALESCE(MAX(id), 0) + 1 FROM leave_requests
+    UNION ALL SELECT 'payrolls', COALESCE(MAX(id), 0) + 1 FROM payrolls
+) s
+ON DUPLICATE KEY UPDATE next_val = GREATEST(id_sequences.next_val, s.next_val);
+
 COMMIT;
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.hrms.benchmark;
+
+import com.hrms.dto.EmployeeSearchResult;
+import com.hrms.entity.Department;
+import com.hrms.entity.Employee;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.service.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee search index latency at 100k and 500k employees, for searches and for the
+ * writes that keep the index in sync.
+ *
+ * The index is built from generated rows through a stub repository, so no database is
+ * involved. Names combine 50 first and 200 last names, positions and departments come
+ * from short lists and every email ends in @example.com, so grams such as "exa" or
+ * "eng" have posting lists covering most of the index, as they do in production.
+ *
+ * Write benchmarks:
+ * - reindexMiddleEmployee: re-indexes an employee in the middle of the slot range; its
+ *   slot is removed from and re-inserted into every posting list it is on, which shifts
+ *   the tail of each sorted array (O(n) per common gram)
+ * - insertAndRemoveNewEmployee: a hire followed by its deletion; the new slot is the
+ *   highest, so posting list inserts append
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeSearchBenchmark {
+
+    private static final int REBUILD_CHUNK_SIZE = 5_000;
+    private static final int LIMIT = 20;
+
+    private static final String[] FIRST_NAMES = {
+            "Ahmed", "Mona", "John", "Sara", "Omar", "Laila", "Peter", "Nour", "Karim", "Hana",
+            "Youssef", "Mariam", "David", "Salma", "Mostafa", "Dina", "Michael", "Rana", "Tarek", "Yasmin",
+            "Hassan", "Aya", "James", "Farah", "Ali", "Reem", "Robert", "Nada", "Amr", "Heba",
+            "Khaled", "Mai", "William", "Lina", "Sherif", "Nadia", "Thomas", "Rania", "Walid", "Jana",
+            "Samir", "Eman", "Daniel", "Malak", "Adel", "Hoda", "Joseph", "Rasha", "Fady", "Noha"};
+    private static final String[] POSITIONS = {
+            "Software Engineer", "Senior Software Engineer", "QA Engineer", "Accountant", "HR Specialist",
+            "Sales Representative", "Marketing Manager", "Operations Analyst", "Product Manager", "Designer"};
+    private static final String[] DEPARTMENTS = {
+            "Engineering", "Finance", "Human Resources", "Sales", "Marketing", "Operations", "Product", "Design"};
+
+    @Param({"100000", "500000"})
+    private int employees;
+
+    private EmployeeSearchIndex index;
+    private Employee middleEmployee;
+    private Employee newEmployee;
+    private String middleDepartmentName;
+    private String rareQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new EmployeeSearchIndex(stubRepository(), true, REBUILD_CHUNK_SIZE);
+        index.rebuild();
+
+        long middleId = employees / 2;
+        middleEmployee = employee(middleId);
+        middleDepartmentName = DEPARTMENTS[(int) (middleId % DEPARTMENTS.length)];
+        newEmployee = employee(employees + 1L);
+        rareQuery = "name:" + middleEmployee.getName().toLowerCase();
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResult> searchFullName() {
+        return index.search(rareQuery, LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResult> searchCommonTerm() {
+        return index.search("engineer", LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResult> searchShortPrefix() {
+        return index.search("mo", LIMIT);
+    }
+
+    @Benchmark
+    public List<EmployeeSearchResult> searchTwoTerms() {
+        return index.search("sara department:sales", LIMIT);
+    }
+
+    @Benchmark
+    public void reindexMiddleEmployee() {
+        index.index(middleEmployee, middleDepartmentName);
+    }
+
+    @Benchmark
+    public void insertAndRemoveNewEmployee() {
+        index.index(newEmployee, DEPARTMENTS[0]);
+        index.remove(newEmployee.getId());
+    }
+
+    private Employee employee(long id) {
+        Employee employee = new Employee(name(id), email(id), "+201000000000", POSITIONS[(int) (id % POSITIONS.length)],
+                LocalDate.of(2020, 1, 1), new BigDecimal("5000.00"));
+        employee.setId(id);
+        Department department = new Department(DEPARTMENTS[(int) (id % DEPARTMENTS.length)], null);
+        department.setId(id % DEPARTMENTS.length + 1);
+        employee.setDepartment(department);
+        return employee;
+    }
+
+    private static String name(long id) {
+        return FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " Lastname" + (id / FIRST_NAMES.length % 200);
+    }
+
+    private static String email(long id) {
+        return FIRST_NAMES[(int) (id % FIRST_NAMES.length)].toLowerCase() + "." + id + "@example.com";
+    }
+
+    /**
+     * Repository that serves findSearchDocumentsAfter from generated rows
+     */
+    private EmployeeRepository stubRepository() {
+        return (EmployeeRepository) Proxy.newProxyInstance(EmployeeRepository.class.getClassLoader(),
+                new Class<?>[] {EmployeeRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findSearchDocumentsAfter")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    long afterId = (Long) args[0];
+                    int pageSize = ((Pageable) args[1]).getPageSize();
+                    List<Object[]> rows = new ArrayList<>(pageSize);
+                    for (long id = afterId + 1; id <= employees && rows.size() < pageSize; id++) {
+                        rows.add(new Object[] {id, name(id), POSITIONS[(int) (id % POSITIONS.length)], email(id),
+                                id % DEPARTMENTS.length + 1, DEPARTMENTS[(int) (id % DEPARTMENTS.length)]});
+                    }
+                    return rows;
+                });
+    }
+}
@@ -0,0 +1,299 @@
+package com.hrms.benchmark;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.Employee;
+import com.hrms.entity.LeaveRequest;
+import com.hrms.entity.LeaveRequest.LeaveStatus;
+import com.hrms.entity.LeaveRequest.LeaveType;
+import com.hrms.entity.Payroll;
+import com.hrms.repository.EmployeeRepository;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity insert throughput: 10,000 payrolls and 10,000 leave requests persisted in one
+ * transaction, with Hibernate JDBC batching off (batch size 1) and on, for both id strategies:
+ * - table: Payroll and LeaveRequest, whose ids come from the pooled-lo table generator, so
+ *   Hibernate needs no round trip per row to learn the id and can group the inserts
+ * - identity: twins of both entities mapped with GenerationType.IDENTITY, the mapping the
+ *   table generator replaced; every insert runs on its own to return the generated id, so
+ *   the batch size makes no difference
+ *
+ * The database is in-process H2, so the gain is a lower bound of what batching saves
+ * against MySQL over the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int EMPLOYEES = 100;
+    private static final int ROWS = 10_000;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"table", "identity"})
+    private String idGeneration;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HrManagementSystemApplication.class, IdentityEntities.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:hrms-insert-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                        "hrms.search.employee.enabled=false",
+                        "hrms.leave.interval-index.enabled=false",
+                        "hrms.leave.calendar.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        seedEmployees();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearInsertedRows() {
+        jdbcTemplate.update("DELETE FROM payrolls");
+        jdbcTemplate.update("DELETE FROM leave_requests");
+        jdbcTemplate.update("DELETE FROM identity_payrolls");
+        jdbcTemplate.update("DELETE FROM identity_leave_requests");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertPayrolls() {
+        boolean identity = idGeneration.equals("identity");
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                // One payroll per employee and month, walking forward through the months
+                int period = i / EMPLOYEES;
+                int month = period % 12 + 1;
+                int year = 2000 + period / 12;
+                BigDecimal salary = BigDecimal.valueOf(5000);
+                entityManager.persist(identity
+                        ? new IdentityPayroll(month, year, salary, employee(i))
+                        : new Payroll(month, year, salary, employee(i)));
+            }
+            return ROWS;
+        });
+    }
+
+    @Benchmark
+    public int insertLeaveRequests() {
+        boolean identity = idGeneration.equals("identity");
+        LocalDate firstStart = LocalDate.now().minusYears(10);
+        return transactionTemplate.execute(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                LocalDate start = firstStart.plusDays(i / EMPLOYEES * 3L);
+                entityManager.persist(identity
+                        ? new IdentityLeaveRequest(start, start.plusDays(1), LeaveType.VACATION, "Benchmark", employee(i))
+                        : new LeaveRequest(start, start.plusDays(1), LeaveType.VACATION, "Benchmark", employee(i)));
+            }
+            return ROWS;
+        });
+    }
+
+    private Employee employee(int row) {
+        return employeeRepository.getReferenceById((long) (row % EMPLOYEES) + 1);
+    }
+
+    private void seedEmployees() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO departments (id, name, description, created_at, updated_at) " +
+                "VALUES (1, 'Benchmark', 'Benchmark department', ?, ?)", now, now);
+
+        List<Object[]> employeeRows = new ArrayList<>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            employeeRows.add(new Object[] {id, "Employee " + id, "employee" + id + "@example.com", "+201000000000",
+                    "Engineer", Date.valueOf(LocalDate.of(2000, 1, 1)), 5000, now, now, 1L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employees (id, name, email, phone, position, date_of_joining, " +
+                "salary, created_at, updated_at, department_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", employeeRows);
+    }
+
+    /**
+     * Adds the IDENTITY twins below to the application's entities
+     */
+    @EntityScan(basePackageClasses = InsertBatchingBenchmark.class)
+    static class IdentityEntities {
+    }
+
+    /**
+     * Payroll's columns with an IDENTITY id
+     */
+    @Entity
+    @Table(name = "identity_payrolls")
+    static class IdentityPayroll {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "month", nullable = false)
+        private Integer month;
+
+        @Column(name = "year", nullable = false)
+        private Integer year;
+
+        @Column(name = "total_salary", nullable = false, precision = 10, scale = 2)
+        private BigDecimal totalSalary;
+
+        @Column(name = "deductions", precision = 10, scale = 2)
+        private BigDecimal deductions = BigDecimal.ZERO;
+
+        @Column(name = "bonuses", precision = 10, scale = 2)
+        private BigDecimal bonuses = BigDecimal.ZERO;
+
+        @Column(name = "net_pay", precision = 10, scale = 2)
+        private BigDecimal netPay;
+
+        @Column(name = "working_days")
+        private Integer workingDays;
+
+        @Column(name = "leave_days_taken")
+        private Integer leaveDaysTaken = 0;
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt;
+
+        @Column(name = "updated_at")
+        private LocalDateTime updatedAt;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "employee_id", nullable = false)
+        private Employee employee;
+
+        IdentityPayroll() {
+        }
+
+        IdentityPayroll(Integer month, Integer year, BigDecimal totalSalary, Employee employee) {
+            this.month = month;
+            this.year = year;
+            this.totalSalary = totalSalary;
+            this.netPay = totalSalary;
+            this.employee = employee;
+            this.createdAt = LocalDateTime.now();
+            this.updatedAt = this.createdAt;
+        }
+    }
+
+    /**
+     * LeaveRequest's columns with an IDENTITY id
+     */
+    @Entity
+    @Table(name = "identity_leave_requests")
+    static class IdentityLeaveRequest {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "start_date", nullable = false)
+        private LocalDate startDate;
+
+        @Column(name = "end_date", nullable = false)
+        private LocalDate endDate;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "leave_type", nullable = false)
+        private LeaveType leaveType;
+
+        @Column(name = "reason")
+        private String reason;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "status", nullable = false)
+        private LeaveStatus status = LeaveStatus.PENDING;
+
+        @Column(name = "admin_comments")
+        private String adminComments;
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt;
+
+        @Column(name = "updated_at")
+        private LocalDateTime updatedAt;
+
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "employee_id", nullable = false)
+        private Employee employee;
+
+        IdentityLeaveRequest() {
+        }
+
+        IdentityLeaveRequest(LocalDate startDate, LocalDate endDate, LeaveType leaveType, String reason,
+                             Employee employee) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.leaveType = leaveType;
+            this.reason = reason;
+            this.employee = employee;
+            this.createdAt = LocalDateTime.now();
+            this.updatedAt = this.createdAt;
+        }
+    }
+}
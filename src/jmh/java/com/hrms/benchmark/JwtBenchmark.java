@@ -0,0 +1,171 @@
+package com.hrms.benchmark;
+
+import com.hrms.entity.Role;
+import com.hrms.entity.User;
+import com.hrms.security.jwt.JwtAuthenticationTokenFilter;
+import com.hrms.security.jwt.JwtClaims;
+import com.hrms.security.jwt.JwtUtils;
+import com.hrms.security.jwt.TokenRevocationList;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT hot paths: token generation, parsing with and without the claims cache,
+ * the revocation check, and the cookie authentication filter end to end.
+ *
+ * sixParsesPerRequest is the baseline the filter replaced: it validated the token and then
+ * read five claims, each time deriving the HMAC key, building a parser and verifying the
+ * signature again. Compare it with authenticationFilter.
+ *
+ * The revocation list holds REVOKED_TOKENS ids and the benchmarked token is not one of
+ * them, which is the case for almost every request. compactTokens switches between the
+ * full claim set and the compact one (sub, uid, roles bitmask, jti, exp).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "hrmsBenchmarkSecretKey-0123456789-abcdefghijklmnopqrstuvwxyz";
+    private static final int REVOKED_TOKENS = 10_000;
+    private static final int PARSES_PER_REQUEST_BEFORE = 6;
+
+    @Param({"false", "true"})
+    private boolean compactTokens;
+
+    private TokenRevocationList revocationList;
+    private JwtUtils cachedJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private JwtAuthenticationTokenFilter filter;
+    private Authentication authentication;
+    private String accessToken;
+    private String accessTokenId;
+
+    private final FilterChain noOpChain = (request, response) -> { };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        revocationList = newRevocationList();
+        cachedJwtUtils = newJwtUtils(10_000, revocationList, compactTokens);
+        uncachedJwtUtils = newJwtUtils(0, revocationList, compactTokens);
+
+        User user = new User("jane.doe", "jane.doe@example.com", "{noop}password", "Jane Doe");
+        user.setId(42L);
+        user.setRoles(Set.of(new Role(Role.EMPLOYEE), new Role(Role.HR)));
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        accessToken = cachedJwtUtils.generateJwtToken(authentication);
+        accessTokenId = cachedJwtUtils.parseClaims(accessToken).tokenId();
+
+        filter = new JwtAuthenticationTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", cachedJwtUtils);
+    }
+
+    // Each filter call replaces the authentication, so clearing it once per iteration is enough
+    // and keeps per-invocation fixture overhead out of microsecond-scale scores
+    @TearDown(Level.Iteration)
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public JwtClaims parseTokenUncached() {
+        return uncachedJwtUtils.parseClaims(accessToken);
+    }
+
+    @Benchmark
+    public JwtClaims parseTokenCached() {
+        return cachedJwtUtils.parseClaims(accessToken);
+    }
+
+    @Benchmark
+    public void sixParsesPerRequest(Blackhole blackhole) {
+        for (int i = 0; i < PARSES_PER_REQUEST_BEFORE; i++) {
+            blackhole.consume(Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .build()
+                    .parseSignedClaims(accessToken)
+                    .getPayload());
+        }
+    }
+
+    @Benchmark
+    public boolean revocationCheck() {
+        return revocationList.isRevoked(accessTokenId);
+    }
+
+    @Benchmark
+    public void authenticationFilter(Blackhole blackhole) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.setCookies(new Cookie(JwtAuthenticationTokenFilter.JWT_COOKIE_NAME, accessToken));
+        filter.doFilter(request, new MockHttpServletResponse(), noOpChain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static TokenRevocationList newRevocationList() {
+        // The change log insert is stubbed out; polling is never started
+        JdbcTemplate noOpJdbcTemplate = new JdbcTemplate() {
+            @Override
+            public int update(String sql, Object... args) {
+                return 1;
+            }
+        };
+        TokenRevocationList list = new TokenRevocationList(noOpJdbcTemplate, 100_000, 0.01, 2000, 10_000, 3_600_000);
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            list.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+        return list;
+    }
+
+    private static JwtUtils newJwtUtils(int claimsCacheSize, TokenRevocationList revocationList,
+                                        boolean compactTokens) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtRefreshExpirationMs", 604_800_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtClaimsCacheSize", claimsCacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "tokenRevocationList", revocationList);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCompactTokens", compactTokens);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,141 @@
+package com.hrms.benchmark;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.repository.LeaveRequestRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Approved leave days per employee for one payroll month over 100k seeded leaves:
+ * the deprecated per-employee YEAR()/MONTH() count, called once per employee as payroll
+ * generation used to, against the clipped range aggregation that returns every
+ * employee's total in one statement.
+ *
+ * 1,000 employees each take 100 leaves of one to five days, spread over four years, so
+ * some leaves cross a month boundary; every fourth leave is rejected. The measured month
+ * lies in the middle of the range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveAggregationBenchmark {
+
+    private static final int EMPLOYEES = 1_000;
+    private static final int LEAVES_PER_EMPLOYEE = 100;
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final LocalDate FIRST_LEAVE = LocalDate.of(2022, 1, 1);
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate PERIOD_END = PERIOD_START.withDayOfMonth(PERIOD_START.lengthOfMonth());
+
+    private ConfigurableApplicationContext context;
+    private LeaveRequestRepository leaveRequestRepository;
+    private List<Long> employeeIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HrManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:hrms-leave-days-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "hrms.search.employee.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        leaveRequestRepository = context.getBean(LeaveRequestRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        employeeIds = new ArrayList<>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            employeeIds.add(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Map<Long, Long> perEmployeeQuery() {
+        Map<Long, Long> leaveDays = new HashMap<>();
+        for (Long employeeId : employeeIds) {
+            leaveDays.put(employeeId, leaveRequestRepository.countApprovedLeaveDaysByEmployeeAndMonth(
+                    employeeId, PERIOD_START.getYear(), PERIOD_START.getMonthValue()));
+        }
+        return leaveDays;
+    }
+
+    @Benchmark
+    public List<Object[]> clippedAggregate() {
+        return leaveRequestRepository.sumApprovedLeaveDaysInPeriodByEmployees(employeeIds, PERIOD_START, PERIOD_END);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update("INSERT INTO departments (id, name, description, created_at, updated_at) " +
+                "VALUES (1, 'Benchmark', 'Benchmark department', ?, ?)", now, now);
+
+        List<Object[]> employeeRows = new ArrayList<>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            employeeRows.add(new Object[] {id, "Employee " + id, "employee" + id + "@example.com", "+201000000000",
+                    "Engineer", Date.valueOf(LocalDate.of(2000, 1, 1)), 5000, now, now, 1L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employees (id, name, email, phone, position, date_of_joining, " +
+                "salary, created_at, updated_at, department_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", employeeRows);
+
+        // One leave every two weeks per employee, staggered by employee so month boundaries are crossed
+        String leaveSql = "INSERT INTO leave_requests (id, employee_id, start_date, end_date, leave_type, reason, " +
+                "status, created_at, updated_at) VALUES (?, ?, ?, ?, 'VACATION', 'Benchmark', ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        long leaveId = 1;
+        for (long employee = 1; employee <= EMPLOYEES; employee++) {
+            for (int i = 0; i < LEAVES_PER_EMPLOYEE; i++) {
+                LocalDate start = FIRST_LEAVE.plusDays(i * 14L + employee % 14);
+                LocalDate end = start.plusDays((employee + i) % 5);
+                batch.add(new Object[] {leaveId++, employee, Date.valueOf(start), Date.valueOf(end),
+                        i % 4 == 3 ? "REJECTED" : "APPROVED", now, now});
+                if (batch.size() == SEED_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(leaveSql, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(leaveSql, batch);
+        }
+    }
+}
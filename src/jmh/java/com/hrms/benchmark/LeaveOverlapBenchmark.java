@@ -0,0 +1,164 @@
+package com.hrms.benchmark;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.LeaveRequest;
+import com.hrms.repository.LeaveRequestRepository;
+import com.hrms.service.LeaveIntervalIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leave overlap checks as each employee's leave history grows from 10 to 5,000 past requests.
+ *
+ * The application context runs on embedded H2 (MySQL mode) with the schema generated from
+ * the entities, so idx_leave_request_employee_overlap is in place. Each check asks whether
+ * a new request a few days ahead overlaps existing leave, which is the common case on
+ * create and must not depend on the history size; the entity query it replaces is measured
+ * alongside for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveOverlapBenchmark {
+
+    private static final int EMPLOYEES = 20;
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final int DAYS_BETWEEN_LEAVES = 3;
+
+    @Param({"10", "1000", "5000"})
+    private int leavesPerEmployee;
+
+    private ConfigurableApplicationContext context;
+    private LeaveRequestRepository leaveRequestRepository;
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    private final long employeeId = EMPLOYEES / 2;
+    private LocalDate upcomingStart;
+    private LocalDate upcomingEnd;
+    private LocalDate pastStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HrManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:hrms-leave-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "hrms.search.employee.enabled=false",
+                        "hrms.leave.interval-index.enabled=true",
+                        "logging.level.root=WARN")
+                .run();
+        leaveRequestRepository = context.getBean(LeaveRequestRepository.class);
+        leaveIntervalIndex = context.getBean(LeaveIntervalIndex.class);
+        seed(context.getBean(JdbcTemplate.class));
+        // The index was built empty when the context started; load the seeded leave
+        leaveIntervalIndex.rebuild();
+
+        LocalDate today = LocalDate.now();
+        upcomingStart = today.plusDays(10);
+        upcomingEnd = today.plusDays(12);
+        pastStart = leaveStart(today, leavesPerEmployee / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> databaseProbe() {
+        return leaveRequestRepository.findOverlappingLeaveIds(
+                employeeId, upcomingStart, upcomingEnd, 0L, PageRequest.of(0, 1));
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public List<LeaveRequest> databaseEntityQuery() {
+        return leaveRequestRepository.findOverlappingLeaveRequests(employeeId, upcomingStart, upcomingEnd, 0L);
+    }
+
+    @Benchmark
+    public boolean intervalIndexUpcoming() {
+        return leaveIntervalIndex.overlaps(employeeId, upcomingStart, upcomingEnd, 0L);
+    }
+
+    @Benchmark
+    public boolean intervalIndexInHistory() {
+        return leaveIntervalIndex.overlaps(employeeId, pastStart, pastStart.plusDays(1), 0L);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        LocalDate today = LocalDate.now();
+
+        jdbcTemplate.update("INSERT INTO departments (id, name, description, created_at, updated_at) " +
+                "VALUES (1, 'Benchmark', 'Benchmark department', ?, ?)", now, now);
+
+        List<Object[]> employeeRows = new ArrayList<>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            employeeRows.add(new Object[] {id, "Employee " + id, "employee" + id + "@example.com", "+201000000000",
+                    "Engineer", Date.valueOf(LocalDate.of(2000, 1, 1)), 5000, now, now, 1L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employees (id, name, email, phone, position, date_of_joining, " +
+                "salary, created_at, updated_at, department_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", employeeRows);
+
+        // Two-day leaves every few days, all in the past, every fourth one rejected
+        String leaveSql = "INSERT INTO leave_requests (id, employee_id, start_date, end_date, leave_type, reason, " +
+                "status, created_at, updated_at) VALUES (?, ?, ?, ?, 'VACATION', 'Benchmark', ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        long leaveId = 1;
+        for (long employee = 1; employee <= EMPLOYEES; employee++) {
+            for (int i = 0; i < leavesPerEmployee; i++) {
+                LocalDate start = leaveStart(today, i);
+                batch.add(new Object[] {leaveId++, employee, Date.valueOf(start), Date.valueOf(start.plusDays(1)),
+                        i % 4 == 3 ? "REJECTED" : "APPROVED", now, now});
+                if (batch.size() == SEED_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(leaveSql, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(leaveSql, batch);
+        }
+    }
+
+    /**
+     * Start of the i-th past leave, oldest first; the latest one ends three days before today
+     */
+    private LocalDate leaveStart(LocalDate today, int i) {
+        return today.minusDays((long) (leavesPerEmployee - i) * DAYS_BETWEEN_LEAVES + 1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.hrms.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.dto.ApiResponse;
+import com.hrms.dto.DepartmentDTO;
+import com.hrms.entity.Department;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Payroll;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory hot paths: payroll net pay calculation, department entity-to-DTO
+ * mapping and JSON serialization of employee list responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int listSize;
+
+    private Payroll payroll;
+    private List<Department> departments;
+    private ApiResponse<List<Employee>> employeeResponse;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        payroll = new Payroll(6, 2025, new BigDecimal("8500.00"), null);
+        payroll.setBonuses(new BigDecimal("750.50"));
+        payroll.setDeductions(new BigDecimal("1234.25"));
+
+        LocalDateTime now = LocalDateTime.now();
+        departments = new ArrayList<>(listSize);
+        List<Employee> employees = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Department department = new Department("Department " + i, "Benchmark department " + i);
+            department.setId((long) i);
+            department.setCreatedAt(now);
+            department.setUpdatedAt(now);
+            department.setEmployees(List.of());
+            departments.add(department);
+
+            Employee employee = new Employee("Employee " + i, "employee" + i + "@example.com", "+201000000000",
+                    "Engineer", LocalDate.of(2020, 1, 1).plusDays(i), new BigDecimal("5000.00"));
+            employee.setId((long) i);
+            employee.setCreatedAt(now);
+            employee.setUpdatedAt(now);
+            employee.setDepartment(department);
+            employees.add(employee);
+        }
+        employeeResponse = ApiResponse.success("Employees retrieved successfully", employees);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public BigDecimal calculateNetPay() {
+        payroll.calculateNetPay();
+        return payroll.getNetPay();
+    }
+
+    @Benchmark
+    public List<DepartmentDTO> departmentEntityToDto() {
+        List<DepartmentDTO> dtos = new ArrayList<>(departments.size());
+        for (Department department : departments) {
+            dtos.add(new DepartmentDTO(department.getId(), department.getName(), department.getDescription(),
+                    department.getCreatedAt(), department.getUpdatedAt(), department.getEmployees().size()));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeListResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employeeResponse);
+    }
+}
@@ -0,0 +1,153 @@
+package com.hrms.benchmark;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.dto.DepartmentDTO;
+import com.hrms.dto.EmployeeDTO;
+import com.hrms.repository.DepartmentRepository;
+import com.hrms.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries against an embedded H2 database (MySQL mode) seeded with
+ * 1k, 100k and 1M employees spread over 100 departments.
+ *
+ * The full application context is started once per trial with the web server
+ * and the search index disabled, so the measured calls go through the same
+ * Spring Data repositories and Hibernate mappings as production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final int DEPARTMENTS = 100;
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    private int employees;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private DepartmentRepository departmentRepository;
+
+    private long middleId;
+    private String middleName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HrManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:hrms-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "hrms.search.employee.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        departmentRepository = context.getBean(DepartmentRepository.class);
+        seed(context.getBean(JdbcTemplate.class));
+
+        middleId = employees / 2;
+        middleName = employeeName(middleId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<EmployeeDTO> findById() {
+        return employeeRepository.findAsDTOById(middleId);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> keysetFirstPage() {
+        return employeeRepository.findFirstPageAsDTOOrderByName(PageRequest.of(0, PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> keysetMiddlePage() {
+        return employeeRepository.findPageAsDTOOrderByNameAfter(middleName, middleId, PageRequest.of(0, PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> searchByName() {
+        return employeeRepository.searchAsDTO(middleName, null, null);
+    }
+
+    @Benchmark
+    public List<DepartmentDTO> departmentsWithEmployeeCount() {
+        return departmentRepository.findAllAsDTOWithEmployeeCount();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> departmentRows = new ArrayList<>(DEPARTMENTS);
+        for (long id = 1; id <= DEPARTMENTS; id++) {
+            departmentRows.add(new Object[] {id, "Department " + id, "Benchmark department " + id, now, now});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO departments (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                departmentRows);
+
+        String employeeSql = "INSERT INTO employees (id, name, email, phone, position, date_of_joining, salary, " +
+                "created_at, updated_at, department_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long id = 1; id <= employees; id++) {
+            batch.add(new Object[] {id, employeeName(id), "employee" + id + "@example.com", "+201000000000",
+                    "Engineer " + (id % 25), Date.valueOf(LocalDate.of(2015, 1, 1).plusDays(id % 3650)),
+                    5000 + (id % 5000), now, now, 1 + (id % DEPARTMENTS)});
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(employeeSql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(employeeSql, batch);
+        }
+    }
+
+    /**
+     * Names are derived from a scrambled id so that name order differs from insertion order
+     */
+    private static String employeeName(long id) {
+        return String.format("Employee %07d", (id * 7919) % 10_000_019);
+    }
+}
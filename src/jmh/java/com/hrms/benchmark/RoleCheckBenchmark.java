@@ -0,0 +1,106 @@
+package com.hrms.benchmark;
+
+import com.hrms.entity.Role;
+import com.hrms.security.access.RoleSetMethodSecurityExpressionHandler;
+import com.hrms.security.service.RoleRegistry;
+import com.hrms.security.service.UserPrincipal;
+import com.hrms.security.util.SecurityUtils;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Role resolution and role checks on the request path: building a UserPrincipal from
+ * token roles, SecurityUtils.currentUserHasRole, and a @PreAuthorize("hasRole('HR')")
+ * evaluation with Spring's default expression handler and with the RoleSet handler.
+ *
+ * Run with the GC profiler to see the allocation per operation (gc.alloc.rate.norm):
+ *   mvn -Pbenchmarks test-compile exec:exec -Djmh.includes=RoleCheckBenchmark -Djmh.args="-prof gc"
+ * Principal creation and SecurityUtils checks should report only the principal itself
+ * and nothing respectively; SpEL evaluation allocates regardless of the handler, and the
+ * difference between the two handler benchmarks is the authority set Spring copies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleCheckBenchmark {
+
+    private static final List<String> ROLE_NAMES = List.of(Role.EMPLOYEE, Role.HR);
+
+    private final int roleMask = RoleRegistry.mask(ROLE_NAMES);
+
+    private Authentication authentication;
+    private MethodInvocation invocation;
+    private DefaultMethodSecurityExpressionHandler defaultHandler;
+    private RoleSetMethodSecurityExpressionHandler roleSetHandler;
+    private Expression defaultExpression;
+    private Expression roleSetExpression;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        UserPrincipal principal = UserPrincipal.create(42L, "jane.doe", "jane.doe@example.com", "Jane Doe", ROLE_NAMES);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        invocation = new SimpleMethodInvocation(this, RoleCheckBenchmark.class.getMethod("securityUtilsHasRole"));
+        defaultHandler = new DefaultMethodSecurityExpressionHandler();
+        roleSetHandler = new RoleSetMethodSecurityExpressionHandler();
+        defaultExpression = defaultHandler.getExpressionParser().parseExpression("hasRole('HR')");
+        roleSetExpression = roleSetHandler.getExpressionParser().parseExpression("hasRole('HR')");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public UserPrincipal principalFromRoleNames() {
+        return UserPrincipal.create(42L, "jane.doe", "jane.doe@example.com", "Jane Doe", ROLE_NAMES);
+    }
+
+    @Benchmark
+    public UserPrincipal principalFromRoleMask() {
+        return UserPrincipal.create(42L, "jane.doe", roleMask, null);
+    }
+
+    @Benchmark
+    public boolean securityUtilsHasRole() {
+        return SecurityUtils.currentUserHasRole(Role.HR);
+    }
+
+    @Benchmark
+    public boolean preAuthorizeDefaultHandler() {
+        return ExpressionUtils.evaluateAsBoolean(defaultExpression,
+                defaultHandler.createEvaluationContext(() -> authentication, invocation));
+    }
+
+    @Benchmark
+    public boolean preAuthorizeRoleSetHandler() {
+        return ExpressionUtils.evaluateAsBoolean(roleSetExpression,
+                roleSetHandler.createEvaluationContext(() -> authentication, invocation));
+    }
+}
@@ -0,0 +1,183 @@
+package com.hrms.benchmark;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.Role;
+import com.hrms.entity.User;
+import com.hrms.security.jwt.JwtAuthenticationTokenFilter;
+import com.hrms.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 2,000 concurrent clients against the running application, served by Tomcat's platform
+ * thread pool or by virtual threads (spring.threads.virtual.enabled).
+ *
+ * Each operation is one wave: every client sends GET /api/payroll/{id} with an access
+ * token at once, and the wave ends when the last response has arrived, so the score is
+ * the time to serve 2,000 simultaneous requests. Any response other than 200 fails the
+ * run. /api/payroll is open to any authenticated user, so the run does not depend on how
+ * WebSecurityConfig's role rules match the token's authorities.
+ *
+ * The virtual scenario needs Java 21:
+ *   mvn -Pbenchmarks,virtual-threads test-compile exec:exec -Djmh.includes=VirtualThreadLoadBenchmark
+ * Against embedded H2 a request spends almost no time blocked, so both modes are bound
+ * by CPU and the connection pool. To measure with real database round trips, point the
+ * benchmark at MySQL:
+ *   -Djmh.args="-p databaseUrl=jdbc:mysql://localhost:3306/hr_bench?createDatabaseIfNotExist=true -p databaseUsername=root -p databasePassword=..."
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = 2_000;
+    private static final int EMPLOYEES = 1_000;
+    private static final int MIN_VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    @Param({"jdbc:h2:mem:hrms-load-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE"})
+    private String databaseUrl;
+
+    @Param({"sa"})
+    private String databaseUsername;
+
+    @Param({""})
+    private String databasePassword;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = threading.equals("virtual");
+        if (virtual && Runtime.version().feature() < MIN_VIRTUAL_THREADS_JAVA_VERSION) {
+            throw new IllegalStateException("The virtual scenario needs Java " + MIN_VIRTUAL_THREADS_JAVA_VERSION
+                    + "; build with -Pbenchmarks,virtual-threads and run on a Java 21 JDK");
+        }
+        boolean h2 = databaseUrl.startsWith("jdbc:h2:");
+        context = new SpringApplicationBuilder(HrManagementSystemApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.url=" + databaseUrl,
+                        "spring.datasource.username=" + databaseUsername,
+                        "spring.datasource.password=" + databasePassword,
+                        "spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "com.mysql.cj.jdbc.Driver"),
+                        "spring.jpa.database-platform=" + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.MySQLDialect"),
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.show-sql=false",
+                        "hrms.db.pool.connection-timeout=10s",
+                        "hrms.search.employee.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+
+        User user = new User("load.client", "load.client@example.com", "{noop}password", "Load Client");
+        user.setId(1L);
+        user.setRoles(Set.of(new Role(Role.EMPLOYEE)));
+        String accessToken = context.getBean(JwtUtils.class).generateJwtToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        requests = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            requests.add(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/payroll/" + (i % EMPLOYEES + 1)))
+                    .header("Cookie", JwtAuthenticationTokenFilter.JWT_COOKIE_NAME + "=" + accessToken)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build());
+        }
+        // HTTP/1.1 without pipelining: concurrent requests each hold their own connection
+        clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int concurrentClients() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CLIENTS);
+        for (HttpRequest request : requests) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int served = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status = response.join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("Request failed with HTTP " + status);
+            }
+            served++;
+        }
+        return served;
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO departments (id, name, description, created_at, updated_at) " +
+                "VALUES (1, 'Benchmark', 'Benchmark department', ?, ?)", now, now);
+
+        List<Object[]> employeeRows = new ArrayList<>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            employeeRows.add(new Object[] {id, "Employee " + id, "employee" + id + "@example.com", "+201000000000",
+                    "Engineer", Date.valueOf(LocalDate.of(2000, 1, 1)), 5000, now, now, 1L});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employees (id, name, email, phone, position, date_of_joining, " +
+                "salary, created_at, updated_at, department_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", employeeRows);
+
+        // One payroll per employee, with the employee's id
+        List<Object[]> payrollRows = new ArrayList<>(EMPLOYEES);
+        for (long id = 1; id <= EMPLOYEES; id++) {
+            payrollRows.add(new Object[] {id, 1, 2024, 5000, 0, 0, 5000, 22, 0, now, now, id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO payrolls (id, month, year, total_salary, deductions, bonuses, net_pay, " +
+                "working_days, leave_days_taken, created_at, updated_at, employee_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", payrollRows);
+    }
+}
@@ -0,0 +1,90 @@
+package com.hrms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * The Hikari pools behind the application DataSource: one for read-write work, one
+ * for @Transactional(readOnly = true) work on the primary, and one per read replica
+ * when hrms.db.replicas.urls is set (see DataSourceConfig and ReadReplicas).
+ *
+ * The pools are not DataSource beans themselves, so they are neither wrapped again by
+ * query instrumentation nor candidates for injection. Each pool is published as gauges
+ * tagged pool=<pool name>:
+ * - hrms.db.pool.active: connections in use
+ * - hrms.db.pool.idle: connections waiting in the pool
+ * - hrms.db.pool.pending: threads waiting for a connection
+ * - hrms.db.pool.max: maximum pool size
+ */
+public class ConnectionPools implements MeterBinder, AutoCloseable {
+
+    private final HikariDataSource write;
+    private final HikariDataSource read;
+    private final List<HikariDataSource> replicas;
+    private final List<HikariDataSource> all;
+
+    public ConnectionPools(HikariDataSource write, HikariDataSource read, List<HikariDataSource> replicas) {
+        this.write = write;
+        this.read = read;
+        this.replicas = List.copyOf(replicas);
+        List<HikariDataSource> pools = new ArrayList<>(replicas.size() + 2);
+        pools.add(write);
+        pools.add(read);
+        pools.addAll(replicas);
+        this.all = List.copyOf(pools);
+    }
+
+    public HikariDataSource write() {
+        return write;
+    }
+
+    public HikariDataSource read() {
+        return read;
+    }
+
+    public List<HikariDataSource> replicas() {
+        return replicas;
+    }
+
+    public List<HikariDataSource> all() {
+        return all;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (HikariDataSource pool : all()) {
+            gauge(registry, "hrms.db.pool.active", "Connections in use", pool, HikariPoolMXBean::getActiveConnections);
+            gauge(registry, "hrms.db.pool.idle", "Idle connections", pool, HikariPoolMXBean::getIdleConnections);
+            gauge(registry, "hrms.db.pool.pending", "Threads waiting for a connection", pool,
+                    HikariPoolMXBean::getThreadsAwaitingConnection);
+            Gauge.builder("hrms.db.pool.max", pool, HikariDataSource::getMaximumPoolSize)
+                    .description("Maximum pool size")
+                    .tag("pool", pool.getPoolName())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        all().forEach(HikariDataSource::close);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String description, HikariDataSource pool,
+                              ToIntFunction<HikariPoolMXBean> value) {
+        // The pool MXBean exists only once the pool has started
+        Gauge.builder(name, pool, dataSource -> {
+                    HikariPoolMXBean mxBean = dataSource.getHikariPoolMXBean();
+                    return mxBean != null ? value.applyAsInt(mxBean) : 0;
+                })
+                .description(description)
+                .tag("pool", pool.getPoolName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,253 @@
+package com.hrms.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application DataSource: separate Hikari pools for read-write and read-only work.
+ *
+ * Connections are routed by TransactionRoutingDataSource: @Transactional(readOnly = true)
+ * work uses the hrms-read pool (connections marked read-only), everything else the
+ * hrms-write pool, so long report and export reads cannot exhaust the connections that
+ * writes need. Both pools connect to spring.datasource.url.
+ *
+ * With hrms.db.replicas.urls set, read-only work goes to one read-only pool per replica
+ * instead (round-robin with failover and health checks, see ReadReplicas), and the
+ * primary's read pool only serves reads while no replica is up or while the user is
+ * inside their read-your-writes window. Replica pools get the read pool's size unless
+ * hrms.db.replicas.maximum-size is set, and a short connection timeout
+ * (hrms.db.replicas.connection-timeout) so a dead replica is skipped quickly.
+ *
+ * Pool sizes left at 0 are derived at startup: cores * connections-per-core + 1
+ * connections in total (HikariCP's guideline for a single disk), capped at this
+ * instance's share of the database's max_connections after the reserved connections,
+ * and split between the pools by write-share. max_connections is read from MySQL
+ * unless hrms.db.pool.database-max-connections is set.
+ *
+ * For MySQL the driver caches prepared statements (cachePrepStmts, prepStmtCacheSize,
+ * prepStmtCacheSqlLimit, useServerPrepStmts). Connections held longer than
+ * hrms.db.pool.leak-detection-threshold are logged with the stack that borrowed them.
+ * Pool gauges are described in ConnectionPools.
+ *
+ * With hrms.db.pool.enabled=false Spring Boot's single auto-configured pool is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hrms.db.pool.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    public static final String WRITE_POOL_NAME = "hrms-write";
+    public static final String READ_POOL_NAME = "hrms-read";
+    public static final String REPLICA_POOL_NAME_PREFIX = "hrms-replica-";
+
+    private static final int MIN_POOL_SIZE = 2;
+
+    @Value("${hrms.db.pool.write.maximum-size:0}")
+    private int writeMaximumSize;
+
+    @Value("${hrms.db.pool.read.maximum-size:0}")
+    private int readMaximumSize;
+
+    @Value("${hrms.db.pool.write-share:0.4}")
+    private double writeShare;
+
+    @Value("${hrms.db.pool.connections-per-core:2}")
+    private int connectionsPerCore;
+
+    @Value("${hrms.db.pool.database-max-connections:0}")
+    private int databaseMaxConnections;
+
+    @Value("${hrms.db.pool.reserved-connections:10}")
+    private int reservedConnections;
+
+    @Value("${hrms.db.pool.instances:1}")
+    private int instances;
+
+    @Value("${hrms.db.pool.connection-timeout:30s}")
+    private Duration connectionTimeout;
+
+    @Value("${hrms.db.pool.leak-detection-threshold:60s}")
+    private Duration leakDetectionThreshold;
+
+    @Value("${hrms.db.pool.max-lifetime:30m}")
+    private Duration maxLifetime;
+
+    @Value("${hrms.db.pool.statement-cache.enabled:true}")
+    private boolean statementCacheEnabled;
+
+    @Value("${hrms.db.pool.statement-cache.size:250}")
+    private int statementCacheSize;
+
+    @Value("${hrms.db.pool.statement-cache.sql-limit:2048}")
+    private int statementCacheSqlLimit;
+
+    @Value("${hrms.db.pool.server-prepared-statements:true}")
+    private boolean serverPreparedStatements;
+
+    @Value("${hrms.db.replicas.urls:}")
+    private String replicaUrls;
+
+    @Value("${hrms.db.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${hrms.db.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${hrms.db.replicas.maximum-size:0}")
+    private int replicaMaximumSize;
+
+    @Value("${hrms.db.replicas.connection-timeout:2s}")
+    private Duration replicaConnectionTimeout;
+
+    @Value("${hrms.db.replicas.health-check-interval:5s}")
+    private Duration replicaHealthCheckInterval;
+
+    @Value("${hrms.db.replicas.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Bean(destroyMethod = "close")
+    public ConnectionPools connectionPools(DataSourceProperties properties) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int total = cores * connectionsPerCore + 1;
+        int maxConnections = databaseMaxConnections > 0 ? databaseMaxConnections : readMaxConnections(properties);
+        if (maxConnections > 0) {
+            int budget = (maxConnections - reservedConnections) / Math.max(instances, 1);
+            total = Math.max(MIN_POOL_SIZE * 2, Math.min(total, budget));
+        }
+        int writeSize = writeMaximumSize > 0 ? writeMaximumSize
+                : Math.max(MIN_POOL_SIZE, (int) Math.round(total * writeShare));
+        int readSize = readMaximumSize > 0 ? readMaximumSize : Math.max(MIN_POOL_SIZE, total - writeSize);
+
+        logger.info("Connection pools: {} read-write + {} read-only connections ({} cores, database max_connections {})",
+                writeSize, readSize, cores, maxConnections > 0 ? maxConnections : "unknown");
+
+        String driverClassName = properties.determineDriverClassName();
+        String username = properties.determineUsername();
+        String password = properties.determinePassword();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String replicaUrl : StringUtils.commaDelimitedListToStringArray(replicaUrls)) {
+            if (StringUtils.hasText(replicaUrl)) {
+                HikariDataSource replica = pool(REPLICA_POOL_NAME_PREFIX + (replicas.size() + 1), replicaUrl.trim(),
+                        driverClassName,
+                        StringUtils.hasText(replicaUsername) ? replicaUsername : username,
+                        StringUtils.hasText(replicaUsername) ? replicaPassword : password,
+                        replicaMaximumSize > 0 ? replicaMaximumSize : readSize, true);
+                replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+                replicas.add(replica);
+            }
+        }
+        if (!replicas.isEmpty()) {
+            logger.info("Read-only transactions are routed to {} read replica(s)", replicas.size());
+        }
+
+        String url = properties.determineUrl();
+        return new ConnectionPools(
+                pool(WRITE_POOL_NAME, url, driverClassName, username, password, writeSize, false),
+                pool(READ_POOL_NAME, url, driverClassName, username, password, readSize, true),
+                replicas);
+    }
+
+    @Bean
+    public ReadReplicas readReplicas(ConnectionPools connectionPools) {
+        return new ReadReplicas(connectionPools.replicas(), connectionPools.read(), replicaHealthCheckInterval);
+    }
+
+    /**
+     * Read-your-writes window, registered with the transaction manager as an execution
+     * listener; without replicas there is nothing to pin
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReadReplicas readReplicas) {
+        return new ReadYourWritesTracker(readReplicas.isEmpty() ? Duration.ZERO : readYourWritesWindow);
+    }
+
+    /**
+     * Routing DataSource behind a lazy proxy, so the pool is chosen when the first
+     * statement runs and the transaction's read-only flag is known
+     */
+    @Bean
+    public DataSource dataSource(ConnectionPools connectionPools, ReadReplicas readReplicas,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        TransactionRoutingDataSource routingDataSource = new TransactionRoutingDataSource(
+                !readReplicas.isEmpty(), readYourWritesTracker);
+        routingDataSource.setTargetDataSources(Map.of(
+                TransactionRoutingDataSource.WRITE, connectionPools.write(),
+                TransactionRoutingDataSource.READ, connectionPools.read(),
+                TransactionRoutingDataSource.REPLICA, readReplicas.dataSource()));
+        routingDataSource.setDefaultTargetDataSource(connectionPools.write());
+        routingDataSource.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routingDataSource);
+        return dataSource;
+    }
+
+    private HikariDataSource pool(String poolName, String url, String driverClassName, String username,
+                                  String password, int maximumSize, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName(driverClassName);
+        config.setMaximumPoolSize(maximumSize);
+        config.setReadOnly(readOnly);
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setLeakDetectionThreshold(leakDetectionThreshold.toMillis());
+        config.setMaxLifetime(maxLifetime.toMillis());
+        if (statementCacheEnabled && isMySql(url)) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", String.valueOf(statementCacheSqlLimit));
+            config.addDataSourceProperty("useServerPrepStmts", String.valueOf(serverPreparedStatements));
+        }
+
+        // Started on first use, like Spring Boot's own pool, so startup does not fail before the database is up
+        HikariDataSource pool = new HikariDataSource();
+        config.copyStateTo(pool);
+        return pool;
+    }
+
+    /**
+     * max_connections of the MySQL server over a single unpooled connection, 0 if unknown
+     */
+    private int readMaxConnections(DataSourceProperties properties) {
+        if (!isMySql(properties.determineUrl())) {
+            return 0;
+        }
+        DataSource probe = properties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        try (Connection connection = probe.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT @@max_connections")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            logger.warn("Could not read max_connections, sizing pools by CPU cores only: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static boolean isMySql(String url) {
+        return url != null && url.startsWith("jdbc:mysql:");
+    }
+}
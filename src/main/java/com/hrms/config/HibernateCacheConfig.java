@@ -0,0 +1,102 @@
+package com.hrms.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+
+/**
+ * Regions of the Hibernate second-level and query cache (Ehcache 3 through JCache).
+ *
+ * Every region is created here with a bounded heap size instead of being left to
+ * the provider's unbounded defaults, and is published to Micrometer as cache.*
+ * meters tagged with the region name (e.g. /actuator/metrics/cache.gets?tag=cache:hrms.role).
+ *
+ * Cached regions:
+ * - hrms.role: Role entities
+ * - hrms.department: Department entities
+ * - hrms.user.roles: the User.roles collection, loaded on every authentication
+ * - hrms.query.role-by-name: results of RoleRepository.findByName
+ *
+ * All cached tables are written through Hibernate only, so entity and collection
+ * regions are invalidated on commit and query results are invalidated through the
+ * update timestamps region, which must therefore never expire or evict entries.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String ROLE_REGION = "hrms.role";
+    public static final String DEPARTMENT_REGION = "hrms.department";
+    public static final String USER_ROLES_REGION = "hrms.user.roles";
+    public static final String ROLE_BY_NAME_QUERY_REGION = "hrms.query.role-by-name";
+
+    // Hibernate's built-in region names (RegionFactory.DEFAULT_*_REGION_UNQUALIFIED_NAME)
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    // One entry per entity or collection role; sized well above the number of cached types
+    private static final long UPDATE_TIMESTAMPS_MAX_ENTRIES = 1000;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${hrms.cache.l2.time-to-live:1h}") Duration timeToLive,
+            @Value("${hrms.cache.l2.role.max-entries:100}") long roleMaxEntries,
+            @Value("${hrms.cache.l2.department.max-entries:1000}") long departmentMaxEntries,
+            @Value("${hrms.cache.l2.user-roles.max-entries:10000}") long userRolesMaxEntries,
+            @Value("${hrms.cache.l2.query.max-entries:1000}") long queryMaxEntries) {
+        CachingProvider provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createRegion(cacheManager, ROLE_REGION, roleMaxEntries, timeToLive);
+        createRegion(cacheManager, DEPARTMENT_REGION, departmentMaxEntries, timeToLive);
+        createRegion(cacheManager, USER_ROLES_REGION, userRolesMaxEntries, timeToLive);
+        createRegion(cacheManager, ROLE_BY_NAME_QUERY_REGION, queryMaxEntries, timeToLive);
+        createRegion(cacheManager, DEFAULT_QUERY_RESULTS_REGION, queryMaxEntries, timeToLive);
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, UPDATE_TIMESTAMPS_MAX_ENTRIES, null);
+        return cacheManager;
+    }
+
+    /**
+     * Hand the configured cache manager to Hibernate's JCache region factory
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    /**
+     * Hit, miss, put and eviction meters for every region
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region), "layer", "hibernate-l2");
+            }
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maxEntries, Duration timeToLive) {
+        if (cacheManager.getCache(region) == null) {
+            CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries));
+            if (timeToLive != null) {
+                configuration = configuration.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+            }
+            cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(configuration));
+        }
+        cacheManager.enableStatistics(region, true);
+    }
+}
@@ -0,0 +1,160 @@
+package com.hrms.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports JDBC activity to QueryMetrics.
+ *
+ * Connections, statements and result sets are wrapped in thin dynamic proxies that time
+ * getConnection (pool wait), time each execute call, and count rows as the result set is
+ * advanced. Everything else is passed straight to the driver objects. Result sets of
+ * statements given a fetch size (cursor reads such as the payroll export) are returned
+ * unwrapped, so streaming many rows does not pay a reflective call per column read;
+ * their rows are not counted. Extending
+ * DelegatingDataSource keeps the pool reachable for Spring Boot's pool metrics and
+ * health checks, which unwrap it.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final QueryMetrics queryMetrics;
+
+    public InstrumentedDataSource(DataSource targetDataSource, QueryMetrics queryMetrics) {
+        super(targetDataSource);
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection();
+        queryMetrics.recordConnectionWait(System.nanoTime() - start);
+        return wrap(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = obtainTargetDataSource().getConnection(username, password);
+        queryMetrics.recordConnectionWait(System.nanoTime() - start);
+        return wrap(connection);
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                case "createStatement":
+                    return wrapStatement(Statement.class, (Statement) result, null);
+                default:
+                    return result;
+            }
+        });
+    }
+
+    private <S extends Statement> S wrapStatement(Class<S> type, S statement, String preparedSql) {
+        // SQL of Statement.addBatch(sql) calls, or the batch size of a prepared statement
+        StatementState state = new StatementState(preparedSql);
+        return proxy(type, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : state.sql();
+                int batchSize = name.equals("executeBatch") || name.equals("executeLargeBatch")
+                        ? Math.max(state.batchSize, 1) : 1;
+                state.batchSize = 0;
+                long start = System.nanoTime();
+                try {
+                    Object result = invoke(target, method, args);
+                    return result instanceof ResultSet resultSet ? wrapResultSet(resultSet, state) : result;
+                } finally {
+                    queryMetrics.recordStatement(sql, System.nanoTime() - start, batchSize);
+                }
+            }
+            if (name.equals("addBatch")) {
+                state.batchSize++;
+                if (args != null && args.length == 1 && state.batchSql == null) {
+                    state.batchSql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                state.batchSize = 0;
+            } else if (name.equals("setFetchSize")) {
+                state.cursor = (Integer) args[0] != 0;
+            }
+            Object result = invoke(target, method, args);
+            return name.equals("getResultSet") && result instanceof ResultSet resultSet
+                    ? wrapResultSet(resultSet, state) : result;
+        });
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet, StatementState state) {
+        if (state.cursor) {
+            return resultSet;
+        }
+        return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                queryMetrics.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    private static final class StatementState {
+        private final String preparedSql;
+        private String batchSql;
+        private int batchSize;
+        private boolean cursor;
+
+        private StatementState(String preparedSql) {
+            this.preparedSql = preparedSql;
+        }
+
+        private String sql() {
+            return preparedSql != null ? preparedSql : batchSql;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> invoke(target, method, args);
+                };
+            }
+            return handler.handle(target, method, args);
+        };
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] {type},
+                invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.hrms.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Per-operation database metrics for HTTP routes and repository methods.
+ *
+ * An operation opens a scope on the current thread; InstrumentedDataSource reports every
+ * statement, fetched row and connection checkout to all scopes open on that thread, so
+ * an HTTP route includes the work of the repository methods it calls. When a scope
+ * closes its totals are recorded under the tags layer (http or repository) and operation
+ * (e.g. "GET /api/employees/{id}" or "EmployeeRepository.findAsDTOById"):
+ * - hrms.db.statements: statements executed (distribution summary)
+ * - hrms.db.rows: rows fetched from result sets (distribution summary); cursor reads with a
+ *   fetch size, such as the payroll export, are not counted
+ * - hrms.db.jdbc.time: time spent executing statements (timer)
+ * - hrms.db.connection.wait: time spent waiting for a pooled connection (timer)
+ *
+ * Statements above the slow-query threshold are also added to the SlowQueryLog,
+ * whether or not a scope is open (background jobs run without one).
+ */
+public class QueryMetrics {
+
+    public static final String LAYER_HTTP = "http";
+    public static final String LAYER_REPOSITORY = "repository";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+    private final long slowQueryThresholdNanos;
+    private final boolean percentileHistogram;
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog,
+                        Duration slowQueryThreshold, boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    /**
+     * Open a scope on the current thread. The operation name is resolved when needed,
+     * so an HTTP scope can be opened before the route is known.
+     */
+    public Scope open(String layer, Supplier<String> operation) {
+        Scope scope = new Scope(layer, operation, currentScope.get());
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * Close a scope opened on the current thread and record its totals
+     */
+    public void close(Scope scope) {
+        if (scope.parent != null) {
+            currentScope.set(scope.parent);
+        } else {
+            currentScope.remove();
+        }
+        meters.computeIfAbsent(scope.layer + ':' + scope.operation(), key -> new OperationMeters(scope))
+                .record(scope);
+    }
+
+    void recordStatement(String sql, long nanos, int batchSize) {
+        Scope innermost = currentScope.get();
+        for (Scope scope = innermost; scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.jdbcNanos += nanos;
+        }
+        if (nanos >= slowQueryThresholdNanos) {
+            slowQueryLog.add(sql, nanos, batchSize, innermost != null ? innermost.describe() : null);
+        }
+    }
+
+    void recordRows(long rows) {
+        for (Scope scope = currentScope.get(); scope != null; scope = scope.parent) {
+            scope.rows += rows;
+        }
+    }
+
+    void recordConnectionWait(long nanos) {
+        for (Scope scope = currentScope.get(); scope != null; scope = scope.parent) {
+            scope.connectionWaitNanos += nanos;
+        }
+    }
+
+    /**
+     * Database work of one operation on one thread
+     */
+    public static final class Scope {
+        private final String layer;
+        private final Supplier<String> operation;
+        private final Scope parent;
+        private long statements;
+        private long rows;
+        private long jdbcNanos;
+        private long connectionWaitNanos;
+
+        private Scope(String layer, Supplier<String> operation, Scope parent) {
+            this.layer = layer;
+            this.operation = operation;
+            this.parent = parent;
+        }
+
+        private String operation() {
+            return operation.get();
+        }
+
+        /**
+         * Operation names from the outermost scope in, e.g. "GET /api/employees > EmployeeRepository.findAllAsDTOOrderByName"
+         */
+        private String describe() {
+            String name = operation();
+            return parent != null ? parent.describe() + " > " + name : name;
+        }
+    }
+
+    private final class OperationMeters {
+        private final DistributionSummary statements;
+        private final DistributionSummary rows;
+        private final Timer jdbcTime;
+        private final Timer connectionWait;
+
+        private OperationMeters(Scope scope) {
+            Tags tags = Tags.of("layer", scope.layer, "operation", scope.operation());
+            this.statements = DistributionSummary.builder("hrms.db.statements")
+                    .description("SQL statements executed per operation")
+                    .tags(tags).publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder("hrms.db.rows")
+                    .description("Rows fetched from result sets per operation")
+                    .tags(tags).publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            this.jdbcTime = Timer.builder("hrms.db.jdbc.time")
+                    .description("Time spent executing SQL statements per operation")
+                    .tags(tags).publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+            this.connectionWait = Timer.builder("hrms.db.connection.wait")
+                    .description("Time spent waiting for a pooled connection per operation")
+                    .tags(tags).publishPercentileHistogram(percentileHistogram)
+                    .register(meterRegistry);
+        }
+
+        private void record(Scope scope) {
+            statements.record(scope.statements);
+            rows.record(scope.rows);
+            jdbcTime.record(scope.jdbcNanos, TimeUnit.NANOSECONDS);
+            connectionWait.record(scope.connectionWaitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
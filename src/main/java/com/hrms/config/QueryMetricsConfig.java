@@ -0,0 +1,146 @@
+package com.hrms.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Query-count and latency instrumentation per HTTP route and repository method.
+ *
+ * - the DataSource bean (or the target of its lazy connection proxy) is wrapped in InstrumentedDataSource
+ * - every Spring Data repository gets an interceptor that opens a repository scope per call
+ * - a servlet filter, ordered before Spring Security so authentication lookups are
+ *   included, opens an HTTP scope per request tagged with the matched route template
+ *
+ * Metrics are described in QueryMetrics; slow statements are listed at /actuator/slowqueries.
+ * Disable everything with hrms.db.metrics.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hrms.db.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfig {
+
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${hrms.db.slow-query.max-entries:100}") int maxEntries) {
+        return new SlowQueryLog(maxEntries);
+    }
+
+    @Bean
+    public QueryMetrics queryMetrics(MeterRegistry meterRegistry, SlowQueryLog slowQueryLog,
+                                     @Value("${hrms.db.slow-query.threshold-ms:200}") long slowQueryThresholdMs,
+                                     @Value("${hrms.db.metrics.percentile-histogram:true}") boolean percentileHistogram) {
+        return new QueryMetrics(meterRegistry, slowQueryLog, Duration.ofMillis(slowQueryThresholdMs), percentileHistogram);
+    }
+
+    /**
+     * Wrap the DataSource; QueryMetrics is resolved lazily so the meter registry is not created early.
+     * Behind a LazyConnectionDataSourceProxy (DataSourceConfig) the target is wrapped instead, so only
+     * statements that actually fetch a connection are counted
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LazyConnectionDataSourceProxy lazyDataSource
+                        && lazyDataSource.getTargetDataSource() != null
+                        && !(lazyDataSource.getTargetDataSource() instanceof InstrumentedDataSource)) {
+                    lazyDataSource.setTargetDataSource(
+                            new InstrumentedDataSource(lazyDataSource.getTargetDataSource(), queryMetrics.getObject()));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)
+                        && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    return new InstrumentedDataSource(dataSource, queryMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Add a repository scope around every repository method call
+     */
+    @Bean
+    public static BeanPostProcessor repositoryQueryMetricsPostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(repositoryInterceptor(
+                                    queryMetrics, repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> queryMetricsFilter(QueryMetrics queryMetrics) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                QueryMetrics.Scope scope = queryMetrics.open(QueryMetrics.LAYER_HTTP, () -> route(request));
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    queryMetrics.close(scope);
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    private static MethodInterceptor repositoryInterceptor(ObjectProvider<QueryMetrics> queryMetrics,
+                                                           String repositoryName) {
+        return invocation -> {
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            QueryMetrics metrics = queryMetrics.getObject();
+            String operation = repositoryName + "." + invocation.getMethod().getName();
+            QueryMetrics.Scope scope = metrics.open(QueryMetrics.LAYER_REPOSITORY, () -> operation);
+            try {
+                return invocation.proceed();
+            } finally {
+                metrics.close(scope);
+            }
+        };
+    }
+
+    /**
+     * Method and route template (never the raw URI, which would carry ids and emails)
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : UNMATCHED_ROUTE);
+    }
+}
@@ -0,0 +1,212 @@
+package com.hrms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replica pools used for @Transactional(readOnly = true) work (see TransactionRoutingDataSource).
+ *
+ * Connections are taken round-robin from the replicas currently marked up. When a replica
+ * cannot hand out a connection the request moves on to the next replica, and then to the
+ * fallback (the primary's read pool) when none is left. The replica is only marked down
+ * when the database cannot be reached; a pool that is merely exhausted (Hikari's
+ * connection timeout without a connection failure behind it) stays in rotation. Every
+ * hrms.db.replicas.health-check-interval each replica is probed with Connection.isValid
+ * and marked up or down accordingly, so a recovered replica rejoins the rotation.
+ *
+ * Replication lag is not measured; a user's own recent writes are covered by
+ * ReadYourWritesTracker, other users may briefly read stale data.
+ *
+ * Metrics:
+ * - hrms.db.replica.up (gauge, tag pool): 1 while the replica is in rotation
+ * - hrms.db.replica.fallbacks (counter): read connections taken from the primary because no replica was up
+ */
+public class ReadReplicas implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicas.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final String CONNECTION_EXCEPTION_STATE_CLASS = "08";
+
+    private final List<Replica> replicas;
+    private final DataSource fallback;
+    private final Duration healthCheckInterval;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+    private final DataSource dataSource = new ReplicaDataSource();
+
+    private volatile Counter fallbacks;
+
+    public ReadReplicas(List<HikariDataSource> replicaPools, DataSource fallback, Duration healthCheckInterval) {
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.fallback = fallback;
+        this.healthCheckInterval = healthCheckInterval;
+        this.healthChecker = replicas.isEmpty() ? null
+                : Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-health-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (healthChecker != null) {
+            long intervalMs = healthCheckInterval.toMillis();
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+    }
+
+    public boolean isEmpty() {
+        return replicas.isEmpty();
+    }
+
+    /**
+     * Replica connections with failover, as a DataSource for the routing target map
+     */
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * A connection from the next replica that is up, or from the fallback when none is
+     */
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.up) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                // Hikari reports a pool that cannot start with an unchecked exception
+                if (e instanceof RuntimeException || isConnectivityFailure(e)) {
+                    markDown(replica, e);
+                } else {
+                    logger.debug("Read replica {} has no connection available: {}",
+                            replica.pool.getPoolName(), e.getMessage());
+                }
+            }
+        }
+        Counter counter = fallbacks;
+        if (counter != null) {
+            counter.increment();
+        }
+        return fallback.getConnection();
+    }
+
+    /**
+     * Probe every replica and update its state
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    markUp(replica);
+                } else {
+                    markDown(replica, null);
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("hrms.db.replica.up", replica, r -> r.up ? 1 : 0)
+                    .description("1 while the replica is in the read rotation")
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(registry);
+        }
+        fallbacks = Counter.builder("hrms.db.replica.fallbacks")
+                .description("Read connections taken from the primary because no replica was up")
+                .register(registry);
+    }
+
+    private void markUp(Replica replica) {
+        if (!replica.up) {
+            replica.up = true;
+            logger.info("Read replica {} is back in rotation", replica.pool.getPoolName());
+        }
+    }
+
+    private void markDown(Replica replica, Exception cause) {
+        if (replica.up) {
+            replica.up = false;
+            logger.warn("Read replica {} taken out of rotation: {}", replica.pool.getPoolName(),
+                    cause != null ? cause.getMessage() : "connection is not valid");
+        }
+    }
+
+    /**
+     * Whether the exception, or a cause, reports that the database could not be reached
+     * (SQLState class 08). Hikari's connection timeout carries the last connection
+     * failure as its cause and SQLState, and has neither when the pool is only exhausted.
+     */
+    private static boolean isConnectivityFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && sqlException.getSQLState().startsWith(CONNECTION_EXCEPTION_STATE_CLASS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+
+        // Replicas start in rotation; the first failure or health check takes them out
+        private volatile boolean up = true;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+
+    private final class ReplicaDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return ReadReplicas.this.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLException("Replica connections use the configured credentials");
+        }
+    }
+}
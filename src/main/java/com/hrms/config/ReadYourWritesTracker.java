@@ -0,0 +1,81 @@
+package com.hrms.config;
+
+import com.hrms.security.util.SecurityUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes window for replica routing: for hrms.db.replicas.read-your-writes-window
+ * after a user's read-write transaction commits, that user's read-only transactions stay on
+ * the primary, so they see their own change even if the replicas lag behind.
+ *
+ * Writes are recorded when a read-write transaction begins, as a TransactionExecutionListener
+ * that Spring Boot registers with the transaction manager, so a write transaction counts even
+ * if its statements run on a connection taken before it began.
+ *
+ * Users are identified by the authenticated principal; work without one (background jobs,
+ * anonymous requests) is never pinned. The window is kept per instance, so it holds across
+ * instances only when the load balancer keeps a user on one instance.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final long windowNanos;
+
+    // User id to the System.nanoTime() until which their reads go to the primary
+    private final Map<Long, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    private volatile long lastPurge = System.nanoTime();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Opens the window for the current user once a new read-write transaction commits
+     */
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || transaction.isReadOnly() || windowNanos <= 0
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        SecurityUtils.getCurrentUserId().ifPresent(userId ->
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(userId);
+                    }
+                }));
+    }
+
+    /**
+     * Whether the current user wrote within the window and should read from the primary
+     */
+    public boolean isPinned() {
+        if (pinnedUntil.isEmpty()) {
+            return false;
+        }
+        Long userId = SecurityUtils.getCurrentUserId().orElse(null);
+        if (userId == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(userId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    void recordWrite(Long userId) {
+        long now = System.nanoTime();
+        pinnedUntil.put(userId, now + windowNanos);
+        // Expired entries are dropped at most once per window
+        if (now - lastPurge > windowNanos) {
+            lastPurge = now;
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+}
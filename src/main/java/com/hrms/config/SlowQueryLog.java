@@ -0,0 +1,80 @@
+package com.hrms.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Most recent statements slower than hrms.db.slow-query.threshold-ms, exposed as the
+ * /actuator/slowqueries endpoint (GET lists them newest first, DELETE clears the log).
+ *
+ * Only SQL text is kept: prepared statement bind values are never captured, and string
+ * and numeric literals written into the SQL are replaced with ? so no employee data,
+ * credentials or tokens end up in the log.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryLog {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxEntries;
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+
+    public SlowQueryLog(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * A statement that ran longer than the threshold
+     *
+     * @param operation the HTTP route and repository method that issued it, null for background work
+     * @param batchSize the number of parameter sets of a batch, 1 for a single execution
+     */
+    public record SlowQuery(Instant timestamp, long durationMs, String sql, int batchSize,
+                            String operation, String thread) {
+    }
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    @DeleteOperation
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    void add(String sql, long nanos, int batchSize, String operation) {
+        SlowQuery entry = new SlowQuery(Instant.now(), TimeUnit.NANOSECONDS.toMillis(nanos), redact(sql),
+                batchSize, operation, Thread.currentThread().getName());
+        synchronized (entries) {
+            entries.addFirst(entry);
+            if (entries.size() > maxEntries) {
+                entries.removeLast();
+            }
+        }
+    }
+
+    static String redact(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        redacted = NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+        return WHITESPACE.matcher(redacted).replaceAll(" ").trim();
+    }
+}
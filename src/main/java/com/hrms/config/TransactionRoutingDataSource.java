@@ -0,0 +1,38 @@
+package com.hrms.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections by the current transaction:
+ * - read-write work, including work outside any transaction, goes to the write pool
+ * - @Transactional(readOnly = true) work goes to the read replicas when any are configured,
+ *   and to the primary's read pool otherwise or while the current user is inside their
+ *   read-your-writes window (see ReadYourWritesTracker)
+ *
+ * The read-only flag is only known once the transaction has begun, so this DataSource
+ * must sit behind a LazyConnectionDataSourceProxy, which defers fetching the physical
+ * connection until the first statement.
+ */
+public class TransactionRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String WRITE = "write";
+    public static final String READ = "read";
+    public static final String REPLICA = "replica";
+
+    private final boolean replicasConfigured;
+    private final ReadYourWritesTracker readYourWrites;
+
+    public TransactionRoutingDataSource(boolean replicasConfigured, ReadYourWritesTracker readYourWrites) {
+        this.replicasConfigured = replicasConfigured;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return WRITE;
+        }
+        return replicasConfigured && !readYourWrites.isPinned() ? REPLICA : READ;
+    }
+}
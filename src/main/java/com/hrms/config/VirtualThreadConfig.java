@@ -0,0 +1,129 @@
+package com.hrms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in virtual-thread execution mode (spring.threads.virtual.enabled=true).
+ *
+ * Spring Boot serves requests and @Async work on virtual threads when the
+ * property is set and the runtime is Java 21+. This configuration adds:
+ * - a startup self-check that reports anything that would silently keep the
+ *   application on platform threads or pin virtual threads to their carriers
+ *   (old runtime, synchronized-heavy JDBC driver, long pool wait timeouts)
+ * - a JFR-based monitor reporting jdk.VirtualThreadPinned events at runtime
+ *
+ * With hrms.virtual-threads.strict=true a failed self-check aborts startup.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private static final int MIN_JAVA_VERSION = 21;
+    private static final int MIN_DRIVER_MAJOR_VERSION = 9;
+    private static final long MAX_POOL_WAIT_MS = 10_000;
+
+    @Value("${hrms.virtual-threads.strict:false}")
+    private boolean strict;
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    @ConditionalOnProperty(name = "hrms.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${hrms.virtual-threads.pinning-threshold-ms:20}") long thresholdMs,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), meterRegistry);
+    }
+
+    /**
+     * Verify the runtime, JDBC driver and connection pool suit virtual threads
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void selfCheck(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        List<String> problems = new ArrayList<>();
+
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MIN_JAVA_VERSION || !Threading.VIRTUAL.isActive(environment)) {
+            problems.add("virtual threads need Java " + MIN_JAVA_VERSION + "+ but the runtime is Java " + javaVersion
+                    + "; requests are served by platform threads (build with -Pvirtual-threads)");
+        }
+
+        DataSource dataSource = event.getApplicationContext().getBeanProvider(DataSource.class).getIfAvailable();
+        if (dataSource != null) {
+            checkDriver(dataSource, problems);
+            checkPool(event.getApplicationContext(), dataSource, problems);
+        }
+
+        if (problems.isEmpty()) {
+            logger.info("Virtual thread self-check passed: Java {}, requests served on virtual threads", javaVersion);
+            return;
+        }
+        problems.forEach(problem -> logger.warn("Virtual thread self-check: {}", problem));
+        if (strict) {
+            throw new IllegalStateException("Virtual thread self-check failed: " + String.join("; ", problems));
+        }
+    }
+
+    private void checkDriver(DataSource dataSource, List<String> problems) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (metaData.getDriverName().startsWith("MySQL")
+                    && metaData.getDriverMajorVersion() < MIN_DRIVER_MAJOR_VERSION) {
+                problems.add("MySQL Connector/J " + metaData.getDriverVersion()
+                        + " guards socket I/O with synchronized blocks and pins virtual threads; use Connector/J "
+                        + MIN_DRIVER_MAJOR_VERSION + "+ (-Pvirtual-threads)");
+            }
+        } catch (SQLException e) {
+            problems.add("could not inspect the JDBC driver: " + e.getMessage());
+        }
+    }
+
+    private void checkPool(ApplicationContext context, DataSource dataSource, List<String> problems) {
+        ConnectionPools connectionPools = context.getBeanProvider(ConnectionPools.class).getIfAvailable();
+        if (connectionPools != null) {
+            connectionPools.all().forEach(pool -> checkPool(pool, "hrms.db.pool.connection-timeout", problems));
+            return;
+        }
+        // The pool sits behind InstrumentedDataSource when query metrics are enabled
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class);
+        if (hikari != null) {
+            checkPool(hikari, "spring.datasource.hikari.connection-timeout", problems);
+        }
+    }
+
+    private void checkPool(HikariDataSource hikari, String timeoutProperty, List<String> problems) {
+        // Request concurrency is no longer capped by a thread pool, so the connection pool becomes the limit:
+        // waiting threads should fail fast instead of piling up behind a long connection timeout
+        if (hikari.getConnectionTimeout() > MAX_POOL_WAIT_MS) {
+            problems.add(timeoutProperty + " is " + hikari.getConnectionTimeout() + " ms for pool "
+                    + hikari.getPoolName() + "; with unbounded request concurrency keep it at or below "
+                    + MAX_POOL_WAIT_MS + " ms");
+        }
+        logger.info("Virtual thread mode: at most {} concurrent database operations on pool {} (Hikari maximum-pool-size)",
+                hikari.getMaximumPoolSize(), hikari.getPoolName());
+    }
+}
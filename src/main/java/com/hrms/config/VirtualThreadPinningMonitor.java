@@ -0,0 +1,109 @@
+package com.hrms.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams JFR jdk.VirtualThreadPinned events while the application runs.
+ *
+ * A virtual thread is pinned when it blocks inside a synchronized block or a
+ * native frame, which holds its carrier thread and caps throughput at the number
+ * of carriers. Each pinning longer than the configured threshold is recorded in
+ * the hrms.virtual.pinned timer and counted per pinning site, the first frame in
+ * com.hrms code or the top frame otherwise. The first occurrence of each site is
+ * logged at WARN with its stack so the offending lock can be found.
+ */
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.hrms.";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Counter pinnedCounter;
+    private final Map<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder("hrms.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+        this.pinnedCounter = Counter.builder("hrms.virtual.pinned.events")
+                .description("Virtual thread pinning events above the reporting threshold")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedTimer.record(event.getDuration());
+        pinnedCounter.increment();
+
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = pinningSite(frames);
+
+        LongAdder count = pinnedBySite.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            logger.warn("Virtual thread pinned for {} ms at {}\n{}",
+                    event.getDuration().toMillis(), site, formatFrames(frames));
+        } else {
+            logger.debug("Virtual thread pinned for {} ms at {} ({} times)",
+                    event.getDuration().toMillis(), site, count.sum());
+        }
+    }
+
+    private static String pinningSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frameName(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frameName(frames.get(0));
+    }
+
+    private static String formatFrames(List<RecordedFrame> frames) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+            builder.append("\tat ").append(frameName(frames.get(i)))
+                    .append(':').append(frames.get(i).getLineNumber()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
@@ -1,11 +1,17 @@
 package com.hrms.config;
 
+import com.hrms.security.access.RoleSetMethodSecurityExpressionHandler;
+import com.hrms.security.crypto.BoundedPasswordEncoder;
 import com.hrms.security.jwt.JwtAuthenticationEntryPoint;
 import com.hrms.security.jwt.JwtAuthenticationTokenFilter;
 import com.hrms.security.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -14,8 +20,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -57,6 +61,21 @@ public class WebSecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint unauthorizedHandler;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${hrms.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${hrms.security.password.hash-threads:0}")
+    private int passwordHashThreads;
+    
+    @Value("${hrms.security.password.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+    
+    @Value("${hrms.security.password.timeout-ms:5000}")
+    private long passwordHashTimeoutMs;
+    
     /**
      * Creates JWT authentication filter bean.
      * This filter processes JWT tokens on each request.
@@ -68,6 +87,21 @@ public class WebSecurityConfig {
         return new JwtAuthenticationTokenFilter();
     }
     
+    /**
+     * Method security expression handler whose role checks read the principal's
+     * interned RoleSet instead of copying its authorities on every evaluation.
+     * Static so method security can be set up before this configuration.
+     * 
+     * @param applicationContext context for bean references in expressions
+     * @return MethodSecurityExpressionHandler instance
+     */
+    @Bean
+    public static MethodSecurityExpressionHandler methodSecurityExpressionHandler(ApplicationContext applicationContext) {
+        RoleSetMethodSecurityExpressionHandler handler = new RoleSetMethodSecurityExpressionHandler();
+        handler.setApplicationContext(applicationContext);
+        return handler;
+    }
+    
     /**
      * Password encoder bean using BCrypt hashing algorithm.
      * 
@@ -77,11 +111,16 @@ public class WebSecurityConfig {
      * - It's resistant to rainbow table attacks
      * - It's adaptive (can increase rounds as hardware improves)
      * 
-     * @return BCryptPasswordEncoder with default strength (10 rounds)
+     * Hashing runs on a dedicated bounded pool so login bursts cannot starve
+     * request threads; saturation is rejected with HTTP 503.
+     * 
+     * @return BoundedPasswordEncoder with the configured BCrypt strength
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        int threads = passwordHashThreads > 0 ? passwordHashThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcryptStrength, threads, passwordHashQueueCapacity,
+                passwordHashTimeoutMs, meterRegistry);
     }
     
     /**
@@ -101,6 +140,9 @@ public class WebSecurityConfig {
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
         
+        // Re-hash stored passwords below the configured BCrypt strength on successful login
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
+        
         // Optional: Hide user not found exceptions for security
         // authProvider.setHideUserNotFoundExceptions(false);
         
@@ -205,6 +247,7 @@ public class WebSecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                .requestMatchers("/actuator/slowqueries/**").hasRole("ADMIN")
                 .requestMatchers("/favicon.ico", "/error").permitAll()
                 
                 // Admin-only endpoints
@@ -4,6 +4,7 @@ import com.hrms.config.SwaggerResponses;
 import com.hrms.dto.ApiResponse;
 import com.hrms.dto.auth.*;
 import com.hrms.entity.User;
+import com.hrms.exception.ServiceUnavailableException;
 import com.hrms.security.jwt.JwtAuthenticationTokenFilter;
 import com.hrms.security.jwt.JwtUtils;
 import com.hrms.security.service.CustomUserDetailsService;
@@ -176,7 +177,7 @@ public class AuthController {
             jwtResponse.setAccountNonLocked(userDetails.isAccountNonLocked());
             
             // Update user's last login
-            authService.updateLastLogin(userDetails.getUsername());
+            authService.updateLastLogin(userDetails.getId());
             
             logger.info("User authenticated successfully with HTTP-only cookies: {} with roles: {}", 
                        userDetails.getUsername(), roles);
@@ -208,6 +209,11 @@ public class AuthController {
             
             return new ResponseEntity<>(ApiResponse.error("Authentication failed"), HttpStatus.UNAUTHORIZED);
                     
+        } catch (ServiceUnavailableException e) {
+            logger.warn("Login rejected, password hashing saturated: {}", loginRequest.getUsernameOrEmail());
+            
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+                    
         } catch (Exception e) {
             logger.error("Unexpected error during login for user: {} - {}", 
                         loginRequest.getUsernameOrEmail(), e.getMessage(), e);
@@ -252,6 +258,11 @@ public class AuthController {
             return new ResponseEntity<>(ApiResponse.success(
                 "User registered successfully! You can now login with your credentials.", null), HttpStatus.CREATED);
                     
+        } catch (ServiceUnavailableException e) {
+            logger.warn("Registration rejected, password hashing saturated: {}", signupRequest.getUsername());
+            
+            return new ResponseEntity<>(ApiResponse.error(e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+                    
         } catch (Exception e) {
             logger.error("Registration failed for username: {} - {}", 
                         signupRequest.getUsername(), e.getMessage());
@@ -341,13 +352,15 @@ public class AuthController {
     }
     
     /**
-     * User logout endpoint - clears HTTP-only authentication cookies.
+     * User logout endpoint - revokes the tokens and clears HTTP-only authentication cookies.
      * 
      * This endpoint:
-     * 1. Clears the security context
-     * 2. Creates "clear" cookies with expired dates
-     * 3. Clears both access and refresh token cookies
-     * 4. Returns logout success confirmation
+     * 1. Revokes the access and refresh tokens until they expire, so copies of
+     *    them are rejected on every instance
+     * 2. Clears the security context
+     * 3. Creates "clear" cookies with expired dates
+     * 4. Clears both access and refresh token cookies
+     * 5. Returns logout success confirmation
      * 
      * Cookie Management:
      * - Automatically clears 'hrms_access_token' cookie
@@ -367,6 +380,16 @@ public class AuthController {
     @SwaggerResponses.LogoutResponses
     public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse response) {
         
+        // Revoke the tokens, not just the cookies holding them
+        String accessToken = extractTokenFromCookie(request, JwtAuthenticationTokenFilter.JWT_COOKIE_NAME);
+        if (accessToken != null) {
+            jwtUtils.revokeToken(accessToken);
+        }
+        String refreshToken = extractRefreshTokenFromCookie(request);
+        if (refreshToken != null) {
+            jwtUtils.revokeToken(refreshToken);
+        }
+        
         // Clear authentication context
         SecurityContextHolder.clearContext();
         
@@ -379,7 +402,7 @@ public class AuthController {
         response.addCookie(clearAccessCookie);
         response.addCookie(clearRefreshCookie);
         
-        logger.info("User logged out successfully - cookies cleared");
+        logger.info("User logged out successfully - tokens revoked and cookies cleared");
         
         return ResponseEntity.ok(ApiResponse.success("Logout successful - authentication cookies cleared", null));
     }
@@ -496,11 +519,22 @@ public class AuthController {
      * @return refresh token or null if not found
      */
     private String extractRefreshTokenFromCookie(HttpServletRequest request) {
+        return extractTokenFromCookie(request, JwtAuthenticationTokenFilter.REFRESH_COOKIE_NAME);
+    }
+    
+    /**
+     * Extracts a token from the named cookie.
+     * 
+     * @param request HTTP request containing cookies
+     * @param cookieName name of the cookie holding the token
+     * @return token if found, null otherwise
+     */
+    private String extractTokenFromCookie(HttpServletRequest request, String cookieName) {
         Cookie[] cookies = request.getCookies();
         
         if (cookies != null) {
             for (Cookie cookie : cookies) {
-                if (JwtAuthenticationTokenFilter.REFRESH_COOKIE_NAME.equals(cookie.getName())) {
+                if (cookieName.equals(cookie.getName())) {
                     return cookie.getValue();
                 }
             }
@@ -48,9 +48,9 @@ public class DepartmentController {
     @GetMapping("/name/{name}")
     @Operation(summary = "Get department by name", description = "Retrieve a department by its name")
     @SwaggerResponses.CrudResponses
-    public ResponseEntity<ApiResponse<Department>> getDepartmentByName(
+    public ResponseEntity<ApiResponse<DepartmentDTO>> getDepartmentByName(
             @Parameter(description = "Department name", required = true) @PathVariable String name) {
-        Department department = departmentService.getDepartmentByName(name);
+        DepartmentDTO department = departmentService.getDepartmentByNameAsDTO(name);
         return ResponseEntity.ok(ApiResponse.success("Department retrieved successfully", department));
     }
     
@@ -70,11 +70,12 @@ public class DepartmentController {
     @PutMapping("/{id}")
     @Operation(summary = "Update department", description = "Update an existing department")
     @SwaggerResponses.CrudResponses
-    public ResponseEntity<ApiResponse<Department>> updateDepartment(
+    public ResponseEntity<ApiResponse<DepartmentDTO>> updateDepartment(
             @Parameter(description = "Department ID", required = true) @PathVariable Long id,
             @Parameter(description = "Updated department details", required = true) 
             @Valid @RequestBody Department department) {
-        Department updatedDepartment = departmentService.updateDepartment(id, department);
+        departmentService.updateDepartment(id, department);
+        DepartmentDTO updatedDepartment = departmentService.getDepartmentByIdAsDTO(id);
         return ResponseEntity.ok(ApiResponse.success("Department updated successfully", updatedDepartment));
     }
     
@@ -1,11 +1,18 @@
 package com.hrms.controller;
 
 import com.hrms.dto.ApiResponse;
+import com.hrms.dto.CursorPage;
+import com.hrms.dto.EmployeeDTO;
+import com.hrms.dto.EmployeeImportResult;
+import com.hrms.dto.EmployeeSearchResult;
 import com.hrms.entity.Employee;
+import com.hrms.service.EmployeeImportService;
+import com.hrms.service.EmployeeImportService.ImportFormat;
 import com.hrms.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -13,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -23,32 +31,43 @@ import java.util.List;
 public class EmployeeController {
     
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
     
     @Autowired
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeImportService employeeImportService) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
     }
     
     @GetMapping
     @Operation(summary = "Get all employees", description = "Retrieve all employees ordered by name")
-    public ResponseEntity<ApiResponse<List<Employee>>> getAllEmployees() {
-        List<Employee> employees = employeeService.getAllEmployees();
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getAllEmployees() {
+        List<EmployeeDTO> employees = employeeService.getAllEmployees();
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
+    @GetMapping("/page")
+    @Operation(summary = "Get employees page", description = "Retrieve employees ordered by name using keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<EmployeeDTO>>> getEmployeesPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)") @RequestParam(required = false) Integer size) {
+        CursorPage<EmployeeDTO> page = employeeService.getEmployeesPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", page));
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get employee by ID", description = "Retrieve a specific employee by ID")
-    public ResponseEntity<ApiResponse<Employee>> getEmployeeById(
+    public ResponseEntity<ApiResponse<EmployeeDTO>> getEmployeeById(
             @Parameter(description = "Employee ID", required = true) @PathVariable Long id) {
-        Employee employee = employeeService.getEmployeeById(id);
+        EmployeeDTO employee = employeeService.getEmployeeDTOById(id);
         return ResponseEntity.ok(ApiResponse.success("Employee retrieved successfully", employee));
     }
     
     @GetMapping("/email/{email}")
     @Operation(summary = "Get employee by email", description = "Retrieve an employee by email address")
-    public ResponseEntity<ApiResponse<Employee>> getEmployeeByEmail(
+    public ResponseEntity<ApiResponse<EmployeeDTO>> getEmployeeByEmail(
             @Parameter(description = "Employee email", required = true) @PathVariable String email) {
-        Employee employee = employeeService.getEmployeeByEmail(email);
+        EmployeeDTO employee = employeeService.getEmployeeByEmail(email);
         return ResponseEntity.ok(ApiResponse.success("Employee retrieved successfully", employee));
     }
     
@@ -64,13 +83,28 @@ public class EmployeeController {
         );
     }
     
+    @PostMapping("/import")
+    @Operation(summary = "Import employees",
+               description = "Bulk import employees from a CSV (with header row) or NDJSON request body and report rejected rows")
+    public ResponseEntity<ApiResponse<EmployeeImportResult>> importEmployees(
+            @Parameter(description = "Input format: csv or ndjson (defaults to the request content type)")
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        ImportFormat importFormat = ImportFormat.from(format, request.getContentType());
+        EmployeeImportResult result = employeeImportService.importEmployees(request.getInputStream(), importFormat);
+        String message = String.format("Employee import completed: %d imported, %d rejected",
+                result.getImported(), result.getFailed());
+        return ResponseEntity.ok(ApiResponse.success(message, result));
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update employee", description = "Update an existing employee")
-    public ResponseEntity<ApiResponse<Employee>> updateEmployee(
+    public ResponseEntity<ApiResponse<EmployeeDTO>> updateEmployee(
             @Parameter(description = "Employee ID", required = true) @PathVariable Long id,
             @Parameter(description = "Updated employee details", required = true) 
             @Valid @RequestBody Employee employee) {
-        Employee updatedEmployee = employeeService.updateEmployee(id, employee);
+        employeeService.updateEmployee(id, employee);
+        EmployeeDTO updatedEmployee = employeeService.getEmployeeDTOById(id);
         return ResponseEntity.ok(ApiResponse.success("Employee updated successfully", updatedEmployee));
     }
     
@@ -84,111 +118,121 @@ public class EmployeeController {
     
     @GetMapping("/department/{departmentId}")
     @Operation(summary = "Get employees by department", description = "Retrieve employees by department ID")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesByDepartment(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesByDepartment(
             @Parameter(description = "Department ID", required = true) @PathVariable Long departmentId) {
-        List<Employee> employees = employeeService.getEmployeesByDepartment(departmentId);
+        List<EmployeeDTO> employees = employeeService.getEmployeesByDepartment(departmentId);
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/department/name/{departmentName}")
     @Operation(summary = "Get employees by department name", description = "Retrieve employees by department name")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesByDepartmentName(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesByDepartmentName(
             @Parameter(description = "Department name", required = true) @PathVariable String departmentName) {
-        List<Employee> employees = employeeService.getEmployeesByDepartmentName(departmentName);
+        List<EmployeeDTO> employees = employeeService.getEmployeesByDepartmentName(departmentName);
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/position/{position}")
     @Operation(summary = "Get employees by position", description = "Retrieve employees by position")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesByPosition(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesByPosition(
             @Parameter(description = "Position", required = true) @PathVariable String position) {
-        List<Employee> employees = employeeService.getEmployeesByPosition(position);
+        List<EmployeeDTO> employees = employeeService.getEmployeesByPosition(position);
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/search/name")
     @Operation(summary = "Search employees by name", description = "Search employees by name (case-insensitive)")
-    public ResponseEntity<ApiResponse<List<Employee>>> searchEmployeesByName(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> searchEmployeesByName(
             @Parameter(description = "Name to search", required = true) @RequestParam String name) {
-        List<Employee> employees = employeeService.searchEmployeesByName(name);
+        List<EmployeeDTO> employees = employeeService.searchEmployeesByName(name);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", employees));
     }
     
+    @GetMapping("/search/fast")
+    @Operation(summary = "Fast employee search", description = "Ranked prefix/infix search over name, position, email and department name. " +
+            "All terms must match; restrict a term with name:, position:, email: or department:")
+    public ResponseEntity<ApiResponse<List<EmployeeSearchResult>>> fastSearchEmployees(
+            @Parameter(description = "Search terms", required = true) @RequestParam String q,
+            @Parameter(description = "Maximum number of results (capped by the server)") @RequestParam(required = false) Integer limit) {
+        List<EmployeeSearchResult> results = employeeService.fastSearchEmployees(q, limit);
+        return ResponseEntity.ok(ApiResponse.success("Search completed successfully", results));
+    }
+    
     @GetMapping("/search/position")
     @Operation(summary = "Search employees by position", description = "Search employees by position (case-insensitive)")
-    public ResponseEntity<ApiResponse<List<Employee>>> searchEmployeesByPosition(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> searchEmployeesByPosition(
             @Parameter(description = "Position to search", required = true) @RequestParam String position) {
-        List<Employee> employees = employeeService.searchEmployeesByPosition(position);
+        List<EmployeeDTO> employees = employeeService.searchEmployeesByPosition(position);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", employees));
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search employees by multiple criteria", description = "Search employees by name, position, and department")
-    public ResponseEntity<ApiResponse<List<Employee>>> searchEmployees(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> searchEmployees(
             @Parameter(description = "Name to search") @RequestParam(required = false) String name,
             @Parameter(description = "Position to search") @RequestParam(required = false) String position,
             @Parameter(description = "Department name to search") @RequestParam(required = false) String departmentName) {
-        List<Employee> employees = employeeService.searchEmployees(name, position, departmentName);
+        List<EmployeeDTO> employees = employeeService.searchEmployees(name, position, departmentName);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", employees));
     }
     
     @GetMapping("/salary-range")
     @Operation(summary = "Get employees by salary range", description = "Retrieve employees within a salary range")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesBySalaryRange(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesBySalaryRange(
             @Parameter(description = "Minimum salary", required = true) @RequestParam BigDecimal minSalary,
             @Parameter(description = "Maximum salary", required = true) @RequestParam BigDecimal maxSalary) {
-        List<Employee> employees = employeeService.getEmployeesBySalaryRange(minSalary, maxSalary);
+        List<EmployeeDTO> employees = employeeService.getEmployeesBySalaryRange(minSalary, maxSalary);
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/joined-after")
     @Operation(summary = "Get employees who joined after a date", description = "Retrieve employees who joined after a specific date")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesJoinedAfter(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesJoinedAfter(
             @Parameter(description = "Date (yyyy-MM-dd)", required = true) 
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<Employee> employees = employeeService.getEmployeesJoinedAfter(date);
+        List<EmployeeDTO> employees = employeeService.getEmployeesJoinedAfter(date);
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/joined-before")
     @Operation(summary = "Get employees who joined before a date", description = "Retrieve employees who joined before a specific date")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesJoinedBefore(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesJoinedBefore(
             @Parameter(description = "Date (yyyy-MM-dd)", required = true) 
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<Employee> employees = employeeService.getEmployeesJoinedBefore(date);
+        List<EmployeeDTO> employees = employeeService.getEmployeesJoinedBefore(date);
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/joined-between")
     @Operation(summary = "Get employees who joined between dates", description = "Retrieve employees who joined between two dates")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesJoinedBetween(
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesJoinedBetween(
             @Parameter(description = "Start date (yyyy-MM-dd)", required = true) 
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date (yyyy-MM-dd)", required = true) 
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<Employee> employees = employeeService.getEmployeesJoinedBetween(startDate, endDate);
+        List<EmployeeDTO> employees = employeeService.getEmployeesJoinedBetween(startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/order-by-salary")
     @Operation(summary = "Get employees ordered by salary", description = "Retrieve employees ordered by salary (highest first)")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesOrderedBySalary() {
-        List<Employee> employees = employeeService.getEmployeesOrderedBySalary();
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesOrderedBySalary() {
+        List<EmployeeDTO> employees = employeeService.getEmployeesOrderedBySalary();
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/order-by-joining-date")
     @Operation(summary = "Get employees ordered by joining date", description = "Retrieve employees ordered by joining date (newest first)")
-    public ResponseEntity<ApiResponse<List<Employee>>> getEmployeesOrderedByJoiningDate() {
-        List<Employee> employees = employeeService.getEmployeesOrderedByJoiningDate();
+    public ResponseEntity<ApiResponse<List<EmployeeDTO>>> getEmployeesOrderedByJoiningDate() {
+        List<EmployeeDTO> employees = employeeService.getEmployeesOrderedByJoiningDate();
         return ResponseEntity.ok(ApiResponse.success("Employees retrieved successfully", employees));
     }
     
     @GetMapping("/{id}/with-department")
     @Operation(summary = "Get employee with department details", description = "Retrieve an employee with department information")
-    public ResponseEntity<ApiResponse<Employee>> getEmployeeWithDepartment(
+    public ResponseEntity<ApiResponse<EmployeeDTO>> getEmployeeWithDepartment(
             @Parameter(description = "Employee ID", required = true) @PathVariable Long id) {
-        Employee employee = employeeService.getEmployeeWithDepartment(id);
+        EmployeeDTO employee = employeeService.getEmployeeWithDepartment(id);
         return ResponseEntity.ok(ApiResponse.success("Employee with department retrieved successfully", employee));
     }
     
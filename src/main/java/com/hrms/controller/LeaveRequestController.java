@@ -1,6 +1,9 @@
 package com.hrms.controller;
 
 import com.hrms.dto.ApiResponse;
+import com.hrms.dto.CursorPage;
+import com.hrms.dto.LeaveIntervalDTO;
+import com.hrms.dto.TeamLeaveCalendarDTO;
 import com.hrms.entity.LeaveRequest;
 import com.hrms.entity.LeaveRequest.LeaveStatus;
 import com.hrms.entity.LeaveRequest.LeaveType;
@@ -37,6 +40,15 @@ public class LeaveRequestController {
         return ResponseEntity.ok(ApiResponse.success("Leave requests retrieved successfully", leaveRequests));
     }
     
+    @GetMapping("/page")
+    @Operation(summary = "Get leave requests page", description = "Retrieve leave requests, latest start date first, using keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<LeaveRequest>>> getLeaveRequestsPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)") @RequestParam(required = false) Integer size) {
+        CursorPage<LeaveRequest> page = leaveRequestService.getLeaveRequestsPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Leave requests retrieved successfully", page));
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get leave request by ID", description = "Retrieve a specific leave request by ID")
     public ResponseEntity<ApiResponse<LeaveRequest>> getLeaveRequestById(
@@ -152,6 +164,30 @@ public class LeaveRequestController {
         return ResponseEntity.ok(ApiResponse.success("Leave requests retrieved successfully", leaveRequests));
     }
     
+    @GetMapping("/department/{departmentId}/overlapping")
+    @Operation(summary = "Get department leave in a date range", description = "Retrieve the pending and approved leave date ranges of a department's employees overlapping a date range")
+    public ResponseEntity<ApiResponse<List<LeaveIntervalDTO>>> getDepartmentLeavesInRange(
+            @Parameter(description = "Department ID", required = true) @PathVariable Long departmentId,
+            @Parameter(description = "Start date (yyyy-MM-dd)", required = true) 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)", required = true) 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<LeaveIntervalDTO> leaves = leaveRequestService.getDepartmentLeavesInRange(departmentId, startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success("Department leave retrieved successfully", leaves));
+    }
+    
+    @GetMapping("/department/{departmentId}/calendar")
+    @Operation(summary = "Get department leave calendar", description = "Retrieve a day-by-employee matrix of approved ('A') and pending ('P') leave for a department, with daily absence counts and peak days")
+    public ResponseEntity<ApiResponse<TeamLeaveCalendarDTO>> getDepartmentCalendar(
+            @Parameter(description = "Department ID", required = true) @PathVariable Long departmentId,
+            @Parameter(description = "Start date (yyyy-MM-dd)", required = true) 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "End date (yyyy-MM-dd)", required = true) 
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        TeamLeaveCalendarDTO calendar = leaveRequestService.getDepartmentCalendar(departmentId, startDate, endDate);
+        return ResponseEntity.ok(ApiResponse.success("Department leave calendar retrieved successfully", calendar));
+    }
+    
     @GetMapping("/employee/{employeeId}/year/{year}/approved")
     @Operation(summary = "Get approved leaves by employee and year", description = "Retrieve approved leave requests for an employee in a specific year")
     public ResponseEntity<ApiResponse<List<LeaveRequest>>> getApprovedLeavesByEmployeeAndYear(
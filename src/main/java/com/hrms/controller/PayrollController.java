@@ -2,16 +2,24 @@ package com.hrms.controller;
 
 import com.hrms.config.SwaggerResponses;
 import com.hrms.dto.ApiResponse;
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.Payroll;
+import com.hrms.entity.PayrollRun;
+import com.hrms.service.PayrollExportService;
+import com.hrms.service.PayrollExportService.ExportFormat;
+import com.hrms.service.PayrollRunService;
 import com.hrms.service.PayrollService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -22,10 +30,15 @@ import java.util.List;
 public class PayrollController {
     
     private final PayrollService payrollService;
+    private final PayrollRunService payrollRunService;
+    private final PayrollExportService payrollExportService;
     
     @Autowired
-    public PayrollController(PayrollService payrollService) {
+    public PayrollController(PayrollService payrollService, PayrollRunService payrollRunService,
+                             PayrollExportService payrollExportService) {
         this.payrollService = payrollService;
+        this.payrollRunService = payrollRunService;
+        this.payrollExportService = payrollExportService;
     }
     
     @GetMapping
@@ -36,6 +49,16 @@ public class PayrollController {
         return ResponseEntity.ok(ApiResponse.success("Payroll records retrieved successfully", payrolls));
     }
     
+    @GetMapping("/page")
+    @Operation(summary = "Get payroll records page", description = "Retrieve payroll records, most recent period first, using keyset pagination")
+    @SwaggerResponses.CrudResponses
+    public ResponseEntity<ApiResponse<CursorPage<Payroll>>> getPayrollsPage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)") @RequestParam(required = false) Integer size) {
+        CursorPage<Payroll> page = payrollService.getPayrollsPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payroll records retrieved successfully", page));
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get payroll by ID", description = "Retrieve a specific payroll record by ID")
     @SwaggerResponses.CrudResponses
@@ -91,6 +114,52 @@ public class PayrollController {
         );
     }
     
+    @PostMapping("/runs")
+    @Operation(summary = "Start bulk payroll run", description = "Generate payroll for the whole workforce for a month and year in chunked batches")
+    @SwaggerResponses.CrudResponses
+    public ResponseEntity<ApiResponse<PayrollRun>> startPayrollRun(
+            @Parameter(description = "Month (1-12)", required = true) @RequestParam Integer month,
+            @Parameter(description = "Year", required = true) @RequestParam Integer year) {
+        PayrollRun run = payrollRunService.startRun(month, year);
+        return new ResponseEntity<>(
+            ApiResponse.success("Payroll run started successfully", run), 
+            HttpStatus.ACCEPTED
+        );
+    }
+    
+    @PostMapping("/runs/{runId}/resume")
+    @Operation(summary = "Resume bulk payroll run", description = "Resume a failed or interrupted payroll run from its last committed chunk")
+    @SwaggerResponses.CrudResponses
+    public ResponseEntity<ApiResponse<PayrollRun>> resumePayrollRun(
+            @Parameter(description = "Payroll run ID", required = true) @PathVariable Long runId) {
+        PayrollRun run = payrollRunService.resumeRun(runId);
+        return new ResponseEntity<>(
+            ApiResponse.success("Payroll run resumed successfully", run), 
+            HttpStatus.ACCEPTED
+        );
+    }
+    
+    @GetMapping("/runs/{runId}")
+    @Operation(summary = "Get bulk payroll run", description = "Retrieve progress and throughput of a payroll run")
+    @SwaggerResponses.CrudResponses
+    public ResponseEntity<ApiResponse<PayrollRun>> getPayrollRun(
+            @Parameter(description = "Payroll run ID", required = true) @PathVariable Long runId) {
+        PayrollRun run = payrollRunService.getRunById(runId);
+        return ResponseEntity.ok(ApiResponse.success("Payroll run retrieved successfully", run));
+    }
+    
+    @GetMapping("/runs")
+    @Operation(summary = "Get bulk payroll runs", description = "Retrieve payroll runs for a period, or the most recent runs if no period is given")
+    @SwaggerResponses.CrudResponses
+    public ResponseEntity<ApiResponse<List<PayrollRun>>> getPayrollRuns(
+            @Parameter(description = "Month (1-12)") @RequestParam(required = false) Integer month,
+            @Parameter(description = "Year") @RequestParam(required = false) Integer year) {
+        List<PayrollRun> runs = (month != null && year != null)
+            ? payrollRunService.getRunsByPeriod(month, year)
+            : payrollRunService.getRecentRuns();
+        return ResponseEntity.ok(ApiResponse.success("Payroll runs retrieved successfully", runs));
+    }
+    
     @GetMapping("/employee/{employeeId}")
     @Operation(summary = "Get payroll records by employee", description = "Retrieve all payroll records for a specific employee")
     public ResponseEntity<ApiResponse<List<Payroll>>> getPayrollsByEmployee(
@@ -126,6 +195,38 @@ public class PayrollController {
         return ResponseEntity.ok(ApiResponse.success("Payroll records retrieved successfully", payrolls));
     }
     
+    @GetMapping("/year/{year}/page")
+    @Operation(summary = "Get payroll records page by year", description = "Retrieve payroll records for a specific year, latest month first, using keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<Payroll>>> getPayrollsByYearPage(
+            @Parameter(description = "Year", required = true) @PathVariable Integer year,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (capped by the server)") @RequestParam(required = false) Integer size) {
+        CursorPage<Payroll> page = payrollService.getPayrollsByYearPage(year, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payroll records retrieved successfully", page));
+    }
+    
+    @GetMapping("/export")
+    @Operation(summary = "Export payroll records", 
+               description = "Stream all payroll records of a year, or of one month, as CSV or NDJSON with employee and department columns. " +
+                             "The response is gzip-compressed when the client sends Accept-Encoding: gzip")
+    public ResponseEntity<StreamingResponseBody> exportPayrolls(
+            @Parameter(description = "Year", required = true) @RequestParam Integer year,
+            @Parameter(description = "Month (1-12), omit to export the whole year") @RequestParam(required = false) Integer month,
+            @Parameter(description = "Export format: csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        payrollExportService.validatePeriod(month, year);
+        
+        String filename = month != null
+                ? String.format("payroll-%d-%02d.%s", year, month, exportFormat.getExtension())
+                : String.format("payroll-%d.%s", year, exportFormat.getExtension());
+        StreamingResponseBody body = out -> payrollExportService.export(month, year, exportFormat, out);
+        
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+    
     @GetMapping("/employee/{employeeId}/year/{year}")
     @Operation(summary = "Get payroll records by employee and year", description = "Retrieve payroll records for an employee for a specific year")
     public ResponseEntity<ApiResponse<List<Payroll>>> getPayrollsByEmployeeAndYear(
@@ -0,0 +1,73 @@
+package com.hrms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ * The cursor is opaque to clients and is null on the last page.
+ *
+ * @param <T> The type of the items in the page
+ */
+@Schema(description = "Keyset-paginated page of results with an opaque cursor for the next page")
+public class CursorPage<T> {
+
+    @Schema(description = "Items in this page")
+    private List<T> items;
+
+    @Schema(description = "Number of items in this page", example = "20")
+    private int size;
+
+    @Schema(description = "Indicates if more items are available after this page", example = "true")
+    private boolean hasMore;
+
+    @Schema(description = "Opaque cursor for the next page, null on the last page")
+    private String nextCursor;
+
+    // Constructors
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.size = items.size();
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -37,6 +37,11 @@ public class DepartmentDTO {
         this.employeeCount = employeeCount;
     }
 
+    // Projection constructor for JPQL "SELECT new DepartmentDTO(..., COUNT(e))" queries
+    public DepartmentDTO(Long id, String name, String description, LocalDateTime createdAt, LocalDateTime updatedAt, Long employeeCount) {
+        this(id, name, description, createdAt, updatedAt, employeeCount != null ? employeeCount.intValue() : 0);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
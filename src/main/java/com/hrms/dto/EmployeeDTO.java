@@ -59,6 +59,16 @@ public class EmployeeDTO {
         this.updatedAt = updatedAt;
     }
 
+    // Projection constructor for JPQL "SELECT new EmployeeDTO(...)" queries with the department LEFT JOINed
+    public EmployeeDTO(Long id, String name, String email, String phone, String position,
+                      LocalDate dateOfJoining, BigDecimal salary, LocalDateTime createdAt, LocalDateTime updatedAt,
+                      Long departmentId, String departmentName, String departmentDescription) {
+        this(id, name, email, phone, position, dateOfJoining, salary, createdAt, updatedAt);
+        if (departmentId != null) {
+            this.department = new DepartmentBasicInfo(departmentId, departmentName, departmentDescription);
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,107 @@
+package com.hrms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk employee import: row counts plus one entry per rejected row
+ */
+public class EmployeeImportResult {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Reasons a single input row was not imported; row is the 1-based data row (header excluded)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowError {
+        private int row;
+        private String email;
+        private List<String> messages;
+
+        public RowError() {
+        }
+
+        public RowError(int row, String email, List<String> messages) {
+            this.row = row;
+            this.email = email;
+            this.messages = messages;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+
+        public void setMessages(List<String> messages) {
+            this.messages = messages;
+        }
+    }
+
+    // Constructors
+    public EmployeeImportResult() {
+    }
+
+    public void addImported(int count) {
+        this.totalRows += count;
+        this.imported += count;
+    }
+
+    public void addError(RowError error) {
+        this.totalRows++;
+        this.failed++;
+        this.errors.add(error);
+    }
+
+    // Getters and Setters
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+}
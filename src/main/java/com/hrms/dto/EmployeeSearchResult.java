@@ -0,0 +1,89 @@
+package com.hrms.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Ranked hit returned by the in-process employee search index
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeSearchResult {
+    private Long id;
+    private String name;
+    private String email;
+    private String position;
+    private Long departmentId;
+    private String departmentName;
+    private int score;
+
+    // Constructors
+    public EmployeeSearchResult() {
+    }
+
+    public EmployeeSearchResult(Long id, String name, String email, String position,
+                                Long departmentId, String departmentName, int score) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.position = position;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public String getDepartmentName() {
+        return departmentName;
+    }
+
+    public void setDepartmentName(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,70 @@
+package com.hrms.dto;
+
+import com.hrms.entity.LeaveRequest.LeaveStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Date range of a pending or approved leave request, without the request details
+ */
+public class LeaveIntervalDTO {
+    private Long id;
+    private Long employeeId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LeaveStatus status;
+
+    // Constructors
+    public LeaveIntervalDTO() {
+    }
+
+    // Projection constructor for JPQL "SELECT new LeaveIntervalDTO(...)" queries
+    public LeaveIntervalDTO(Long id, Long employeeId, LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+        this.id = id;
+        this.employeeId = employeeId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LeaveStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(LeaveStatus status) {
+        this.status = status;
+    }
+}
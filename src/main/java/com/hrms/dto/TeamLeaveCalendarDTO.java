@@ -0,0 +1,157 @@
+package com.hrms.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Day-by-employee leave matrix of a department over a date range.
+ *
+ * rows holds one string per day from startDate to endDate, with one character per
+ * employee in the order of the employees list: 'A' approved leave, 'P' pending leave,
+ * '.' at work. absentCounts and approvedCounts hold the number of employees out on
+ * each day, counting approved and pending leave or approved leave only.
+ */
+public class TeamLeaveCalendarDTO {
+    private Long departmentId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<Member> employees;
+    private List<String> rows;
+    private int[] absentCounts;
+    private int[] approvedCounts;
+    private int peakAbsences;
+    private List<LocalDate> peakDates;
+
+    /**
+     * Employee column of the matrix
+     */
+    public static class Member {
+        private Long id;
+        private String name;
+        private String position;
+
+        public Member() {
+        }
+
+        public Member(Long id, String name, String position) {
+            this.id = id;
+            this.name = name;
+            this.position = position;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPosition() {
+            return position;
+        }
+
+        public void setPosition(String position) {
+            this.position = position;
+        }
+    }
+
+    // Constructors
+    public TeamLeaveCalendarDTO() {
+    }
+
+    public TeamLeaveCalendarDTO(Long departmentId, LocalDate startDate, LocalDate endDate, List<Member> employees,
+                                List<String> rows, int[] absentCounts, int[] approvedCounts,
+                                int peakAbsences, List<LocalDate> peakDates) {
+        this.departmentId = departmentId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.employees = employees;
+        this.rows = rows;
+        this.absentCounts = absentCounts;
+        this.approvedCounts = approvedCounts;
+        this.peakAbsences = peakAbsences;
+        this.peakDates = peakDates;
+    }
+
+    // Getters and Setters
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public List<Member> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<Member> employees) {
+        this.employees = employees;
+    }
+
+    public List<String> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<String> rows) {
+        this.rows = rows;
+    }
+
+    public int[] getAbsentCounts() {
+        return absentCounts;
+    }
+
+    public void setAbsentCounts(int[] absentCounts) {
+        this.absentCounts = absentCounts;
+    }
+
+    public int[] getApprovedCounts() {
+        return approvedCounts;
+    }
+
+    public void setApprovedCounts(int[] approvedCounts) {
+        this.approvedCounts = approvedCounts;
+    }
+
+    public int getPeakAbsences() {
+        return peakAbsences;
+    }
+
+    public void setPeakAbsences(int peakAbsences) {
+        this.peakAbsences = peakAbsences;
+    }
+
+    public List<LocalDate> getPeakDates() {
+        return peakDates;
+    }
+
+    public void setPeakDates(List<LocalDate> peakDates) {
+        this.peakDates = peakDates;
+    }
+}
@@ -8,11 +8,17 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+    @Index(name = "idx_leave_request_status_dates", columnList = "status, end_date, start_date, employee_id"),
+    @Index(name = "idx_leave_request_start_date", columnList = "start_date, id"),
+    @Index(name = "idx_leave_request_employee_overlap", columnList = "employee_id, status, end_date, start_date")
+})
 public class LeaveRequest {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "leave_request_id")
+    @TableGenerator(name = "leave_request_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "leave_requests", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Start date is required")
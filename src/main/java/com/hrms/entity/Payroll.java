@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
 public class Payroll {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payroll_id")
+    @TableGenerator(name = "payroll_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "payrolls", allocationSize = 50)
     private Long id;
     
     @NotNull(message = "Month is required")
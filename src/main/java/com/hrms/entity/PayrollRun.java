@@ -0,0 +1,275 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_runs")
+public class PayrollRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Month is required")
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    @Column(name = "month", nullable = false)
+    private Integer month;
+
+    @NotNull(message = "Year is required")
+    @Min(value = 2000, message = "Year must be 2000 or later")
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RunStatus status = RunStatus.PENDING;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_employees", nullable = false)
+    private Long totalEmployees = 0L;
+
+    @Column(name = "processed_employees", nullable = false)
+    private Long processedEmployees = 0L;
+
+    @Column(name = "created_count", nullable = false)
+    private Long createdCount = 0L;
+
+    @Column(name = "skipped_count", nullable = false)
+    private Long skippedCount = 0L;
+
+    @Column(name = "committed_chunks", nullable = false)
+    private Integer committedChunks = 0;
+
+    // Keyset cursor: highest employee id covered by the last committed chunk
+    @Column(name = "last_employee_id", nullable = false)
+    private Long lastEmployeeId = 0L;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Enums
+    public enum RunStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    // Constructors
+    public PayrollRun() {
+    }
+
+    public PayrollRun(Integer month, Integer year, Integer chunkSize) {
+        this.month = month;
+        this.year = year;
+        this.chunkSize = chunkSize;
+        this.status = RunStatus.PENDING;
+    }
+
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Business methods
+    public boolean isCompleted() {
+        return status == RunStatus.COMPLETED;
+    }
+
+    public void recordChunk(Long lastEmployeeIdInChunk, int processed, int created, int skipped) {
+        this.lastEmployeeId = lastEmployeeIdInChunk;
+        this.processedEmployees += processed;
+        this.createdCount += created;
+        this.skippedCount += skipped;
+        this.committedChunks++;
+    }
+
+    public double getProgressPercent() {
+        if (totalEmployees == null || totalEmployees == 0) {
+            return status == RunStatus.COMPLETED ? 100.0 : 0.0;
+        }
+        return Math.min(100.0, processedEmployees * 100.0 / totalEmployees);
+    }
+
+    public double getThroughputPerSecond() {
+        if (startedAt == null || processedEmployees == 0) {
+            return 0.0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return processedEmployees * 1000.0 / millis;
+    }
+
+    public String getPayrollPeriod() {
+        return month + "/" + year;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public void setMonth(Integer month) {
+        this.month = month;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RunStatus status) {
+        this.status = status;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Long getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(Long totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public Long getProcessedEmployees() {
+        return processedEmployees;
+    }
+
+    public void setProcessedEmployees(Long processedEmployees) {
+        this.processedEmployees = processedEmployees;
+    }
+
+    public Long getCreatedCount() {
+        return createdCount;
+    }
+
+    public void setCreatedCount(Long createdCount) {
+        this.createdCount = createdCount;
+    }
+
+    public Long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(Long skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public Integer getCommittedChunks() {
+        return committedChunks;
+    }
+
+    public void setCommittedChunks(Integer committedChunks) {
+        this.committedChunks = committedChunks;
+    }
+
+    public Long getLastEmployeeId() {
+        return lastEmployeeId;
+    }
+
+    public void setLastEmployeeId(Long lastEmployeeId) {
+        this.lastEmployeeId = lastEmployeeId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "PayrollRun{" +
+                "id=" + id +
+                ", month=" + month +
+                ", year=" + year +
+                ", status=" + status +
+                ", chunkSize=" + chunkSize +
+                ", totalEmployees=" + totalEmployees +
+                ", processedEmployees=" + processedEmployees +
+                ", createdCount=" + createdCount +
+                ", skippedCount=" + skippedCount +
+                ", lastEmployeeId=" + lastEmployeeId +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed payroll totals per (year, month, department).
+ *
+ * Rows are maintained incrementally by PayrollSummaryService in the same
+ * transaction as the payroll write, and are read-only from JPA's point of view.
+ * Employees without a department are summarised under department id 0.
+ */
+@Entity
+@Immutable
+@Table(name = "payroll_summaries",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payroll_summary_period_department",
+                                             columnNames = {"year", "month", "department_id"}))
+public class PayrollSummary {
+
+    public static final long NO_DEPARTMENT = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "year", nullable = false)
+    private Integer year;
+
+    @Column(name = "month", nullable = false)
+    private Integer month;
+
+    @Column(name = "department_id", nullable = false)
+    private Long departmentId;
+
+    @Column(name = "payroll_count", nullable = false)
+    private Long payrollCount;
+
+    @Column(name = "total_salary", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalSalary;
+
+    @Column(name = "total_deductions", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalDeductions;
+
+    @Column(name = "total_bonuses", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalBonuses;
+
+    @Column(name = "total_net_pay", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalNetPay;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    protected PayrollSummary() {
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public Long getPayrollCount() {
+        return payrollCount;
+    }
+
+    public BigDecimal getTotalSalary() {
+        return totalSalary;
+    }
+
+    public BigDecimal getTotalDeductions() {
+        return totalDeductions;
+    }
+
+    public BigDecimal getTotalBonuses() {
+        return totalBonuses;
+    }
+
+    public BigDecimal getTotalNetPay() {
+        return totalNetPay;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
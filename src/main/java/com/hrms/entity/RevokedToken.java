@@ -0,0 +1,51 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked JWT, identified by its jti claim.
+ *
+ * Rows are written and read by TokenRevocationList over JDBC and are read-only from
+ * JPA's point of view; the entity exists so the table is part of the mapped schema.
+ * revoked_at is taken from the database clock and serves as the change-log position
+ * other instances poll from. Rows are purged once expires_at has passed, because the
+ * token is rejected as expired from then on.
+ */
+@Entity
+@Immutable
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at"),
+    @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    // Constructors
+    protected RevokedToken() {
+    }
+
+    // Getters
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+}
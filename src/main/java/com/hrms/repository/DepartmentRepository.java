@@ -1,5 +1,6 @@
 package com.hrms.repository;
 
+import com.hrms.dto.DepartmentDTO;
 import com.hrms.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -32,6 +33,12 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      */
     List<Department> findAllByOrderByNameAsc();
     
+    /**
+     * Get [id, name] of every department
+     */
+    @Query("SELECT d.id, d.name FROM Department d")
+    List<Object[]> findAllIdAndName();
+    
     /**
      * Get department with employee count
      */
@@ -43,4 +50,37 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
      */
     @Query("SELECT d, COUNT(e) FROM Department d LEFT JOIN d.employees e GROUP BY d")
     List<Object[]> findDepartmentsWithEmployeeCount();
+    
+    /**
+     * Get all departments as DTOs with employee count, ordered by name, in a single query
+     */
+    @Query("SELECT new com.hrms.dto.DepartmentDTO(d.id, d.name, d.description, d.createdAt, d.updatedAt, COUNT(e)) " +
+           "FROM Department d LEFT JOIN d.employees e " +
+           "GROUP BY d.id, d.name, d.description, d.createdAt, d.updatedAt ORDER BY d.name")
+    List<DepartmentDTO> findAllAsDTOWithEmployeeCount();
+    
+    /**
+     * Get a department as DTO with employee count in a single query
+     */
+    @Query("SELECT new com.hrms.dto.DepartmentDTO(d.id, d.name, d.description, d.createdAt, d.updatedAt, COUNT(e)) " +
+           "FROM Department d LEFT JOIN d.employees e WHERE d.id = :id " +
+           "GROUP BY d.id, d.name, d.description, d.createdAt, d.updatedAt")
+    Optional<DepartmentDTO> findAsDTOWithEmployeeCountById(@Param("id") Long id);
+    
+    /**
+     * Get a department by name as DTO with employee count in a single query
+     */
+    @Query("SELECT new com.hrms.dto.DepartmentDTO(d.id, d.name, d.description, d.createdAt, d.updatedAt, COUNT(e)) " +
+           "FROM Department d LEFT JOIN d.employees e WHERE d.name = :name " +
+           "GROUP BY d.id, d.name, d.description, d.createdAt, d.updatedAt")
+    Optional<DepartmentDTO> findAsDTOWithEmployeeCountByName(@Param("name") String name);
+    
+    /**
+     * Search departments by name (case-insensitive) as DTOs with employee count in a single query
+     */
+    @Query("SELECT new com.hrms.dto.DepartmentDTO(d.id, d.name, d.description, d.createdAt, d.updatedAt, COUNT(e)) " +
+           "FROM Department d LEFT JOIN d.employees e " +
+           "WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+           "GROUP BY d.id, d.name, d.description, d.createdAt, d.updatedAt ORDER BY d.name")
+    List<DepartmentDTO> searchAsDTOWithEmployeeCount(@Param("name") String name);
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.hrms.repository;
 
+import com.hrms.dto.EmployeeDTO;
 import com.hrms.entity.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,64 +10,119 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
+    /**
+     * Select clause of the EmployeeDTO projections: employee columns plus the department's
+     * id, name and description, LEFT JOINed so every read is a single query
+     */
+    String EMPLOYEE_DTO_SELECT = "SELECT new com.hrms.dto.EmployeeDTO(e.id, e.name, e.email, e.phone, e.position, " +
+            "e.dateOfJoining, e.salary, e.createdAt, e.updatedAt, d.id, d.name, d.description) " +
+            "FROM Employee e LEFT JOIN e.department d ";
+    
+    /**
+     * Same projection with the department INNER JOINed, for reads that only return
+     * employees assigned to a department
+     */
+    String EMPLOYEE_WITH_DEPARTMENT_DTO_SELECT = "SELECT new com.hrms.dto.EmployeeDTO(e.id, e.name, e.email, " +
+            "e.phone, e.position, e.dateOfJoining, e.salary, e.createdAt, e.updatedAt, d.id, d.name, d.description) " +
+            "FROM Employee e JOIN e.department d ";
+    
     /**
      * Find employee by email
      */
     Optional<Employee> findByEmail(String email);
     
     /**
-     * Find employees by department id
+     * Get an employee as DTO by id
+     */
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.id = :id")
+    Optional<EmployeeDTO> findAsDTOById(@Param("id") Long id);
+    
+    /**
+     * Get an employee as DTO by email
+     */
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.email = :email")
+    Optional<EmployeeDTO> findAsDTOByEmail(@Param("email") String email);
+    
+    /**
+     * Get an employee with a department as DTO by id (empty if the employee has no department)
+     */
+    @Query(EMPLOYEE_WITH_DEPARTMENT_DTO_SELECT + "WHERE e.id = :id")
+    Optional<EmployeeDTO> findWithDepartmentAsDTOById(@Param("id") Long id);
+    
+    /**
+     * Get employees of a department as DTOs
+     */
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE d.id = :departmentId")
+    List<EmployeeDTO> findAsDTOByDepartmentId(@Param("departmentId") Long departmentId);
+    
+    /**
+     * Find the ids of a department's employees
      */
-    List<Employee> findByDepartmentId(Long departmentId);
+    @Query("SELECT e.id FROM Employee e WHERE e.department.id = :departmentId")
+    List<Long> findIdsByDepartmentId(@Param("departmentId") Long departmentId);
     
     /**
-     * Find employees by department name
+     * Get [id, name, position] of a department's employees ordered by name
      */
-    @Query("SELECT e FROM Employee e JOIN e.department d WHERE d.name = :departmentName")
-    List<Employee> findByDepartmentName(@Param("departmentName") String departmentName);
+    @Query("SELECT e.id, e.name, e.position FROM Employee e WHERE e.department.id = :departmentId ORDER BY e.name, e.id")
+    List<Object[]> findMembersByDepartmentId(@Param("departmentId") Long departmentId);
     
     /**
-     * Find employees by position
+     * Get employees by department name as DTOs
      */
-    List<Employee> findByPosition(String position);
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE d.name = :departmentName")
+    List<EmployeeDTO> findAsDTOByDepartmentName(@Param("departmentName") String departmentName);
     
     /**
-     * Find employees by name containing (case-insensitive)
+     * Get employees by position as DTOs
      */
-    List<Employee> findByNameContainingIgnoreCase(String name);
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.position = :position")
+    List<EmployeeDTO> findAsDTOByPosition(@Param("position") String position);
     
     /**
-     * Find employees by position containing (case-insensitive)
+     * Get employees by name containing (case-insensitive) as DTOs
      */
-    List<Employee> findByPositionContainingIgnoreCase(String position);
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE LOWER(e.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<EmployeeDTO> findAsDTOByNameContaining(@Param("name") String name);
     
     /**
-     * Find employees by salary range
+     * Get employees by position containing (case-insensitive) as DTOs
      */
-    @Query("SELECT e FROM Employee e WHERE e.salary BETWEEN :minSalary AND :maxSalary")
-    List<Employee> findBySalaryBetween(@Param("minSalary") BigDecimal minSalary, 
-                                      @Param("maxSalary") BigDecimal maxSalary);
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE LOWER(e.position) LIKE LOWER(CONCAT('%', :position, '%'))")
+    List<EmployeeDTO> findAsDTOByPositionContaining(@Param("position") String position);
     
     /**
-     * Find employees who joined after a certain date
+     * Get employees by salary range as DTOs
      */
-    List<Employee> findByDateOfJoiningAfter(LocalDate date);
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.salary BETWEEN :minSalary AND :maxSalary")
+    List<EmployeeDTO> findAsDTOBySalaryBetween(@Param("minSalary") BigDecimal minSalary,
+                                              @Param("maxSalary") BigDecimal maxSalary);
     
     /**
-     * Find employees who joined before a certain date
+     * Get employees who joined after a certain date as DTOs
      */
-    List<Employee> findByDateOfJoiningBefore(LocalDate date);
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.dateOfJoining > :date")
+    List<EmployeeDTO> findAsDTOByDateOfJoiningAfter(@Param("date") LocalDate date);
     
     /**
-     * Find employees who joined between two dates
+     * Get employees who joined before a certain date as DTOs
      */
-    List<Employee> findByDateOfJoiningBetween(LocalDate startDate, LocalDate endDate);
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.dateOfJoining < :date")
+    List<EmployeeDTO> findAsDTOByDateOfJoiningBefore(@Param("date") LocalDate date);
+    
+    /**
+     * Get employees who joined between two dates as DTOs
+     */
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.dateOfJoining BETWEEN :startDate AND :endDate")
+    List<EmployeeDTO> findAsDTOByDateOfJoiningBetween(@Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
     
     /**
      * Check if employee exists by email
@@ -73,40 +130,80 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     boolean existsByEmail(String email);
     
     /**
-     * Find all employees ordered by name
+     * Get the emails from the given list that already belong to an employee
+     */
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    /**
+     * Get all employees ordered by name as DTOs
+     */
+    @Query(EMPLOYEE_DTO_SELECT + "ORDER BY e.name, e.id")
+    List<EmployeeDTO> findAllAsDTOOrderByName();
+    
+    /**
+     * Get the first page of employees ordered by name, then id, as DTOs
      */
-    List<Employee> findAllByOrderByNameAsc();
+    @Query(EMPLOYEE_DTO_SELECT + "ORDER BY e.name, e.id")
+    List<EmployeeDTO> findFirstPageAsDTOOrderByName(Pageable pageable);
     
     /**
-     * Find all employees ordered by date of joining descending
+     * Get the page of employees after a (name, id) keyset cursor, ordered by name, then id, as DTOs
      */
-    List<Employee> findAllByOrderByDateOfJoiningDesc();
+    @Query(EMPLOYEE_DTO_SELECT + "WHERE e.name > :name OR (e.name = :name AND e.id > :afterId) " +
+           "ORDER BY e.name, e.id")
+    List<EmployeeDTO> findPageAsDTOOrderByNameAfter(@Param("name") String name,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
     
     /**
-     * Find all employees ordered by salary descending
+     * Get all employees ordered by date of joining descending as DTOs
      */
-    List<Employee> findAllByOrderBySalaryDesc();
+    @Query(EMPLOYEE_DTO_SELECT + "ORDER BY e.dateOfJoining DESC")
+    List<EmployeeDTO> findAllAsDTOOrderByDateOfJoiningDesc();
     
     /**
-     * Get employee with department details
+     * Get all employees ordered by salary descending as DTOs
      */
-    @Query("SELECT e FROM Employee e JOIN FETCH e.department WHERE e.id = :id")
-    Optional<Employee> findByIdWithDepartment(@Param("id") Long id);
+    @Query(EMPLOYEE_DTO_SELECT + "ORDER BY e.salary DESC")
+    List<EmployeeDTO> findAllAsDTOOrderBySalaryDesc();
     
     /**
-     * Search employees by multiple criteria
+     * Search employees by multiple criteria as DTOs (employees without a department are excluded)
      */
-    @Query("SELECT e FROM Employee e JOIN e.department d WHERE " +
+    @Query(EMPLOYEE_WITH_DEPARTMENT_DTO_SELECT + "WHERE " +
            "(:name IS NULL OR LOWER(e.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
            "(:position IS NULL OR LOWER(e.position) LIKE LOWER(CONCAT('%', :position, '%'))) AND " +
            "(:departmentName IS NULL OR LOWER(d.name) LIKE LOWER(CONCAT('%', :departmentName, '%')))")
-    List<Employee> searchEmployees(@Param("name") String name,
-                                  @Param("position") String position,
-                                  @Param("departmentName") String departmentName);
+    List<EmployeeDTO> searchAsDTO(@Param("name") String name,
+                                 @Param("position") String position,
+                                 @Param("departmentName") String departmentName);
+    
+    /**
+     * Find the next chunk of [id, name, position, email, departmentId, departmentName] rows
+     * for the search index, keyset-paginated by id
+     */
+    @Query("SELECT e.id, e.name, e.position, e.email, d.id, d.name FROM Employee e LEFT JOIN e.department d " +
+           "WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
     
     /**
      * Get employee count by department
      */
     @Query("SELECT d.name, COUNT(e) FROM Employee e JOIN e.department d GROUP BY d.name")
     List<Object[]> getEmployeeCountByDepartment();
+    
+    /**
+     * Count employees who joined on or before a date (payroll workforce for a period)
+     */
+    long countByDateOfJoiningLessThanEqual(LocalDate date);
+    
+    /**
+     * Find the next chunk of [id, salary, departmentId] rows eligible for payroll, keyset-paginated by id
+     */
+    @Query("SELECT e.id, e.salary, d.id FROM Employee e LEFT JOIN e.department d " +
+           "WHERE e.id > :afterId AND e.dateOfJoining <= :periodEnd ORDER BY e.id")
+    List<Object[]> findPayrollChunk(@Param("afterId") Long afterId,
+                                    @Param("periodEnd") LocalDate periodEnd,
+                                    Pageable pageable);
 }
\ No newline at end of file
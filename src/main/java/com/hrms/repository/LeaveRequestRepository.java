@@ -1,14 +1,17 @@
 package com.hrms.repository;
 
+import com.hrms.dto.LeaveIntervalDTO;
 import com.hrms.entity.LeaveRequest;
 import com.hrms.entity.LeaveRequest.LeaveStatus;
 import com.hrms.entity.LeaveRequest.LeaveType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -51,6 +54,22 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     List<LeaveRequest> findByDateRange(@Param("startDate") LocalDate startDate,
                                       @Param("endDate") LocalDate endDate);
     
+    /**
+     * Find the first page of leave requests, latest start date first
+     */
+    @Query("SELECT lr FROM LeaveRequest lr ORDER BY lr.startDate DESC, lr.id DESC")
+    List<LeaveRequest> findFirstPageOrderByStartDate(Pageable pageable);
+    
+    /**
+     * Find the page of leave requests before a (startDate, id) keyset cursor, latest start date first
+     */
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.startDate < :startDate OR " +
+           "(lr.startDate = :startDate AND lr.id < :beforeId) " +
+           "ORDER BY lr.startDate DESC, lr.id DESC")
+    List<LeaveRequest> findPageOrderByStartDateBefore(@Param("startDate") LocalDate startDate,
+                                                      @Param("beforeId") Long beforeId,
+                                                      Pageable pageable);
+    
     /**
      * Find pending leave requests ordered by creation date
      */
@@ -70,8 +89,11 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
                                                           @Param("year") int year);
     
     /**
-     * Count approved leave days for an employee in a month
+     * Count approved leave days for an employee in a month.
+     * Superseded by sumApprovedLeaveDaysInPeriodByEmployees, which clips leaves to the
+     * period and can use the status/date index; kept for comparison.
      */
+    @Deprecated
     @Query("SELECT COALESCE(SUM(DATEDIFF(lr.endDate, lr.startDate) + 1), 0) FROM LeaveRequest lr " +
            "WHERE lr.employee.id = :employeeId AND lr.status = 'APPROVED' AND " +
            "YEAR(lr.startDate) = :year AND MONTH(lr.startDate) = :month")
@@ -80,8 +102,39 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
                                                  @Param("month") int month);
     
     /**
-     * Find overlapping leave requests for an employee (excluding current request)
+     * Sum approved leave days per employee within a period, clipping each leave to the period.
+     * Uses range predicates on the dates so idx_leave_request_status_dates can serve the scan.
+     * Returns array of [employeeId, leaveDays]
+     */
+    @Query("SELECT lr.employee.id, " +
+           "SUM(DATEDIFF(LEAST(lr.endDate, :periodEnd), GREATEST(lr.startDate, :periodStart)) + 1) " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.status = 'APPROVED' AND lr.endDate >= :periodStart AND lr.startDate <= :periodEnd " +
+           "GROUP BY lr.employee.id")
+    List<Object[]> sumApprovedLeaveDaysInPeriod(@Param("periodStart") LocalDate periodStart,
+                                                @Param("periodEnd") LocalDate periodEnd);
+    
+    /**
+     * Sum approved leave days per employee within a period for a set of employees,
+     * clipping each leave to the period.
+     * Returns array of [employeeId, leaveDays]
+     */
+    @Query("SELECT lr.employee.id, " +
+           "SUM(DATEDIFF(LEAST(lr.endDate, :periodEnd), GREATEST(lr.startDate, :periodStart)) + 1) " +
+           "FROM LeaveRequest lr " +
+           "WHERE lr.employee.id IN :employeeIds AND lr.status = 'APPROVED' AND " +
+           "lr.endDate >= :periodStart AND lr.startDate <= :periodEnd " +
+           "GROUP BY lr.employee.id")
+    List<Object[]> sumApprovedLeaveDaysInPeriodByEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                                           @Param("periodStart") LocalDate periodStart,
+                                                           @Param("periodEnd") LocalDate periodEnd);
+    
+    /**
+     * Find overlapping leave requests for an employee (excluding current request).
+     * Superseded by findOverlappingLeaveIds, which only probes idx_leave_request_employee_overlap
+     * instead of loading every overlapping entity; kept for comparison.
      */
+    @Deprecated
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.id = :employeeId AND " +
            "lr.id != :excludeId AND lr.status != 'REJECTED' AND " +
            "((lr.startDate <= :endDate AND lr.endDate >= :startDate))")
@@ -90,6 +143,49 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
                                                    @Param("endDate") LocalDate endDate,
                                                    @Param("excludeId") Long excludeId);
     
+    /**
+     * Find ids of pending or approved leave requests of an employee overlapping a date range,
+     * excluding one request; called with a single-row page as an existence check.
+     * idx_leave_request_employee_overlap serves it from the index alone, and since leave cannot be
+     * requested for past dates, the end date bound skips the employee's past leave entirely.
+     */
+    @Query("SELECT lr.id FROM LeaveRequest lr WHERE lr.employee.id = :employeeId AND " +
+           "lr.status IN ('PENDING', 'APPROVED') AND lr.endDate >= :startDate AND lr.startDate <= :endDate AND " +
+           "lr.id <> :excludeId")
+    List<Long> findOverlappingLeaveIds(@Param("employeeId") Long employeeId,
+                                       @Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate,
+                                       @Param("excludeId") Long excludeId,
+                                       Pageable pageable);
+    
+    /**
+     * Get pending and approved leave after an id as interval DTOs, ordered by id, for keyset chunking
+     */
+    @Query("SELECT new com.hrms.dto.LeaveIntervalDTO(lr.id, lr.employee.id, lr.startDate, lr.endDate, lr.status) " +
+           "FROM LeaveRequest lr WHERE lr.id > :afterId AND lr.status IN ('PENDING', 'APPROVED') ORDER BY lr.id")
+    List<LeaveIntervalDTO> findActiveIntervalsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Get pending and approved leave ending on or after a date, after an id, as interval DTOs ordered by id
+     */
+    @Query("SELECT new com.hrms.dto.LeaveIntervalDTO(lr.id, lr.employee.id, lr.startDate, lr.endDate, lr.status) " +
+           "FROM LeaveRequest lr WHERE lr.id > :afterId AND lr.status IN ('PENDING', 'APPROVED') AND " +
+           "lr.endDate >= :from ORDER BY lr.id")
+    List<LeaveIntervalDTO> findActiveIntervalsEndingFromAfter(@Param("from") LocalDate from,
+                                                              @Param("afterId") Long afterId,
+                                                              Pageable pageable);
+    
+    /**
+     * Get pending and approved leave of a department's employees overlapping a date range, ordered by start date
+     */
+    @Query("SELECT new com.hrms.dto.LeaveIntervalDTO(lr.id, e.id, lr.startDate, lr.endDate, lr.status) " +
+           "FROM LeaveRequest lr JOIN lr.employee e WHERE e.department.id = :departmentId AND " +
+           "lr.status IN ('PENDING', 'APPROVED') AND lr.endDate >= :startDate AND lr.startDate <= :endDate " +
+           "ORDER BY lr.startDate, lr.id")
+    List<LeaveIntervalDTO> findActiveIntervalsByDepartmentAndDateRange(@Param("departmentId") Long departmentId,
+                                                                      @Param("startDate") LocalDate startDate,
+                                                                      @Param("endDate") LocalDate endDate);
+    
     /**
      * Get leave statistics by type and status
      */
@@ -1,12 +1,14 @@
 package com.hrms.repository;
 
 import com.hrms.entity.Payroll;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +50,14 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
      */
     boolean existsByEmployeeIdAndMonthAndYear(Long employeeId, Integer month, Integer year);
     
+    /**
+     * Find which of the given employees already have payroll for a month and year
+     */
+    @Query("SELECT p.employee.id FROM Payroll p WHERE p.employee.id IN :employeeIds AND p.month = :month AND p.year = :year")
+    List<Long> findEmployeeIdsWithPayroll(@Param("employeeIds") Collection<Long> employeeIds,
+                                          @Param("month") Integer month,
+                                          @Param("year") Integer year);
+    
     /**
      * Find payroll by department for a specific month and year
      */
@@ -113,4 +123,38 @@ public interface PayrollRepository extends JpaRepository<Payroll, Long> {
      */
     @Query("SELECT p FROM Payroll p ORDER BY p.year DESC, p.month DESC")
     List<Payroll> findRecentPayrolls();
+    
+    /**
+     * Find the first page of payrolls, most recent period first
+     */
+    @Query("SELECT p FROM Payroll p ORDER BY p.year DESC, p.month DESC, p.id DESC")
+    List<Payroll> findFirstRecentPage(Pageable pageable);
+    
+    /**
+     * Find the page of payrolls before a (year, month, id) keyset cursor, most recent period first
+     */
+    @Query("SELECT p FROM Payroll p WHERE p.year < :year OR " +
+           "(p.year = :year AND (p.month < :month OR (p.month = :month AND p.id < :beforeId))) " +
+           "ORDER BY p.year DESC, p.month DESC, p.id DESC")
+    List<Payroll> findRecentPageBefore(@Param("year") Integer year,
+                                       @Param("month") Integer month,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+    
+    /**
+     * Find the first page of payrolls for a year, latest month first
+     */
+    @Query("SELECT p FROM Payroll p WHERE p.year = :year ORDER BY p.month DESC, p.id DESC")
+    List<Payroll> findFirstPageByYear(@Param("year") Integer year, Pageable pageable);
+    
+    /**
+     * Find the page of payrolls for a year before a (month, id) keyset cursor, latest month first
+     */
+    @Query("SELECT p FROM Payroll p WHERE p.year = :year AND " +
+           "(p.month < :month OR (p.month = :month AND p.id < :beforeId)) " +
+           "ORDER BY p.month DESC, p.id DESC")
+    List<Payroll> findPageByYearBefore(@Param("year") Integer year,
+                                       @Param("month") Integer month,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.hrms.repository;
+
+import com.hrms.entity.PayrollRun;
+import com.hrms.entity.PayrollRun.RunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    /**
+     * Check if a run in any of the given statuses exists for a month and year
+     */
+    boolean existsByMonthAndYearAndStatusIn(Integer month, Integer year, Collection<RunStatus> statuses);
+
+    /**
+     * Find runs for a month and year, most recent first
+     */
+    List<PayrollRun> findByMonthAndYearOrderByCreatedAtDesc(Integer month, Integer year);
+
+    /**
+     * Find most recent runs
+     */
+    List<PayrollRun> findTop20ByOrderByCreatedAtDesc();
+}
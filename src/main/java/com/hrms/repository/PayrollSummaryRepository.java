@@ -0,0 +1,53 @@
+package com.hrms.repository;
+
+import com.hrms.entity.PayrollSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Report queries over the payroll_summaries table. Each query reads at most
+ * one row per department and month, independent of the number of payrolls.
+ */
+@Repository
+public interface PayrollSummaryRepository extends JpaRepository<PayrollSummary, Long> {
+
+    /**
+     * Get total net pay by department name for a specific month and year
+     */
+    @Query("SELECT d.name, SUM(s.totalNetPay) FROM PayrollSummary s JOIN Department d ON d.id = s.departmentId " +
+           "WHERE s.month = :month AND s.year = :year AND s.payrollCount > 0 GROUP BY d.name")
+    List<Object[]> getTotalPayrollByDepartment(@Param("month") Integer month, @Param("year") Integer year);
+
+    /**
+     * Get total net pay for a specific month and year (null when there is no payroll)
+     */
+    @Query("SELECT SUM(s.totalNetPay) FROM PayrollSummary s " +
+           "WHERE s.month = :month AND s.year = :year AND s.payrollCount > 0")
+    BigDecimal getTotalPayrollCost(@Param("month") Integer month, @Param("year") Integer year);
+
+    /**
+     * Get [department name, total salary, payroll count] across all periods
+     */
+    @Query("SELECT d.name, SUM(s.totalSalary), SUM(s.payrollCount) FROM PayrollSummary s " +
+           "JOIN Department d ON d.id = s.departmentId WHERE s.payrollCount > 0 GROUP BY d.name")
+    List<Object[]> getSalaryTotalsByDepartment();
+
+    /**
+     * Get [count, total salary, total deductions, total bonuses, total net pay] for a year
+     */
+    @Query("SELECT SUM(s.payrollCount), SUM(s.totalSalary), SUM(s.totalDeductions), " +
+           "SUM(s.totalBonuses), SUM(s.totalNetPay) FROM PayrollSummary s WHERE s.year = :year")
+    Object[] getTotalsByYear(@Param("year") Integer year);
+
+    /**
+     * Get [month, count, total net pay] for each month of a year that has payroll
+     */
+    @Query("SELECT s.month, SUM(s.payrollCount), SUM(s.totalNetPay) FROM PayrollSummary s WHERE s.year = :year " +
+           "GROUP BY s.month HAVING SUM(s.payrollCount) > 0 ORDER BY s.month")
+    List<Object[]> getMonthlyPayrollTrends(@Param("year") Integer year);
+}
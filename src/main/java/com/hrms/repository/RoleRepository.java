@@ -1,8 +1,10 @@
 package com.hrms.repository;
 
 import com.hrms.entity.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -26,10 +28,15 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     
     /**
      * Find role by name.
+     * Served from the hrms.query.role-by-name query cache until the roles table changes.
      * 
      * @param name the role name to search for
      * @return Optional containing the role if found
      */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "hrms.query.role-by-name")
+    })
     Optional<Role> findByName(String name);
     
     /**
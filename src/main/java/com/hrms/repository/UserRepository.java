@@ -1,6 +1,7 @@
 package com.hrms.repository;
 
 import com.hrms.entity.User;
+import com.hrms.security.service.UserProfile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -45,6 +46,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
     
+    /**
+     * Find only the profile fields of a user, for principals built from compact tokens.
+     * 
+     * @param id the user ID
+     * @return Optional containing the email and full name if the user exists
+     */
+    @Query("SELECT new com.hrms.security.service.UserProfile(u.email, u.fullName) FROM User u WHERE u.id = :id")
+    Optional<UserProfile> findProfileById(@Param("id") Long id);
+    
     /**
      * Check if username already exists.
      * 
@@ -130,6 +140,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(u.fullName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<User> searchByUsernameOrFullName(@Param("searchTerm") String searchTerm, Pageable pageable);
     
+    /**
+     * Find the id, failed login attempts and lock state of a user by username or email,
+     * without loading the entity or its roles.
+     * Returns rows of [id, failedLoginAttempts, accountNonLocked].
+     * 
+     * @param identifier the username or email
+     * @return matching rows (at most one)
+     */
+    @Query("SELECT u.id, u.failedLoginAttempts, u.accountNonLocked FROM User u WHERE u.username = :identifier OR u.email = :identifier")
+    List<Object[]> findLoginStateByUsernameOrEmail(@Param("identifier") String identifier);
+    
     /**
      * Update user's last login timestamp.
      * 
@@ -140,6 +161,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.lastLogin = :loginTime WHERE u.id = :userId")
     void updateLastLogin(@Param("userId") Long userId, @Param("loginTime") LocalDateTime loginTime);
     
+    /**
+     * Update a user's password hash.
+     * 
+     * @param userId   the user ID
+     * @param password the encoded password
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    void updatePassword(@Param("userId") Long userId, @Param("password") String password);
+    
     /**
      * Reset failed login attempts for a user.
      * 
@@ -168,12 +199,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     void lockAccount(@Param("userId") Long userId);
     
     /**
-     * Unlock user account by setting accountNonLocked to true.
+     * Unlock user account by setting accountNonLocked to true and resetting failed login attempts,
+     * so the account locks again after the next run of failures.
      * 
      * @param userId the user ID
      */
     @Modifying
-    @Query("UPDATE User u SET u.accountNonLocked = true WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.accountNonLocked = true, u.failedLoginAttempts = 0 WHERE u.id = :userId")
     void unlockAccount(@Param("userId") Long userId);
     
     /**
@@ -0,0 +1,40 @@
+package com.hrms.security.access;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Method security expression handler that evaluates @PreAuthorize / @PostAuthorize
+ * role checks against the principal's interned RoleSet (see RoleSetSecurityExpressionRoot).
+ *
+ * The evaluation context is built by the default handler, so method arguments, bean
+ * references and filtering work as before; only the root object is wrapped. Role
+ * hierarchies are not modelled by RoleSet, so setting one turns the wrapping off.
+ */
+public class RoleSetMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+
+    private boolean roleHierarchyConfigured;
+
+    @Override
+    public void setRoleHierarchy(RoleHierarchy roleHierarchy) {
+        super.setRoleHierarchy(roleHierarchy);
+        this.roleHierarchyConfigured = roleHierarchy != null;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        EvaluationContext context = super.createEvaluationContext(authentication, mi);
+        if (!roleHierarchyConfigured && context instanceof StandardEvaluationContext standardContext
+                && standardContext.getRootObject().getValue() instanceof MethodSecurityExpressionOperations root) {
+            standardContext.setRootObject(new RoleSetSecurityExpressionRoot(root));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,151 @@
+package com.hrms.security.access;
+
+import com.hrms.security.service.RoleSet;
+import com.hrms.security.service.UserPrincipal;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Method security expression root whose role and authority checks read the principal's
+ * interned RoleSet.
+ *
+ * Spring's own root copies the principal's authorities into a new set and prefixes the
+ * role name on every evaluation. For a UserPrincipal with a RoleSet, hasRole, hasAnyRole,
+ * hasAuthority and hasAnyAuthority here are bit tests that allocate nothing. Every other
+ * operation, and every check for other principals, goes to Spring's root.
+ */
+public class RoleSetSecurityExpressionRoot implements MethodSecurityExpressionOperations {
+
+    // Read as properties by the expressions "permitAll" and "denyAll"
+    public final boolean permitAll = true;
+    public final boolean denyAll = false;
+
+    private final MethodSecurityExpressionOperations delegate;
+
+    public RoleSetSecurityExpressionRoot(MethodSecurityExpressionOperations delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean hasRole(String role) {
+        RoleSet roleSet = roleSet();
+        return roleSet != null ? roleSet.hasRole(role) : delegate.hasRole(role);
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        RoleSet roleSet = roleSet();
+        if (roleSet == null) {
+            return delegate.hasAnyRole(roles);
+        }
+        for (String role : roles) {
+            if (roleSet.hasRole(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        RoleSet roleSet = roleSet();
+        return roleSet != null ? roleSet.hasAuthority(authority) : delegate.hasAuthority(authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        RoleSet roleSet = roleSet();
+        if (roleSet == null) {
+            return delegate.hasAnyAuthority(authorities);
+        }
+        for (String authority : authorities) {
+            if (roleSet.hasAuthority(authority)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private RoleSet roleSet() {
+        Authentication authentication = delegate.getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getRoleSet() : null;
+    }
+
+    // Delegated operations
+
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+
+    public Object getPrincipal() {
+        Authentication authentication = delegate.getAuthentication();
+        return authentication != null ? authentication.getPrincipal() : null;
+    }
+
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+}
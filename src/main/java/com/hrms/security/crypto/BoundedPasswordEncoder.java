@@ -0,0 +1,134 @@
+package com.hrms.security.crypto;
+
+import com.hrms.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt password encoder that runs hashing on a dedicated, bounded thread pool.
+ *
+ * BCrypt is deliberately CPU-expensive, so a login burst hashing on request threads
+ * starves the rest of the API. Here at most hrms.security.password.hash-threads hashes
+ * run at once and at most hrms.security.password.queue-capacity wait. Anything beyond
+ * that, or a hash that waits longer than hrms.security.password.timeout-ms, is rejected
+ * immediately with a ServiceUnavailableException (HTTP 503) instead of queueing without bound.
+ *
+ * Stored hashes with a lower cost than hrms.security.password.bcrypt-strength are reported
+ * by upgradeEncoding so Spring Security re-hashes them on the next successful login.
+ * Upgrades are skipped while the queue is more than half full, since they are optional work.
+ *
+ * Metrics:
+ * - hrms.password.hash (timer, tag operation=encode|matches): hashing latency
+ * - hrms.password.hash.queue.depth (gauge): hashes waiting for a thread
+ * - hrms.password.hash.active (gauge): hashes running
+ * - hrms.password.hash.rejected (counter): hashes rejected by back-pressure or timeout
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor hashPool;
+    private final int queueCapacity;
+    private final long timeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("hrms.password.hash").tag("operation", "encode")
+                .description("BCrypt hashing latency")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("hrms.password.hash").tag("operation", "matches")
+                .description("BCrypt verification latency")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("hrms.password.hash.rejected")
+                .description("Password hashes rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("hrms.password.hash.queue.depth", hashPool, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("hrms.password.hash.active", hashPool, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(meterRegistry);
+
+        logger.info("Password hashing pool started: bcrypt strength {}, {} threads, queue capacity {}",
+                strength, threads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (hashPool.getQueue().size() > queueCapacity / 2) {
+            return false;
+        }
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = hashPool.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw new ServiceUnavailableException("Authentication service is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hrms.security.jwt;
 
 import com.hrms.security.service.UserPrincipal;
+import com.hrms.security.service.UserProfileCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -17,7 +18,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 /**
  * JWT Authentication Filter for processing JWT tokens from HTTP-only cookies.
@@ -41,6 +41,9 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private UserProfileCache userProfileCache;
+
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationTokenFilter.class);
 
     /**
@@ -77,16 +80,18 @@ public class JwtAuthenticationTokenFilter extends OncePerRequestFilter {
             // Extract JWT token from HTTP-only cookie
             String jwt = parseJwtFromCookie(request);
             
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                // Extract user information directly from JWT claims
-                Long userId = jwtUtils.getUserIdFromJwtToken(jwt);
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
-                String email = jwtUtils.getEmailFromJwtToken(jwt);
-                String fullName = jwtUtils.getFullNameFromJwtToken(jwt);
-                List<String> roles = jwtUtils.getRolesFromJwtToken(jwt);
-
-                // Create UserPrincipal directly from JWT claims (no database query needed)
-                UserPrincipal userDetails = UserPrincipal.create(userId, username, email, fullName, roles);
+            // Validate once and read every claim from the same parsed snapshot
+            JwtClaims claims = jwt != null ? jwtUtils.getValidatedClaims(jwt) : null;
+            
+            if (claims != null && !claims.isRefreshToken()) {
+                String username = claims.username();
+
+                // Create UserPrincipal directly from JWT claims (no database query needed);
+                // compact tokens load email and full name only if something asks for them
+                UserPrincipal userDetails = claims.isCompact()
+                        ? UserPrincipal.create(claims.userId(), username, claims.roleMask(), userProfileCache)
+                        : UserPrincipal.create(
+                                claims.userId(), username, claims.email(), claims.fullName(), claims.roles());
                 
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authentication = 
@@ -0,0 +1,86 @@
+package com.hrms.security.jwt;
+
+import com.hrms.security.service.RoleRegistry;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the claims carried by a verified JWT.
+ *
+ * Produced once per token by {@link JwtUtils#parseClaims(String)} so callers
+ * can read every claim without re-parsing or re-verifying the signature.
+ *
+ * Compact access tokens carry only sub, uid, a roles bitmask (rm), jti and exp;
+ * their role names are the interned lists of RoleRegistry and email and full name are null.
+ *
+ * @param userId     user ID claim (absent on refresh tokens)
+ * @param username   token subject
+ * @param email      email claim (absent on compact tokens)
+ * @param fullName   full name claim (absent on compact tokens)
+ * @param roles      role names, never null
+ * @param tokenType  "refresh" for refresh tokens, null for access tokens
+ * @param expiration token expiration instant
+ * @param tokenId    token id (jti), used for revocation; null on tokens issued without one
+ * @param roleMask   roles bitmask of a compact token, null on full tokens
+ */
+public record JwtClaims(Long userId, String username, String email, String fullName,
+                        List<String> roles, String tokenType, Instant expiration, String tokenId,
+                        Integer roleMask) {
+
+    /** User ID claim of compact tokens */
+    static final String COMPACT_USER_ID = "uid";
+
+    /** Roles bitmask claim of compact tokens */
+    static final String COMPACT_ROLE_MASK = "rm";
+
+    public JwtClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    /**
+     * Creates a snapshot from verified JJWT claims.
+     *
+     * @param claims the verified token payload
+     * @return claims snapshot
+     */
+    static JwtClaims from(Claims claims) {
+        Integer roleMask = claims.get(COMPACT_ROLE_MASK, Integer.class);
+        if (roleMask != null) {
+            return new JwtClaims(
+                    claims.get(COMPACT_USER_ID, Long.class),
+                    claims.getSubject(),
+                    null,
+                    null,
+                    RoleRegistry.forMask(roleMask).roleNames(),
+                    null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                    claims.getId(),
+                    roleMask);
+        }
+        List<?> roles = claims.get("roles", List.class);
+        return new JwtClaims(
+                claims.get("userId", Long.class),
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("fullName", String.class),
+                roles == null ? null : roles.stream().map(String::valueOf).toList(),
+                claims.get("type", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.getId(),
+                null);
+    }
+
+    public boolean isCompact() {
+        return roleMask != null;
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(tokenType);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiration != null && !expiration.isAfter(now);
+    }
+}
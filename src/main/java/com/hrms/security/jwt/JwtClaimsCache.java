@@ -0,0 +1,102 @@
+package com.hrms.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded, expiry-aware cache of verified JWT claims.
+ *
+ * Entries are keyed by the SHA-256 digest of the token so raw tokens are not
+ * retained in memory. An entry is served only until the token's own expiration;
+ * after that the caller falls back to full verification, which rejects it.
+ * Tokens without an expiration are never cached.
+ *
+ * When the cache fills up it is cut down to a low-water mark of three quarters of
+ * its capacity in one pass, so the eviction scan runs once per quarter of the capacity
+ * in puts rather than on every put.
+ */
+class JwtClaimsCache {
+
+    private final Map<String, JwtClaims> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final int lowWaterMark;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    JwtClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.lowWaterMark = maxEntries - Math.max(1, maxEntries / 4);
+    }
+
+    /**
+     * Returns the cached claims for a token, or null if absent or expired.
+     */
+    JwtClaims get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        JwtClaims claims = entries.get(key);
+        if (claims != null && claims.isExpired(Instant.now())) {
+            entries.remove(key, claims);
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Caches verified claims for a token until it expires.
+     */
+    void put(String token, JwtClaims claims) {
+        if (maxEntries <= 0 || claims.expiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(digest(token), claims);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired entries and, if the cache is still above the low-water mark,
+     * arbitrary entries down to it. Evicted tokens are simply verified again.
+     * Only one thread evicts at a time; puts meanwhile go ahead.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            entries.values().removeIf(claims -> claims.isExpired(now));
+
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() > lowWaterMark && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.hrms.security.jwt;
 
 import com.hrms.entity.User;
+import com.hrms.security.service.RoleRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +33,9 @@ import java.util.stream.Collectors;
  * - Configurable token expiration
  * - Comprehensive token validation
  * - Secure key generation and management
+ * - Signing key and parser built once; verified claims cached until token expiry
+ * - Every token carries a random id (jti) so it can be revoked before it expires
+ * - Compact access tokens (sub, uid, roles bitmask, jti, exp) keep the cookie small
  * 
  * @author HR Management System Team
  * @version 1.0
@@ -59,15 +67,80 @@ public class JwtUtils {
     @Value("${hrms.app.jwtRefreshExpirationMs}")
     private int jwtRefreshExpirationMs;
     
+    /**
+     * Maximum number of verified tokens kept in the claims cache (0 disables it).
+     */
+    @Value("${hrms.app.jwtClaimsCacheSize:10000}")
+    private int jwtClaimsCacheSize;
+    
+    /**
+     * Whether access tokens use the compact claim set.
+     * Users holding a role outside the fixed set always get full tokens.
+     */
+    @Value("${hrms.app.jwtCompactTokens:true}")
+    private boolean jwtCompactTokens;
+    
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    private JwtClaimsCache claimsCache;
+    
+    /**
+     * Builds the signing key, parser and claims cache once at startup.
+     * The parser is immutable and thread-safe, so it is shared by all requests.
+     */
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.claimsCache = new JwtClaimsCache(jwtClaimsCacheSize);
+    }
+    
+    /**
+     * Parses and verifies a JWT token once, returning all of its claims.
+     * 
+     * Verified tokens are cached by digest until their expiration, so a token
+     * is only parsed and verified again after it has been evicted.
+     * 
+     * @param token the JWT token
+     * @return immutable claims snapshot
+     * @throws JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is empty
+     */
+    public JwtClaims parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token is empty");
+        }
+        
+        JwtClaims cached = claimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        
+        JwtClaims claims = JwtClaims.from(jwtParser.parseSignedClaims(token).getPayload());
+        claimsCache.put(token, claims);
+        return claims;
+    }
+    
     /**
      * Generates a JWT token for an authenticated user.
      * 
      * The token contains:
+     * - Token id (jti): random UUID, the key for revocation
      * - Subject: username
      * - Issued at: current timestamp
      * - Expiration: current timestamp + configured expiration time
      * - Signature: HMAC-SHA256 with secret key
      * 
+     * Compact tokens replace the userId, email, fullName and roles claims with
+     * uid and a roles bitmask, and omit the issued-at time.
+     * 
      * @param authentication the authentication object containing user details
      * @return JWT token string
      */
@@ -82,7 +155,20 @@ public class JwtUtils {
                 .map(role -> role.getName())
                 .collect(Collectors.toList());
         
+        int roleMask = jwtCompactTokens ? RoleRegistry.mask(roleNames) : RoleRegistry.UNMAPPED;
+        if (roleMask != RoleRegistry.UNMAPPED) {
+            return Jwts.builder()
+                    .id(UUID.randomUUID().toString())
+                    .subject(userPrincipal.getUsername())
+                    .claim(JwtClaims.COMPACT_USER_ID, userPrincipal.getId())
+                    .claim(JwtClaims.COMPACT_ROLE_MASK, roleMask)
+                    .expiration(expiryDate)
+                    .signWith(getSigningKey())
+                    .compact();
+        }
+        
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userPrincipal.getUsername())
                 .claim("userId", userPrincipal.getId())
                 .claim("email", userPrincipal.getEmail())
@@ -106,6 +192,7 @@ public class JwtUtils {
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -125,6 +212,7 @@ public class JwtUtils {
         Date expiryDate = new Date(now.getTime() + jwtRefreshExpirationMs);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -140,13 +228,7 @@ public class JwtUtils {
      * @return username from token subject
      */
     public String getUsernameFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getSubject();
+        return parseClaims(token).username();
     }
     
     /**
@@ -156,13 +238,7 @@ public class JwtUtils {
      * @return user ID from token claims
      */
     public Long getUserIdFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("userId", Long.class);
+        return parseClaims(token).userId();
     }
     
     /**
@@ -172,13 +248,7 @@ public class JwtUtils {
      * @return email from token claims
      */
     public String getEmailFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("email", String.class);
+        return parseClaims(token).email();
     }
     
     /**
@@ -188,13 +258,7 @@ public class JwtUtils {
      * @return full name from token claims
      */
     public String getFullNameFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("fullName", String.class);
+        return parseClaims(token).fullName();
     }
     
     /**
@@ -203,15 +267,8 @@ public class JwtUtils {
      * @param token the JWT token
      * @return list of role names from token claims
      */
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("roles", List.class);
+        return parseClaims(token).roles();
     }
 
     /**
@@ -221,13 +278,8 @@ public class JwtUtils {
      * @return expiration date
      */
     public Date getExpirationFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getExpiration();
+        Instant expiration = parseClaims(token).expiration();
+        return expiration != null ? Date.from(expiration) : null;
     }
     
     /**
@@ -259,13 +311,27 @@ public class JwtUtils {
      * @return true if token is valid, false otherwise
      */
     public boolean validateJwtToken(String authToken) {
+        return getValidatedClaims(authToken) != null;
+    }
+    
+    /**
+     * Validates a JWT token and returns its claims in one step.
+     * 
+     * Tokens seen before are served from the claims cache until they expire,
+     * so repeated requests carrying the same cookie skip signature verification.
+     * Revoked tokens are rejected from the in-memory revocation list.
+     * 
+     * @param authToken the JWT token to validate
+     * @return claims snapshot if the token is valid, null otherwise
+     */
+    public JwtClaims getValidatedClaims(String authToken) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            
-            return true;
+            JwtClaims claims = parseClaims(authToken);
+            if (tokenRevocationList.isRevoked(claims.tokenId())) {
+                logger.debug("JWT token has been revoked: {}", claims.tokenId());
+                return null;
+            }
+            return claims;
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -280,7 +346,7 @@ public class JwtUtils {
             logger.error("JWT token validation error: {}", e.getMessage());
         }
         
-        return false;
+        return null;
     }
     
     /**
@@ -292,15 +358,9 @@ public class JwtUtils {
      */
     public boolean validateRefreshToken(String refreshToken) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(refreshToken)
-                    .getPayload();
-            
-            // Check if it's marked as a refresh token
-            String tokenType = (String) claims.get("type");
-            return "refresh".equals(tokenType);
+            // Check if it's marked as a refresh token and has not been revoked
+            JwtClaims claims = parseClaims(refreshToken);
+            return claims.isRefreshToken() && !tokenRevocationList.isRevoked(claims.tokenId());
             
         } catch (Exception e) {
             logger.error("Invalid refresh token: {}", e.getMessage());
@@ -308,10 +368,30 @@ public class JwtUtils {
         }
     }
     
+    /**
+     * Revokes a token until it expires, on this instance at once and on the
+     * others after their next poll of the revocation change log.
+     * 
+     * Invalid or already expired tokens need no revocation and are ignored.
+     * 
+     * @param token the JWT token to revoke
+     * @return true if the token was revoked or needs no revocation
+     */
+    public boolean revokeToken(String token) {
+        JwtClaims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (Exception e) {
+            logger.debug("Not revoking invalid JWT token: {}", e.getMessage());
+            return true;
+        }
+        return tokenRevocationList.revoke(claims.tokenId(), claims.expiration());
+    }
+    
     /**
      * Gets the signing key for JWT operations.
      * 
-     * Creates a secure HMAC-SHA256 key from the configured secret.
+     * Returns the HMAC-SHA256 key derived from the configured secret at startup.
      * In production, ensure the secret is:
      * - At least 256 bits (32 characters) long
      * - Randomly generated
@@ -320,7 +400,7 @@ public class JwtUtils {
      * @return SecretKey for JWT signing and verification
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
     /**
@@ -353,6 +433,7 @@ public class JwtUtils {
         Date expiryDate = new Date(now.getTime() + extendedExpirationMs);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -0,0 +1,290 @@
+package com.hrms.security.jwt;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked token ids (jti) checked on every authenticated request.
+ *
+ * The check runs on the filter path, so it must not touch the database. Revoked ids are
+ * held in an exact map (jti to expiry) guarded by a Bloom filter: a token that was never
+ * revoked, which is almost every request, is answered by k bit probes without hashing
+ * into the map. Only Bloom hits (revoked tokens and roughly hrms.auth.revocation.false-positive-rate
+ * of the rest) consult the map. The filter only ever gains bits, so it is rebuilt from
+ * the map when expired ids are purged.
+ *
+ * The revoked_tokens table is the change log shared by all instances. A revocation is
+ * applied locally at once and inserted with the database clock as revoked_at; every
+ * instance polls for rows newer than the latest revoked_at it has seen, minus
+ * hrms.auth.revocation.poll-lookback-ms to cover inserts that committed late, so a
+ * logout takes effect everywhere within one poll interval. Entries live until the
+ * token's own expiry, after which the signature check rejects it anyway.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO revoked_tokens (token_id, expires_at, revoked_at) VALUES (?, ?, CURRENT_TIMESTAMP(3))";
+
+    private static final String LOAD_ALL_SQL =
+            "SELECT token_id, expires_at, revoked_at FROM revoked_tokens WHERE expires_at > ?";
+
+    private static final String LOAD_SINCE_SQL =
+            "SELECT token_id, expires_at, revoked_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?";
+
+    private static final String PURGE_SQL = "DELETE FROM revoked_tokens WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final long pollIntervalMs;
+    private final long pollLookbackMs;
+    private final long purgeIntervalMs;
+    private final ScheduledExecutorService poller;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock filterLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+
+    // Latest revoked_at read from the change log; null until the first full load succeeds
+    private volatile Timestamp watermark;
+
+    public TokenRevocationList(JdbcTemplate jdbcTemplate,
+                               @Value("${hrms.auth.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${hrms.auth.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${hrms.auth.revocation.poll-interval-ms:2000}") long pollIntervalMs,
+                               @Value("${hrms.auth.revocation.poll-lookback-ms:10000}") long pollLookbackMs,
+                               @Value("${hrms.auth.revocation.purge-interval-ms:3600000}") long purgeIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.pollIntervalMs = pollIntervalMs;
+        this.pollLookbackMs = pollLookbackMs;
+        this.purgeIntervalMs = purgeIntervalMs;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("token-revocation-"));
+    }
+
+    /**
+     * Load the change log and start polling it; the first poll does the full load
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purgeSafely, purgeIntervalMs, purgeIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Whether a token id has been revoked. Tokens without an id (issued before ids were
+     * added) cannot be revoked and are reported as not revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke a token id until the token expires. Applied locally first, then written
+     * to the change log for the other instances.
+     *
+     * @return false if the revocation could not be written to the database; it still
+     *         applies on this instance
+     */
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return true;
+        }
+        add(tokenId, expiresAt);
+        try {
+            jdbcTemplate.update(INSERT_SQL, tokenId, Timestamp.from(expiresAt));
+        } catch (DuplicateKeyException e) {
+            logger.debug("Token {} was already revoked", tokenId);
+        } catch (RuntimeException e) {
+            logger.error("Token revocation was not written to the database, other instances will not see it: {}",
+                    e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of revoked ids currently held
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    private void add(String tokenId, Instant expiresAt) {
+        if (revoked.putIfAbsent(tokenId, expiresAt) == null) {
+            // Under the lock so a concurrent rebuild cannot swap in a filter that misses this id
+            filterLock.lock();
+            try {
+                filter.add(tokenId);
+            } finally {
+                filterLock.unlock();
+            }
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            logger.error("Token revocation poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void poll() {
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp since = watermark;
+        if (since == null) {
+            Timestamp latest = load(LOAD_ALL_SQL, null, now);
+            watermark = latest != null ? latest : new Timestamp(0L);
+            logger.info("Token revocation list loaded: {} revoked tokens", revoked.size());
+        } else {
+            Timestamp from = new Timestamp(since.getTime() - pollLookbackMs);
+            Timestamp latest = load(LOAD_SINCE_SQL, from, now);
+            if (latest != null && latest.after(since)) {
+                watermark = latest;
+            }
+        }
+    }
+
+    /**
+     * Apply change log rows and return the latest revoked_at among them
+     */
+    private Timestamp load(String sql, Timestamp from, Timestamp now) {
+        Timestamp[] latest = new Timestamp[1];
+        Object[] args = from != null ? new Object[] {from, now} : new Object[] {now};
+        jdbcTemplate.query(sql, rs -> {
+            add(rs.getString("token_id"), rs.getTimestamp("expires_at").toInstant());
+            Timestamp revokedAt = rs.getTimestamp("revoked_at");
+            if (latest[0] == null || revokedAt.after(latest[0])) {
+                latest[0] = revokedAt;
+            }
+        }, args);
+        return latest[0];
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            logger.error("Token revocation purge failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop expired ids from the map and the table, and rebuild the filter without them
+     */
+    private void purge() {
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+
+        filterLock.lock();
+        try {
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        } finally {
+            filterLock.unlock();
+        }
+
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.from(now));
+        logger.debug("Token revocation list purged: {} expired rows deleted, {} revoked tokens held",
+                purged, revoked.size());
+    }
+
+    /**
+     * Bloom filter over token ids with k probes derived from one 64-bit hash
+     * (Kirsch-Mitzenmacher double hashing). Bits are set atomically; reads need no lock.
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            int entries = Math.max(expectedEntries, 1);
+            long bits = (long) Math.ceil(-entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.max(1L, (bits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / entries * Math.log(2)));
+        }
+
+        void add(String key) {
+            long hash = hash(key);
+            long h1 = hash;
+            long h2 = mix(hash) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            long h1 = hash;
+            long h2 = mix(hash) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the characters, finished with a 64-bit mix
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xff51afd7ed558ccdL;
+            value ^= value >>> 33;
+            value *= 0xc4ceb9fe1a85ec53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
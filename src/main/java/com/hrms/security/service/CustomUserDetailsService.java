@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,7 +31,8 @@ import org.springframework.transaction.annotation.Transactional;
  * @since 2024-09-23
  */
 @Service
-public class CustomUserDetailsService implements org.springframework.security.core.userdetails.UserDetailsService {
+public class CustomUserDetailsService implements org.springframework.security.core.userdetails.UserDetailsService,
+        UserDetailsPasswordService {
     
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
     
@@ -94,4 +96,25 @@ public class CustomUserDetailsService implements org.springframework.security.co
             throw new UsernameNotFoundException("Error loading user details: " + usernameOrEmail, e);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Stores a re-hashed password after a successful login.
+     * 
+     * Called by DaoAuthenticationProvider when the stored hash uses a lower
+     * BCrypt strength than currently configured.
+     * 
+     * @param user        the authenticated user
+     * @param newPassword the password hashed with the current strength
+     * @return the user with the updated password
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = (User) user;
+        userRepository.updatePassword(entity.getId(), newPassword);
+        entity.setPassword(newPassword);
+        
+        logger.info("Upgraded password hash for user: {}", entity.getUsername());
+        return entity;
+    }
+}
@@ -0,0 +1,65 @@
+package com.hrms.security.service;
+
+import java.util.Collection;
+
+/**
+ * Interned role combinations of the fixed system roles (see SystemRole).
+ *
+ * Each role owns one bit of a mask, and the RoleSet of every combination is built once
+ * at class load. Principals, token claims and role checks share these instances, so
+ * resolving a principal's roles allocates no authority objects or name lists. The mask
+ * is also what compact access tokens carry.
+ */
+public final class RoleRegistry {
+
+    /**
+     * Returned by {@link #mask(Collection)} when a role is not a system role
+     */
+    public static final int UNMAPPED = -1;
+
+    private static final RoleSet[] ROLE_SETS = new RoleSet[1 << SystemRole.count()];
+
+    static {
+        for (int mask = 0; mask < ROLE_SETS.length; mask++) {
+            ROLE_SETS[mask] = new RoleSet(mask);
+        }
+    }
+
+    private RoleRegistry() {
+    }
+
+    /**
+     * Mask of the given role names, or UNMAPPED if any of them is not a system role
+     */
+    public static int mask(Collection<String> roleNames) {
+        int mask = 0;
+        for (String roleName : roleNames) {
+            SystemRole role = SystemRole.fromName(roleName);
+            if (role == null) {
+                return UNMAPPED;
+            }
+            mask |= role.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Interned set of a mask
+     *
+     * @throws IllegalArgumentException if the mask has bits outside the system roles
+     */
+    public static RoleSet forMask(int mask) {
+        if (mask < 0 || mask >= ROLE_SETS.length) {
+            throw new IllegalArgumentException("Invalid role mask: " + mask);
+        }
+        return ROLE_SETS[mask];
+    }
+
+    /**
+     * Interned set of the given role names, or null if any of them is not a system role
+     */
+    public static RoleSet forNames(Collection<String> roleNames) {
+        int mask = mask(roleNames);
+        return mask == UNMAPPED ? null : ROLE_SETS[mask];
+    }
+}
@@ -0,0 +1,86 @@
+package com.hrms.security.service;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable combination of system roles, interned by RoleRegistry.
+ *
+ * There is exactly one instance per combination, shared by every principal holding
+ * those roles, together with its role name list and authority list. Membership checks
+ * test a bit of the mask and allocate nothing.
+ */
+public final class RoleSet {
+
+    private final int mask;
+    private final Set<SystemRole> roles;
+    private final List<String> roleNames;
+    private final List<GrantedAuthority> authorities;
+
+    RoleSet(int mask) {
+        EnumSet<SystemRole> members = EnumSet.noneOf(SystemRole.class);
+        List<String> names = new ArrayList<>();
+        List<GrantedAuthority> granted = new ArrayList<>();
+        for (int ordinal = 0; ordinal < SystemRole.count(); ordinal++) {
+            SystemRole role = SystemRole.ofOrdinal(ordinal);
+            if ((mask & role.bit()) != 0) {
+                members.add(role);
+                names.add(role.roleName());
+                granted.add(role.grantedAuthority());
+            }
+        }
+        this.mask = mask;
+        this.roles = Collections.unmodifiableSet(members);
+        this.roleNames = List.copyOf(names);
+        this.authorities = List.copyOf(granted);
+    }
+
+    public int mask() {
+        return mask;
+    }
+
+    public Set<SystemRole> roles() {
+        return roles;
+    }
+
+    /**
+     * Role names without the ROLE_ prefix
+     */
+    public List<String> roleNames() {
+        return roleNames;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return authorities;
+    }
+
+    public boolean contains(SystemRole role) {
+        return (mask & role.bit()) != 0;
+    }
+
+    /**
+     * Whether the set passes a hasRole check for a role name, given with or without the ROLE_ prefix
+     */
+    public boolean hasRole(String roleName) {
+        SystemRole role = SystemRole.forRoleCheck(roleName);
+        return role != null && contains(role);
+    }
+
+    /**
+     * Whether the set grants an authority, e.g. "ROLE_ADMIN"
+     */
+    public boolean hasAuthority(String authority) {
+        SystemRole role = SystemRole.fromAuthority(authority);
+        return role != null && contains(role);
+    }
+
+    @Override
+    public String toString() {
+        return roleNames.toString();
+    }
+}
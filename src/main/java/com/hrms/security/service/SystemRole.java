@@ -0,0 +1,112 @@
+package com.hrms.security.service;
+
+import com.hrms.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * The fixed system roles, each with its bit in a role mask and its shared authority.
+ *
+ * The authority carries the ROLE_ prefix, like Role.getAuthority(). Lookups accept a role
+ * name with or without the ROLE_ prefix and compare in place, so they allocate nothing.
+ */
+public enum SystemRole {
+
+    ADMIN(Role.ADMIN),
+    HR(Role.HR),
+    MANAGER(Role.MANAGER),
+    EMPLOYEE(Role.EMPLOYEE);
+
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    // values() clones the array on every call
+    private static final SystemRole[] VALUES = values();
+
+    private final String roleName;
+    private final String authority;
+    private final GrantedAuthority grantedAuthority;
+
+    SystemRole(String roleName) {
+        this.roleName = roleName;
+        this.authority = ROLE_PREFIX + roleName;
+        this.grantedAuthority = new SimpleGrantedAuthority(authority);
+    }
+
+    public String roleName() {
+        return roleName;
+    }
+
+    public String authority() {
+        return authority;
+    }
+
+    public GrantedAuthority grantedAuthority() {
+        return grantedAuthority;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Role named e.g. "ADMIN" or "ROLE_ADMIN", or null if it is not a system role
+     */
+    public static SystemRole fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        int offset = name.startsWith(ROLE_PREFIX) ? ROLE_PREFIX.length() : 0;
+        int length = name.length() - offset;
+        for (SystemRole role : VALUES) {
+            if (role.roleName.length() == length && name.regionMatches(offset, role.roleName, 0, length)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Role whose authority is exactly the given one (e.g. "ROLE_ADMIN"), or null
+     */
+    public static SystemRole fromAuthority(String authority) {
+        for (SystemRole role : VALUES) {
+            if (role.authority.equals(authority)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Role whose authority a hasRole check for the given name asks for, or null.
+     * Like Spring's hasRole, the check asks for the name with the ROLE_ prefix added if missing
+     */
+    public static SystemRole forRoleCheck(String roleName) {
+        for (SystemRole role : VALUES) {
+            if (grantsRole(role.authority, roleName)) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether an authority passes a hasRole check for the given name, compared in place
+     */
+    public static boolean grantsRole(String authority, String roleName) {
+        if (roleName.startsWith(ROLE_PREFIX)) {
+            return authority.equals(roleName);
+        }
+        return authority.length() == ROLE_PREFIX.length() + roleName.length()
+                && authority.startsWith(ROLE_PREFIX)
+                && authority.regionMatches(ROLE_PREFIX.length(), roleName, 0, roleName.length());
+    }
+
+    static int count() {
+        return VALUES.length;
+    }
+
+    static SystemRole ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
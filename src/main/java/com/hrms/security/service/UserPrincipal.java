@@ -17,6 +17,10 @@ import java.util.stream.Collectors;
  * 
  * Key features:
  * - Contains all necessary user information from JWT token
+ * - Roles are an interned RoleSet shared by every principal with the same roles, so
+ *   building a principal allocates no authorities and role checks are bit tests
+ * - Authorities carry the ROLE_ prefix, like Role.getAuthority(), so hasRole rules match
+ * - For compact tokens, email and full name are loaded from the UserProfileCache on first access
  * - Implements UserDetails for Spring Security integration
  * - No database dependencies for role/authority resolution
  * - Lightweight and stateless
@@ -31,9 +35,11 @@ public class UserPrincipal implements UserDetails {
 
     private final Long id;
     private final String username;
-    private final String email;
-    private final String fullName;
     private final Collection<? extends GrantedAuthority> authorities;
+    // Null only for principals holding a role outside the system roles
+    private final RoleSet roleSet;
+    private final transient UserProfileCache profileCache;
+    private volatile UserProfile profile;
     private final boolean enabled;
     private final boolean accountNonExpired;
     private final boolean accountNonLocked;
@@ -57,10 +63,12 @@ public class UserPrincipal implements UserDetails {
                         boolean accountNonLocked, boolean credentialsNonExpired) {
         this.id = id;
         this.username = username;
-        this.email = email;
-        this.fullName = fullName;
-        this.authorities = roles.stream()
-                .map(SimpleGrantedAuthority::new)
+        this.profile = new UserProfile(email, fullName);
+        this.profileCache = null;
+        this.roleSet = RoleRegistry.forNames(roles);
+        this.authorities = roleSet != null ? roleSet.authorities() : roles.stream()
+                .map(role -> new SimpleGrantedAuthority(
+                        role.startsWith(SystemRole.ROLE_PREFIX) ? role : SystemRole.ROLE_PREFIX + role))
                 .collect(Collectors.toList());
         this.enabled = enabled;
         this.accountNonExpired = accountNonExpired;
@@ -89,6 +97,36 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    /**
+     * Constructor for compact tokens: shared authorities, profile loaded on first access.
+     */
+    private UserPrincipal(Long id, String username, int roleMask, UserProfileCache profileCache) {
+        this.id = id;
+        this.username = username;
+        this.roleSet = RoleRegistry.forMask(roleMask);
+        this.authorities = roleSet.authorities();
+        this.profileCache = profileCache;
+        this.enabled = true;
+        this.accountNonExpired = true;
+        this.accountNonLocked = true;
+        this.credentialsNonExpired = true;
+    }
+
+    /**
+     * Factory method to create UserPrincipal from compact JWT token claims.
+     * Allocates nothing for the roles; email and full name are loaded from the
+     * profile cache only if they are asked for.
+     * 
+     * @param id           user ID from JWT
+     * @param username     username from JWT
+     * @param roleMask     roles bitmask from JWT (see RoleRegistry)
+     * @param profileCache source of the email and full name
+     * @return UserPrincipal instance
+     */
+    public static UserPrincipal create(Long id, String username, int roleMask, UserProfileCache profileCache) {
+        return new UserPrincipal(id, username, roleMask, profileCache);
+    }
+
     // Getters for user information
 
     public Long getId() {
@@ -96,11 +134,20 @@ public class UserPrincipal implements UserDetails {
     }
 
     public String getEmail() {
-        return email;
+        return profile().email();
     }
 
     public String getFullName() {
-        return fullName;
+        return profile().fullName();
+    }
+
+    private UserProfile profile() {
+        UserProfile current = profile;
+        if (current == null) {
+            current = profileCache != null ? profileCache.get(id) : UserProfile.EMPTY;
+            profile = current;
+        }
+        return current;
     }
 
     // UserDetails interface implementation
@@ -143,17 +190,32 @@ public class UserPrincipal implements UserDetails {
 
     // Utility methods
 
+    /**
+     * Interned set of the user's roles.
+     *
+     * @return role set, or null if the user holds a role outside the system roles
+     */
+    public RoleSet getRoleSet() {
+        return roleSet;
+    }
+
     /**
      * Checks if the user has a specific role.
+     * A bit test for system roles; allocates nothing.
      *
      * @param roleName the role name to check (with or without ROLE_ prefix)
      * @return true if user has the role, false otherwise
      */
     public boolean hasRole(String roleName) {
-        String roleToCheck = roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName;
-        return authorities.stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(authority -> authority.equals(roleToCheck));
+        if (roleSet != null) {
+            return roleSet.hasRole(roleName);
+        }
+        for (GrantedAuthority granted : authorities) {
+            if (SystemRole.grantsRole(granted.getAuthority(), roleName)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -162,6 +224,9 @@ public class UserPrincipal implements UserDetails {
      * @return list of role names
      */
     public List<String> getRoleNames() {
+        if (roleSet != null) {
+            return roleSet.roleNames();
+        }
         return authorities.stream()
                 .map(GrantedAuthority::getAuthority)
                 .map(authority -> authority.replace("ROLE_", ""))
@@ -185,11 +250,13 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public String toString() {
+        // Does not load a profile that has not been loaded yet
+        UserProfile loaded = profile;
         return "UserPrincipal{" +
                 "id=" + id +
                 ", username='" + username + '\'' +
-                ", email='" + email + '\'' +
-                ", fullName='" + fullName + '\'' +
+                ", email='" + (loaded != null ? loaded.email() : null) + '\'' +
+                ", fullName='" + (loaded != null ? loaded.fullName() : null) + '\'' +
                 ", authorities=" + authorities.size() + " authorities" +
                 ", enabled=" + enabled +
                 ", accountNonExpired=" + accountNonExpired +
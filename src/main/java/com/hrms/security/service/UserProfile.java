@@ -0,0 +1,12 @@
+package com.hrms.security.service;
+
+/**
+ * Profile fields of a user that compact access tokens leave out.
+ *
+ * @param email    user email
+ * @param fullName user's full name
+ */
+public record UserProfile(String email, String fullName) {
+
+    public static final UserProfile EMPTY = new UserProfile(null, null);
+}
@@ -0,0 +1,88 @@
+package com.hrms.security.service;
+
+import com.hrms.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, per-instance cache of user profile fields (email, full name).
+ *
+ * Compact access tokens do not carry these fields, so principals built from them
+ * resolve the profile here the first time getEmail or getFullName is called, typically
+ * through SecurityUtils. Requests that never ask pay nothing. Entries expire after
+ * hrms.auth.profile-cache.time-to-live; when the cache is full, expired entries and then
+ * arbitrary ones are dropped. Unknown users are not cached.
+ */
+@Component
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long timeToLiveNanos;
+
+    private final Map<Long, CachedProfile> entries = new ConcurrentHashMap<>();
+
+    public UserProfileCache(UserRepository userRepository,
+                            @Value("${hrms.auth.profile-cache.max-entries:10000}") int maxEntries,
+                            @Value("${hrms.auth.profile-cache.time-to-live:10m}") Duration timeToLive) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * Profile of a user, loaded on a miss; UserProfile.EMPTY if the user does not exist
+     */
+    public UserProfile get(Long userId) {
+        if (userId == null) {
+            return UserProfile.EMPTY;
+        }
+        long now = System.nanoTime();
+        CachedProfile cached = entries.get(userId);
+        if (cached != null && now - cached.loadedAt < timeToLiveNanos) {
+            return cached.profile;
+        }
+
+        UserProfile profile = userRepository.findProfileById(userId).orElse(null);
+        if (profile == null) {
+            entries.remove(userId);
+            return UserProfile.EMPTY;
+        }
+        if (maxEntries > 0) {
+            if (entries.size() >= maxEntries) {
+                evict(now);
+            }
+            entries.put(userId, new CachedProfile(profile, now));
+        }
+        return profile;
+    }
+
+    /**
+     * Drop a user's cached profile after it changed
+     */
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(cached -> now - cached.loadedAt >= timeToLiveNanos);
+
+        Iterator<Long> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedProfile(UserProfile profile, long loadedAt) {
+    }
+}
@@ -11,8 +11,9 @@ import java.util.Optional;
  * Security utility class for JWT-based authentication context.
  * 
  * This utility provides convenient methods to access current user information
- * from the security context without needing database queries.
- * All user information is available directly from JWT tokens.
+ * from the security context. User id, username and roles come directly from JWT
+ * tokens; the email and full name of compact tokens are resolved on first use from
+ * the per-instance profile cache, which reads the database only on a miss.
  * 
  * @author HR Management System Team
  * @version 2.0 - JWT-based authentication
@@ -55,6 +56,7 @@ public class SecurityUtils {
 
     /**
      * Gets the current authenticated user's email.
+     * For compact tokens the email is loaded from the profile cache on first call.
      * 
      * @return Optional containing email if authenticated, empty otherwise
      */
@@ -64,6 +66,7 @@ public class SecurityUtils {
 
     /**
      * Gets the current authenticated user's full name.
+     * For compact tokens the full name is loaded from the profile cache on first call.
      * 
      * @return Optional containing full name if authenticated, empty otherwise
      */
@@ -84,14 +87,16 @@ public class SecurityUtils {
 
     /**
      * Checks if the current user has a specific role.
+     * Reads the principal directly rather than through an Optional, so the check allocates nothing.
      * 
      * @param roleName the role name to check (with or without ROLE_ prefix)
      * @return true if user has the role, false otherwise
      */
     public static boolean currentUserHasRole(String roleName) {
-        return getCurrentUserPrincipal()
-                .map(principal -> principal.hasRole(roleName))
-                .orElse(false);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.hasRole(roleName);
     }
 
     /**
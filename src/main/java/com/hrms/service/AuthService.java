@@ -10,9 +10,9 @@ import com.hrms.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
@@ -45,9 +45,6 @@ public class AuthService {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
     
-    // Maximum failed login attempts before account lockout
-    private static final int MAX_FAILED_ATTEMPTS = 5;
-    
     @Autowired
     private UserRepository userRepository;
     
@@ -57,6 +54,9 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private LoginActivityRecorder loginActivityRecorder;
+    
     /**
      * Creates a new user account based on signup request.
      * 
@@ -115,56 +115,37 @@ public class AuthService {
     }
     
     /**
-     * Updates user's last login timestamp and resets failed login attempts.
+     * Records a successful login. The last login timestamp and the failed attempt reset
+     * are written behind by LoginActivityRecorder, so no connection is taken here.
      * Called after successful authentication.
      * 
-     * @param username the username of the authenticated user
+     * @param userId the ID of the authenticated user
      */
-    public void updateLastLogin(String username) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void updateLastLogin(Long userId) {
         try {
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-            
-            user.updateLastLogin();
-            user.resetFailedLoginAttempts();
-            userRepository.save(user);
-            
-            logger.debug("Updated last login for user: {}", username);
+            loginActivityRecorder.recordSuccess(userId);
+            logger.debug("Recorded last login for user ID: {}", userId);
             
         } catch (Exception e) {
-            logger.error("Error updating last login for user: {} - {}", username, e.getMessage());
+            logger.error("Error updating last login for user ID: {} - {}", userId, e.getMessage());
             // Don't throw exception as this is not critical for authentication
         }
     }
     
     /**
      * Records a failed login attempt and locks account if threshold is reached.
+     * The lock is applied immediately; the attempt counter is written behind.
      * 
-     * @param username the username that failed authentication
+     * @param usernameOrEmail the username or email that failed authentication
      */
-    public void recordFailedLoginAttempt(String username) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void recordFailedLoginAttempt(String usernameOrEmail) {
         try {
-            User user = userRepository.findByUsername(username)
-                    .orElse(null);
-            
-            if (user != null) {
-                user.incrementFailedLoginAttempts();
-                
-                // Lock account if max attempts reached
-                if (user.getFailedLoginAttempts() >= MAX_FAILED_ATTEMPTS) {
-                    user.setAccountNonLocked(false);
-                    logger.warn("Account locked due to {} failed login attempts: {}", 
-                               MAX_FAILED_ATTEMPTS, username);
-                }
-                
-                userRepository.save(user);
-                
-                logger.debug("Recorded failed login attempt for user: {} (Total: {})", 
-                           username, user.getFailedLoginAttempts());
-            }
+            loginActivityRecorder.recordFailure(usernameOrEmail);
             
         } catch (Exception e) {
-            logger.error("Error recording failed login attempt for user: {} - {}", username, e.getMessage());
+            logger.error("Error recording failed login attempt for user: {} - {}", usernameOrEmail, e.getMessage());
         }
     }
     
@@ -182,6 +163,7 @@ public class AuthService {
         user.setAccountNonLocked(true);
         user.resetFailedLoginAttempts();
         userRepository.save(user);
+        loginActivityRecorder.clearFailures(userId);
         
         logger.info("User account unlocked - ID: {}, Username: {}", userId, user.getUsername());
     }
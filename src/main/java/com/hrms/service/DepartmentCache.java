@@ -0,0 +1,165 @@
+package com.hrms.service;
+
+import com.hrms.dto.DepartmentDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process read-through cache of departments and their employee counts.
+ *
+ * Holds one DepartmentDTO per department id in an LRU map bounded by
+ * hrms.cache.department.max-entries, plus the name-ordered list of all
+ * departments. Cached DTOs are shared and must be treated as read-only.
+ *
+ * Write paths in DepartmentService and EmployeeService evict exactly the
+ * departments they touch. Eviction happens immediately and again after the
+ * surrounding transaction completes. A load that overlaps an eviction is
+ * returned to its caller but not cached, so stale rows read before a write
+ * committed are never re-cached.
+ *
+ * Hit/miss counts are published as cache.gets{cache=departments,result=hit|miss}.
+ */
+@Component
+public class DepartmentCache {
+
+    static final String CACHE_NAME = "departments";
+
+    private final int maxEntries;
+    private final Map<Long, DepartmentDTO> byId;
+    private volatile List<DepartmentDTO> all;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public DepartmentCache(@Value("${hrms.cache.department.max-entries:1000}") int maxEntries,
+                           MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, DepartmentDTO> eldest) {
+                return size() > DepartmentCache.this.maxEntries;
+            }
+        };
+
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Department cache lookups served from memory")
+                .register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Department cache lookups that loaded from the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Department cache invalidations")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, DepartmentCache::size).tag("cache", CACHE_NAME)
+                .description("Departments currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a department by id, loading and caching it on a miss
+     */
+    public DepartmentDTO get(Long id, Supplier<DepartmentDTO> loader) {
+        DepartmentDTO cached;
+        synchronized (byId) {
+            cached = byId.get(id);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        DepartmentDTO loaded = loader.get();
+        if (loaded != null && maxEntries > 0) {
+            synchronized (byId) {
+                if (generation.get() == loadGeneration) {
+                    byId.put(id, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Get all departments ordered by name, loading and caching them on a miss
+     */
+    public List<DepartmentDTO> getAll(Supplier<List<DepartmentDTO>> loader) {
+        List<DepartmentDTO> cached = all;
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        List<DepartmentDTO> loaded = List.copyOf(loader.get());
+        if (maxEntries > 0) {
+            synchronized (byId) {
+                if (generation.get() == loadGeneration) {
+                    all = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Evict the given departments and the all-departments list, now and after the current transaction
+     */
+    public void evict(Long... departmentIds) {
+        evictNow(departmentIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(departmentIds);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop every cached department
+     */
+    public void clear() {
+        synchronized (byId) {
+            generation.incrementAndGet();
+            byId.clear();
+            all = null;
+        }
+        evictions.increment();
+    }
+
+    public int size() {
+        synchronized (byId) {
+            return byId.size();
+        }
+    }
+
+    private void evictNow(Long... departmentIds) {
+        synchronized (byId) {
+            generation.incrementAndGet();
+            for (Long id : departmentIds) {
+                if (id != null) {
+                    byId.remove(id);
+                }
+            }
+            all = null;
+        }
+        evictions.increment();
+    }
+}
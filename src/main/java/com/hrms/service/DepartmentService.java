@@ -19,10 +19,15 @@ import java.util.stream.Collectors;
 public class DepartmentService {
     
     private final DepartmentRepository departmentRepository;
+    private final DepartmentCache departmentCache;
+    private final EmployeeSearchIndex employeeSearchIndex;
     
     @Autowired
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, DepartmentCache departmentCache,
+                            EmployeeSearchIndex employeeSearchIndex) {
         this.departmentRepository = departmentRepository;
+        this.departmentCache = departmentCache;
+        this.employeeSearchIndex = employeeSearchIndex;
     }
     
     /**
@@ -42,6 +47,23 @@ public class DepartmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
     }
     
+    /**
+     * Get a reference to an existing department for use as an association.
+     * Existence is checked against the department cache, so no row is loaded on a hit.
+     */
+    @Transactional(readOnly = true)
+    public Department getDepartmentReference(Long id) {
+        getDepartmentByIdAsDTO(id);
+        return departmentRepository.getReferenceById(id);
+    }
+    
+    /**
+     * Evict departments whose employee count changed
+     */
+    public void evictDepartments(Long... departmentIds) {
+        departmentCache.evict(departmentIds);
+    }
+    
     /**
      * Get department by name
      */
@@ -60,7 +82,9 @@ public class DepartmentService {
             throw new DuplicateResourceException("Department", "name", department.getName());
         }
         
-        return departmentRepository.save(department);
+        Department savedDepartment = departmentRepository.save(department);
+        departmentCache.evict(savedDepartment.getId());
+        return savedDepartment;
     }
     
     /**
@@ -77,9 +101,14 @@ public class DepartmentService {
                     }
                 });
         
+        if (!department.getName().equals(departmentDetails.getName())) {
+            employeeSearchIndex.renameDepartment(id, departmentDetails.getName());
+        }
+        
         department.setName(departmentDetails.getName());
         department.setDescription(departmentDetails.getDescription());
         
+        departmentCache.evict(id);
         return departmentRepository.save(department);
     }
     
@@ -94,6 +123,7 @@ public class DepartmentService {
             throw new RuntimeException("Cannot delete department with existing employees. Please reassign employees first.");
         }
         
+        departmentCache.evict(id);
         departmentRepository.delete(department);
     }
     
@@ -137,10 +167,7 @@ public class DepartmentService {
      */
     @Transactional(readOnly = true)
     public List<DepartmentDTO> getAllDepartmentsAsDTO() {
-        List<Department> departments = departmentRepository.findAllByOrderByNameAsc();
-        return departments.stream()
-                .map(this::convertToDepartmentDTO)
-                .collect(Collectors.toList());
+        return departmentCache.getAll(departmentRepository::findAllAsDTOWithEmployeeCount);
     }
     
     /**
@@ -148,9 +175,17 @@ public class DepartmentService {
      */
     @Transactional(readOnly = true)
     public DepartmentDTO getDepartmentByIdAsDTO(Long id) {
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id));
-        return convertToDepartmentDTO(department);
+        return departmentCache.get(id, () -> departmentRepository.findAsDTOWithEmployeeCountById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department", "id", id)));
+    }
+    
+    /**
+     * Get department by name as DTO (without employees)
+     */
+    @Transactional(readOnly = true)
+    public DepartmentDTO getDepartmentByNameAsDTO(String name) {
+        return departmentRepository.findAsDTOWithEmployeeCountByName(name)
+                .orElseThrow(() -> new ResourceNotFoundException("Department", "name", name));
     }
     
     /**
@@ -168,28 +203,11 @@ public class DepartmentService {
      */
     @Transactional(readOnly = true)
     public List<DepartmentDTO> searchDepartmentsByNameAsDTO(String name) {
-        List<Department> departments = departmentRepository.findByNameContainingIgnoreCase(name);
-        return departments.stream()
-                .map(this::convertToDepartmentDTO)
-                .collect(Collectors.toList());
+        return departmentRepository.searchAsDTOWithEmployeeCount(name);
     }
     
     // Mapper methods
     
-    /**
-     * Convert Department entity to DTO without employees (for list views)
-     */
-    private DepartmentDTO convertToDepartmentDTO(Department department) {
-        return new DepartmentDTO(
-                department.getId(),
-                department.getName(),
-                department.getDescription(),
-                department.getCreatedAt(),
-                department.getUpdatedAt(),
-                department.getEmployees() != null ? department.getEmployees().size() : 0
-        );
-    }
-    
     /**
      * Convert Department entity to DTO with employees (for detailed views)
      */
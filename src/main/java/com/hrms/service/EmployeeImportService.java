@@ -0,0 +1,601 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.dto.EmployeeImportResult;
+import com.hrms.dto.EmployeeImportResult.RowError;
+import com.hrms.entity.Department;
+import com.hrms.entity.Employee;
+import com.hrms.exception.BadRequestException;
+import com.hrms.repository.DepartmentRepository;
+import com.hrms.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk employee import from CSV or newline-delimited JSON.
+ *
+ * The input is read as a stream and processed in chunks of hrms.employee.import.batch-size rows:
+ * 1. Convert and validate the rows against the Employee bean constraints on a bounded worker pool,
+ *    resolving departments by id or name from a map loaded once per import
+ * 2. Reject emails already imported from earlier rows of the file, then look up the remaining
+ *    emails in the database with a single IN query per chunk; an email counts as taken by
+ *    the file only once its row is inserted
+ * 3. Insert the accepted rows with one JDBC batch in their own transaction, with ids reserved
+ *    as one block from the same id sequence the Employee entity uses
+ *
+ * Rows that fail any stage are reported individually; the others are imported. Each chunk
+ * commits on its own, so a failure part way through keeps the rows of earlier chunks.
+ * The JDBC URL needs rewriteBatchedStatements=true for MySQL to send each batch as one statement.
+ */
+@Service
+public class EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private static final String INSERT_EMPLOYEE_SQL =
+            "INSERT INTO employees (id, name, email, phone, position, date_of_joining, salary, " +
+            "department_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Supported import formats
+     */
+    public enum ImportFormat {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        ImportFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        /**
+         * Resolve the format from an explicit format name, falling back to the request content type
+         */
+        public static ImportFormat from(String value, String contentType) {
+            if (value != null && !value.isBlank()) {
+                for (ImportFormat format : values()) {
+                    if (format.extension.equalsIgnoreCase(value.trim())) {
+                        return format;
+                    }
+                }
+                throw new BadRequestException("Unsupported import format: " + value + " (use csv or ndjson)");
+            }
+            if (contentType != null) {
+                String type = contentType.toLowerCase(Locale.ROOT);
+                if (type.startsWith(NDJSON.contentType) || type.startsWith("application/ndjson")) {
+                    return NDJSON;
+                }
+                if (type.startsWith(CSV.contentType)) {
+                    return CSV;
+                }
+            }
+            throw new BadRequestException("Import format is required: pass format=csv|ndjson or a text/csv "
+                    + "or application/x-ndjson content type");
+        }
+    }
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentService departmentService;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final IdBlockAllocator idBlockAllocator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int workerThreads;
+    private final ThreadPoolExecutor workerPool;
+
+    @Autowired
+    public EmployeeImportService(EmployeeRepository employeeRepository,
+                                 DepartmentRepository departmentRepository,
+                                 DepartmentService departmentService,
+                                 EmployeeSearchIndex employeeSearchIndex,
+                                 IdBlockAllocator idBlockAllocator,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${hrms.employee.import.batch-size:500}") int batchSize,
+                                 @Value("${hrms.employee.import.worker-threads:4}") int workerThreads) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.departmentService = departmentService;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.idBlockAllocator = idBlockAllocator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.workerThreads = workerThreads;
+        // Bounded queue with caller-runs back-pressure, shared by concurrent imports
+        this.workerPool = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerThreads * 4),
+                new CustomizableThreadFactory("employee-import-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Import all rows of the input and report the rows that were rejected
+     */
+    public EmployeeImportResult importEmployees(InputStream input, ImportFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowReader rows = format == ImportFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+        DepartmentDirectory departments = loadDepartments();
+        Map<String, Integer> importedEmails = new HashMap<>();
+        EmployeeImportResult result = new EmployeeImportResult();
+
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+        int rowNumber = 0;
+        RawRow raw;
+        while ((raw = rows.next()) != null) {
+            chunk.add(new ImportRow(++rowNumber, raw));
+            if (chunk.size() == batchSize) {
+                processChunk(chunk, departments, importedEmails, result);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, departments, importedEmails, result);
+        }
+
+        result.getErrors().sort(Comparator.comparingInt(RowError::getRow));
+        logger.info("Employee import ({}) finished: {} rows, {} imported, {} rejected",
+                format, result.getTotalRows(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    // Chunk processing
+
+    private void processChunk(List<ImportRow> chunk, DepartmentDirectory departments,
+                              Map<String, Integer> importedEmails, EmployeeImportResult result) {
+        validateRows(chunk, departments);
+
+        // Duplicates within the file: the first row with an email that is imported wins. An email
+        // is taken only once its row is inserted, so if that row is rejected the next row with the
+        // same email is tried in another round.
+        List<ImportRow> pending = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.errors.isEmpty()) {
+                pending.add(row);
+            }
+        }
+        while (!pending.isEmpty()) {
+            Map<String, ImportRow> firstByEmail = new LinkedHashMap<>();
+            List<ImportRow> deferred = new ArrayList<>();
+            for (ImportRow row : pending) {
+                String email = emailKey(row.employee.getEmail());
+                Integer importedRow = importedEmails.get(email);
+                if (importedRow != null) {
+                    row.errors.add("Duplicate email in file (first used in row " + importedRow + ")");
+                } else if (firstByEmail.putIfAbsent(email, row) != null) {
+                    deferred.add(row);
+                }
+            }
+
+            List<ImportRow> candidates = new ArrayList<>(firstByEmail.values());
+            insertNew(candidates, departments, result);
+            for (ImportRow row : candidates) {
+                if (row.errors.isEmpty()) {
+                    importedEmails.put(emailKey(row.employee.getEmail()), row.number);
+                }
+            }
+            pending = deferred;
+        }
+
+        for (ImportRow row : chunk) {
+            if (!row.errors.isEmpty()) {
+                result.addError(new RowError(row.number, row.email(), List.copyOf(row.errors)));
+            }
+        }
+    }
+
+    /**
+     * Insert the rows whose email is not in the database yet, one query to check the whole list
+     */
+    private void insertNew(List<ImportRow> candidates, DepartmentDirectory departments, EmployeeImportResult result) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>();
+        for (String email : employeeRepository.findExistingEmails(
+                candidates.stream().map(row -> row.employee.getEmail()).toList())) {
+            existing.add(emailKey(email));
+        }
+        List<ImportRow> rows = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existing.contains(emailKey(row.employee.getEmail()))) {
+                row.errors.add("Employee already exists with email: " + row.employee.getEmail());
+            } else {
+                rows.add(row);
+            }
+        }
+        if (!rows.isEmpty()) {
+            insert(rows, departments, result);
+        }
+    }
+
+    private void validateRows(List<ImportRow> chunk, DepartmentDirectory departments) {
+        int sliceSize = Math.max(1, (chunk.size() + workerThreads - 1) / workerThreads);
+        List<Future<?>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<ImportRow> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            slices.add(workerPool.submit(() -> slice.forEach(row -> validate(row, departments))));
+        }
+
+        for (Future<?> slice : slices) {
+            try {
+                slice.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Employee import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Employee validation failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Convert a raw row into an Employee and collect every reason it cannot be imported
+     */
+    private void validate(ImportRow row, DepartmentDirectory departments) {
+        RawRow raw = row.raw;
+        if (raw.error() != null) {
+            row.errors.add(raw.error());
+            return;
+        }
+
+        Employee employee = new Employee();
+        employee.setName(raw.get("name"));
+        employee.setEmail(raw.get("email"));
+        employee.setPhone(raw.get("phone"));
+        employee.setPosition(raw.get("position"));
+
+        String dateOfJoining = raw.get("dateofjoining");
+        boolean unparsedDate = false;
+        if (dateOfJoining != null) {
+            try {
+                employee.setDateOfJoining(LocalDate.parse(dateOfJoining));
+            } catch (DateTimeParseException e) {
+                row.errors.add("Date of joining must be an ISO date (yyyy-MM-dd)");
+                unparsedDate = true;
+            }
+        }
+        String salary = raw.get("salary");
+        boolean unparsedSalary = false;
+        if (salary != null) {
+            try {
+                employee.setSalary(new BigDecimal(salary));
+            } catch (NumberFormatException e) {
+                row.errors.add("Salary must be a number");
+                unparsedSalary = true;
+            }
+        }
+        row.employee = employee;
+
+        for (ConstraintViolation<Employee> violation : validator.validate(employee)) {
+            String field = violation.getPropertyPath().toString();
+            // The conversion error above already explains why the value is missing
+            if ((unparsedDate && "dateOfJoining".equals(field)) || (unparsedSalary && "salary".equals(field))) {
+                continue;
+            }
+            row.errors.add(violation.getMessage());
+        }
+        if (employee.getDateOfJoining() != null && employee.getDateOfJoining().isAfter(LocalDate.now())) {
+            row.errors.add("Date of joining cannot be in the future");
+        }
+
+        String departmentId = raw.get("departmentid");
+        String departmentName = raw.get("departmentname") != null ? raw.get("departmentname") : raw.get("department");
+        if (departmentId != null) {
+            try {
+                row.departmentId = Long.valueOf(departmentId);
+                if (!departments.namesById().containsKey(row.departmentId)) {
+                    row.errors.add("Department not found with id : '" + departmentId + "'");
+                }
+            } catch (NumberFormatException e) {
+                row.errors.add("Department id must be a number");
+            }
+        } else if (departmentName != null) {
+            row.departmentId = departments.idsByName().get(departmentName.toLowerCase(Locale.ROOT));
+            if (row.departmentId == null) {
+                row.errors.add("Department not found with name : '" + departmentName + "'");
+            }
+        }
+    }
+
+    private void insert(List<ImportRow> rows, DepartmentDirectory departments, EmployeeImportResult result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rows, departments));
+            result.addImported(rows.size());
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                rows.get(0).errors.add("Rejected by the database: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            // Typically an email taken by a concurrent insert; retry row by row so only that row fails
+            logger.warn("Employee import batch of {} rows rolled back, retrying rows individually: {}",
+                    rows.size(), e.getMostSpecificCause().getMessage());
+            for (ImportRow row : rows) {
+                insert(List.of(row), departments, result);
+            }
+        }
+    }
+
+    private void insertBatch(List<ImportRow> rows, DepartmentDirectory departments) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long nextId = idBlockAllocator.reserve("employees", rows.size());
+        for (ImportRow row : rows) {
+            row.employee.setId(nextId++);
+        }
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE_SQL, rows, rows.size(), (ps, row) -> {
+            Employee employee = row.employee;
+            ps.setLong(1, employee.getId());
+            ps.setString(2, employee.getName());
+            ps.setString(3, employee.getEmail());
+            ps.setString(4, employee.getPhone());
+            ps.setString(5, employee.getPosition());
+            ps.setObject(6, employee.getDateOfJoining());
+            ps.setBigDecimal(7, employee.getSalary());
+            if (row.departmentId != null) {
+                ps.setLong(8, row.departmentId);
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+
+        Set<Long> departmentIds = new LinkedHashSet<>();
+        for (ImportRow row : rows) {
+            if (row.departmentId != null) {
+                Department department = new Department();
+                department.setId(row.departmentId);
+                row.employee.setDepartment(department);
+                departmentIds.add(row.departmentId);
+            }
+            employeeSearchIndex.index(row.employee, departments.namesById().get(row.departmentId));
+        }
+        if (!departmentIds.isEmpty()) {
+            departmentService.evictDepartments(departmentIds.toArray(Long[]::new));
+        }
+    }
+
+    private DepartmentDirectory loadDepartments() {
+        Map<Long, String> namesById = new HashMap<>();
+        Map<String, Long> idsByName = new HashMap<>();
+        for (Object[] row : departmentRepository.findAllIdAndName()) {
+            Long id = ((Number) row[0]).longValue();
+            String name = (String) row[1];
+            namesById.put(id, name);
+            idsByName.put(name.toLowerCase(Locale.ROOT), id);
+        }
+        return new DepartmentDirectory(namesById, idsByName);
+    }
+
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalize a column or field name: case-insensitive, ignoring separators (date_of_joining = dateOfJoining)
+     */
+    private static String columnKey(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    private record DepartmentDirectory(Map<Long, String> namesById, Map<String, Long> idsByName) {
+    }
+
+    /**
+     * One input row: field values keyed by normalized column name, or the reason it could not be parsed
+     */
+    private record RawRow(Map<String, String> fields, String error) {
+        String get(String column) {
+            String value = fields.get(column);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    private static final class ImportRow {
+        private final int number;
+        private final RawRow raw;
+        private final List<String> errors = new ArrayList<>(2);
+        private Employee employee;
+        private Long departmentId;
+
+        ImportRow(int number, RawRow raw) {
+            this.number = number;
+            this.raw = raw;
+        }
+
+        String email() {
+            return employee != null ? employee.getEmail() : raw.get("email");
+        }
+    }
+
+    // Row readers
+
+    private interface RowReader {
+        /**
+         * Read the next non-empty row, or null at the end of the input
+         */
+        RawRow next() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row; quoted fields may contain commas, quotes and line breaks
+     */
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final List<String> header;
+
+        CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> columns = readRecord();
+            if (columns == null) {
+                throw new BadRequestException("CSV input is empty; a header row is required");
+            }
+            // Drop a UTF-8 byte order mark left by spreadsheet exports
+            if (!columns.isEmpty() && columns.get(0).startsWith("\uFEFF")) {
+                columns.set(0, columns.get(0).substring(1));
+            }
+            this.header = columns.stream().map(EmployeeImportService::columnKey).toList();
+            if (!header.contains("email")) {
+                throw new BadRequestException("CSV header must contain an email column");
+            }
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+            if (record.size() > header.size()) {
+                return new RawRow(Map.of(), "Row has " + record.size() + " columns, header has " + header.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < record.size(); i++) {
+                fields.put(header.get(i), record.get(i));
+            }
+            return new RawRow(fields, null);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            // Closing quote; re-examine the character after it
+                            quoted = false;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (ch == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    break;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * One JSON object per line; field names follow the CSV column names
+     */
+    private final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+
+        NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return new RawRow(Map.of(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return new RawRow(Map.of(), "Each line must be a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                JsonNode value = field.getValue();
+                if (!value.isNull()) {
+                    fields.put(columnKey(field.getKey()), value.isValueNode() ? value.asText() : value.toString());
+                }
+            }
+            return new RawRow(fields, null);
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package com.hrms.service;
+
+import com.hrms.dto.EmployeeSearchResult;
+import com.hrms.entity.Employee;
+import com.hrms.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process n-gram search index over employee name, position, email and department name.
+ *
+ * Every field is indexed by its lowercase trigrams, which answer infix and prefix
+ * terms of three or more characters, and by the one- and two-character prefixes of
+ * each word, which answer short terms as word prefixes. A query is split into
+ * whitespace-separated terms that must all match; a term may be restricted to one
+ * field as "name:", "position:", "email:" or "department:". Candidates come from
+ * intersecting the posting lists, starting with the shortest, and are verified and
+ * ranked by match quality (exact, prefix, word prefix, infix) weighted by field.
+ *
+ * The index is rebuilt from the database when the application is ready and kept in
+ * sync by EmployeeService and DepartmentService writes, applied after commit.
+ * Writes that arrive during a rebuild are replayed on the rebuilt index.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final String[] FIELD_NAMES = {"name", "position", "email", "department"};
+    private static final int[] FIELD_WEIGHTS = {4, 3, 1, 2};
+    private static final int GRAM_LENGTH = 3;
+    private static final char WORD_PREFIX_MARK = '^';
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(hit -> hit.document().name(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingLong(hit -> hit.document().id());
+
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+    private final int rebuildChunkSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state = new IndexState();
+    private List<Consumer<IndexState>> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               @Value("${hrms.search.employee.enabled:true}") boolean enabled,
+                               @Value("${hrms.search.employee.rebuild-chunk-size:5000}") int rebuildChunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the index from the database, reading employees in keyset chunks
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        withWriteLock(() -> pendingDuringRebuild = new ArrayList<>());
+
+        IndexState rebuilt = new IndexState();
+        try {
+            long afterId = 0L;
+            List<Object[]> rows;
+            do {
+                rows = employeeRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, rebuildChunkSize));
+                for (Object[] row : rows) {
+                    Document document = new Document((Long) row[0], (String) row[1], (String) row[2],
+                            (String) row[3], (Long) row[4], (String) row[5]);
+                    rebuilt.put(document);
+                    afterId = document.id();
+                }
+            } while (rows.size() == rebuildChunkSize);
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pendingDuringRebuild = null);
+            logger.error("Employee search index rebuild failed: {}", e.getMessage());
+            throw e;
+        }
+
+        withWriteLock(() -> {
+            pendingDuringRebuild.forEach(operation -> operation.accept(rebuilt));
+            pendingDuringRebuild = null;
+            state = rebuilt;
+            ready = true;
+        });
+        logger.info("Employee search index built: {} employees, {} grams in {} ms",
+                rebuilt.size(), rebuilt.gramCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Whether searches can be answered from the index
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Add or replace an employee once the current transaction commits.
+     * The department name is passed in so no lazy department is loaded here.
+     */
+    public void index(Employee employee, String departmentName) {
+        Long departmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        Document document = new Document(employee.getId(), employee.getName(), employee.getPosition(),
+                employee.getEmail(), departmentId, departmentName);
+        afterCommit(indexState -> indexState.put(document));
+    }
+
+    /**
+     * Remove an employee once the current transaction commits
+     */
+    public void remove(Long employeeId) {
+        afterCommit(indexState -> indexState.remove(employeeId));
+    }
+
+    /**
+     * Re-index the employees of a renamed department once the current transaction commits
+     */
+    public void renameDepartment(Long departmentId, String departmentName) {
+        afterCommit(indexState -> indexState.renameDepartment(departmentId, departmentName));
+    }
+
+    /**
+     * Search the index and return at most limit hits, best first
+     */
+    public List<EmployeeSearchResult> search(String query, int limit) {
+        List<Term> terms = parse(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return state.search(terms, limit).stream()
+                    .map(hit -> hit.document().toResult(hit.score()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<IndexState> operation) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private void apply(Consumer<IndexState> operation) {
+        withWriteLock(() -> {
+            operation.accept(state);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(operation);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<Term> parse(String query) {
+        List<Term> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String token : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            int field = -1;
+            int colon = token.indexOf(':');
+            if (colon > 0) {
+                field = Arrays.asList(FIELD_NAMES).indexOf(token.substring(0, colon));
+                if (field >= 0) {
+                    token = token.substring(colon + 1);
+                }
+            }
+            if (!token.isEmpty()) {
+                terms.add(new Term(token, field));
+            }
+        }
+        return terms;
+    }
+
+    private static Set<String> documentGrams(String[] fields) {
+        Set<String> grams = new HashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            for (int i = 0; i + GRAM_LENGTH <= field.length(); i++) {
+                grams.add(field.substring(i, i + GRAM_LENGTH));
+            }
+            for (int i = 0; i < field.length(); i++) {
+                if (isWordStart(field, i)) {
+                    grams.add(WORD_PREFIX_MARK + field.substring(i, i + 1));
+                    if (i + 1 < field.length()) {
+                        grams.add(WORD_PREFIX_MARK + field.substring(i, i + 2));
+                    }
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> queryGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text.length() < GRAM_LENGTH) {
+            grams.add(WORD_PREFIX_MARK + text);
+        } else {
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    private static boolean isWordStart(String field, int index) {
+        return Character.isLetterOrDigit(field.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(field.charAt(index - 1)));
+    }
+
+    private static int matchScore(String field, String text) {
+        if (field == null) {
+            return 0;
+        }
+        if (field.equals(text)) {
+            return 10;
+        }
+        if (field.startsWith(text)) {
+            return 6;
+        }
+        for (int i = field.indexOf(text, 1); i >= 0; i = field.indexOf(text, i + 1)) {
+            if (!Character.isLetterOrDigit(field.charAt(i - 1))) {
+                return 4;
+            }
+        }
+        return text.length() >= GRAM_LENGTH && field.contains(text) ? 2 : 0;
+    }
+
+    private record Term(String text, int field) {
+    }
+
+    private record Hit(Document document, int score) {
+    }
+
+    private record Document(Long id, String name, String position, String email,
+                            Long departmentId, String departmentName) {
+
+        String[] lowerFields() {
+            return new String[] {lower(name), lower(position), lower(email), lower(departmentName)};
+        }
+
+        Document withDepartmentName(String newDepartmentName) {
+            return new Document(id, name, position, email, departmentId, newDepartmentName);
+        }
+
+        EmployeeSearchResult toResult(int score) {
+            return new EmployeeSearchResult(id, name, email, position, departmentId, departmentName, score);
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase(Locale.ROOT) : null;
+        }
+    }
+
+    private record Entry(Document document, String[] fields) {
+    }
+
+    /**
+     * Index contents. Documents live in reusable slots; posting lists hold sorted slot numbers.
+     * Not thread-safe: guarded by the enclosing index's lock.
+     */
+    private static final class IndexState {
+        private final Map<Long, Integer> slotById = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private final Map<String, PostingList> postings = new HashMap<>();
+
+        void put(Document document) {
+            remove(document.id());
+
+            String[] fields = document.lowerFields();
+            int slot = freeSlots.isEmpty() ? entries.size() : freeSlots.pop();
+            Entry entry = new Entry(document, fields);
+            if (slot == entries.size()) {
+                entries.add(entry);
+            } else {
+                entries.set(slot, entry);
+            }
+            slotById.put(document.id(), slot);
+            for (String gram : documentGrams(fields)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(slot);
+            }
+        }
+
+        void remove(Long id) {
+            Integer slot = slotById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            for (String gram : documentGrams(entries.get(slot).fields())) {
+                PostingList list = postings.get(gram);
+                if (list != null) {
+                    list.remove(slot);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            entries.set(slot, null);
+            freeSlots.push(slot);
+        }
+
+        void renameDepartment(Long departmentId, String departmentName) {
+            List<Document> affected = new ArrayList<>();
+            for (Entry entry : entries) {
+                if (entry != null && departmentId.equals(entry.document().departmentId())) {
+                    affected.add(entry.document());
+                }
+            }
+            affected.forEach(document -> put(document.withDepartmentName(departmentName)));
+        }
+
+        List<Hit> search(List<Term> terms, int limit) {
+            List<PostingList> lists = new ArrayList<>();
+            for (Term term : terms) {
+                for (String gram : queryGrams(term.text())) {
+                    PostingList list = postings.get(gram);
+                    if (list == null) {
+                        return List.of();
+                    }
+                    lists.add(list);
+                }
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(BEST_FIRST.reversed());
+            PostingList shortest = lists.get(0);
+            for (int i = 0; i < shortest.size(); i++) {
+                int slot = shortest.get(i);
+                if (!containedInAll(lists, slot)) {
+                    continue;
+                }
+                Entry entry = entries.get(slot);
+                int score = score(entry, terms);
+                if (score > 0) {
+                    top.offer(new Hit(entry.document(), score));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(BEST_FIRST);
+            return hits;
+        }
+
+        int size() {
+            return slotById.size();
+        }
+
+        int gramCount() {
+            return postings.size();
+        }
+
+        private static boolean containedInAll(List<PostingList> lists, int slot) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(slot)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int score(Entry entry, List<Term> terms) {
+            int total = 0;
+            for (Term term : terms) {
+                int best = 0;
+                for (int field = 0; field < entry.fields().length; field++) {
+                    if (term.field() < 0 || term.field() == field) {
+                        best = Math.max(best, matchScore(entry.fields()[field], term.text()) * FIELD_WEIGHTS[field]);
+                    }
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Growable sorted array of document slots
+     */
+    private static final class PostingList {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            slots[index] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+        }
+
+        boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+
+        int get(int index) {
+            return slots[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
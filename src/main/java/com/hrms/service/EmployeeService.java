@@ -1,5 +1,9 @@
 package com.hrms.service;
 
+import com.hrms.dto.CursorPage;
+import com.hrms.dto.EmployeeDTO;
+import com.hrms.dto.EmployeeSearchResult;
+import com.hrms.dto.TeamLeaveCalendarDTO.Member;
 import com.hrms.entity.Employee;
 import com.hrms.entity.Department;
 import com.hrms.exception.DuplicateResourceException;
@@ -8,6 +12,7 @@ import com.hrms.exception.BadRequestException;
 import com.hrms.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -20,19 +25,50 @@ public class EmployeeService {
     
     private final EmployeeRepository employeeRepository;
     private final DepartmentService departmentService;
+    private final KeysetPaginator keysetPaginator;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final PayrollSummaryService payrollSummaryService;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final LeaveCalendar leaveCalendar;
     
     @Autowired
-    public EmployeeService(EmployeeRepository employeeRepository, DepartmentService departmentService) {
+    public EmployeeService(EmployeeRepository employeeRepository, DepartmentService departmentService,
+                          KeysetPaginator keysetPaginator, EmployeeSearchIndex employeeSearchIndex,
+                          PayrollSummaryService payrollSummaryService, LeaveIntervalIndex leaveIntervalIndex,
+                          LeaveCalendar leaveCalendar) {
         this.employeeRepository = employeeRepository;
         this.departmentService = departmentService;
+        this.keysetPaginator = keysetPaginator;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.payrollSummaryService = payrollSummaryService;
+        this.leaveIntervalIndex = leaveIntervalIndex;
+        this.leaveCalendar = leaveCalendar;
     }
     
     /**
      * Get all employees
      */
     @Transactional(readOnly = true)
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAllByOrderByNameAsc();
+    public List<EmployeeDTO> getAllEmployees() {
+        return employeeRepository.findAllAsDTOOrderByName();
+    }
+    
+    /**
+     * Get a page of employees ordered by name, continuing after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeDTO> getEmployeesPage(String cursor, Integer size) {
+        int pageSize = keysetPaginator.resolvePageSize(size);
+        List<EmployeeDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = employeeRepository.findFirstPageAsDTOOrderByName(keysetPaginator.lookAhead(pageSize));
+        } else {
+            // Cursor parts: [id, name]; name last since it is free text
+            String[] parts = keysetPaginator.decode(cursor, 2);
+            rows = employeeRepository.findPageAsDTOOrderByNameAfter(
+                    parts[1], keysetPaginator.parseLong(parts[0]), keysetPaginator.lookAhead(pageSize));
+        }
+        return keysetPaginator.toPage(rows, pageSize, e -> keysetPaginator.encode(e.getId(), e.getName()));
     }
     
     /**
@@ -44,12 +80,21 @@ public class EmployeeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
     }
     
+    /**
+     * Get employee by id as DTO with department details
+     */
+    @Transactional(readOnly = true)
+    public EmployeeDTO getEmployeeDTOById(Long id) {
+        return employeeRepository.findAsDTOById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
+    }
+    
     /**
      * Get employee by email
      */
     @Transactional(readOnly = true)
-    public Employee getEmployeeByEmail(String email) {
-        return employeeRepository.findByEmail(email)
+    public EmployeeDTO getEmployeeByEmail(String email) {
+        return employeeRepository.findAsDTOByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "email", email));
     }
     
@@ -73,12 +118,18 @@ public class EmployeeService {
         }
         
         // Validate department exists if provided
+        String departmentName = null;
         if (employee.getDepartment() != null && employee.getDepartment().getId() != null) {
-            Department department = departmentService.getDepartmentById(employee.getDepartment().getId());
+            // Read the name while the department is still cached; the eviction below drops its employee count
+            departmentName = departmentService.getDepartmentByIdAsDTO(employee.getDepartment().getId()).getName();
+            Department department = departmentService.getDepartmentReference(employee.getDepartment().getId());
             employee.setDepartment(department);
+            departmentService.evictDepartments(department.getId());
         }
         
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        employeeSearchIndex.index(savedEmployee, departmentName);
+        return savedEmployee;
     }
     
     /**
@@ -86,6 +137,7 @@ public class EmployeeService {
      */
     public Employee updateEmployee(Long id, Employee employeeDetails) {
         Employee employee = getEmployeeById(id);
+        Long previousDepartmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
         
         // Check if another employee with the same email exists (excluding current one)
         employeeRepository.findByEmail(employeeDetails.getEmail())
@@ -106,9 +158,18 @@ public class EmployeeService {
         }
         
         // Validate department exists if provided
+        String departmentName = null;
         if (employeeDetails.getDepartment() != null && employeeDetails.getDepartment().getId() != null) {
-            Department department = departmentService.getDepartmentById(employeeDetails.getDepartment().getId());
+            // Read the name while the department is still cached; moving the employee evicts it
+            departmentName = departmentService.getDepartmentByIdAsDTO(employeeDetails.getDepartment().getId()).getName();
+            Department department = departmentService.getDepartmentReference(employeeDetails.getDepartment().getId());
             employee.setDepartment(department);
+            
+            // Employee counts change only when the employee moves between departments
+            if (!department.getId().equals(previousDepartmentId)) {
+                departmentService.evictDepartments(previousDepartmentId, department.getId());
+                payrollSummaryService.moveEmployee(id, previousDepartmentId, department.getId());
+            }
         }
         
         // Update employee details
@@ -119,7 +180,10 @@ public class EmployeeService {
         employee.setDateOfJoining(employeeDetails.getDateOfJoining());
         employee.setSalary(employeeDetails.getSalary());
         
-        return employeeRepository.save(employee);
+        Employee savedEmployee = employeeRepository.save(employee);
+        employeeSearchIndex.index(savedEmployee,
+                departmentName != null ? departmentName : departmentNameOf(savedEmployee));
+        return savedEmployee;
     }
     
     /**
@@ -127,109 +191,163 @@ public class EmployeeService {
      */
     public void deleteEmployee(Long id) {
         Employee employee = getEmployeeById(id);
+        Long departmentId = employee.getDepartment() != null ? employee.getDepartment().getId() : null;
+        if (departmentId != null) {
+            departmentService.evictDepartments(departmentId);
+        }
+        // Payrolls are removed with the employee, so remove them from the summaries too
+        payrollSummaryService.removeEmployee(id, departmentId);
         employeeRepository.delete(employee);
+        employeeSearchIndex.remove(id);
+        // Leave requests are removed with the employee
+        leaveIntervalIndex.removeEmployee(id);
+        leaveCalendar.removeEmployee(id);
     }
     
     /**
      * Get employees by department
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesByDepartment(Long departmentId) {
-        return employeeRepository.findByDepartmentId(departmentId);
+    public List<EmployeeDTO> getEmployeesByDepartment(Long departmentId) {
+        return employeeRepository.findAsDTOByDepartmentId(departmentId);
+    }
+    
+    /**
+     * Get the ids of a department's employees
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getEmployeeIdsByDepartment(Long departmentId) {
+        return employeeRepository.findIdsByDepartmentId(departmentId);
+    }
+    
+    /**
+     * Get the members of a department ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<Member> getDepartmentMembers(Long departmentId) {
+        // Fails with ResourceNotFoundException for an unknown department
+        departmentService.getDepartmentByIdAsDTO(departmentId);
+        return employeeRepository.findMembersByDepartmentId(departmentId).stream()
+                .map(row -> new Member((Long) row[0], (String) row[1], (String) row[2]))
+                .toList();
     }
     
     /**
      * Get employees by department name
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesByDepartmentName(String departmentName) {
-        return employeeRepository.findByDepartmentName(departmentName);
+    public List<EmployeeDTO> getEmployeesByDepartmentName(String departmentName) {
+        return employeeRepository.findAsDTOByDepartmentName(departmentName);
     }
     
     /**
      * Get employees by position
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesByPosition(String position) {
-        return employeeRepository.findByPosition(position);
+    public List<EmployeeDTO> getEmployeesByPosition(String position) {
+        return employeeRepository.findAsDTOByPosition(position);
     }
     
     /**
      * Search employees by name
      */
     @Transactional(readOnly = true)
-    public List<Employee> searchEmployeesByName(String name) {
-        return employeeRepository.findByNameContainingIgnoreCase(name);
+    public List<EmployeeDTO> searchEmployeesByName(String name) {
+        return employeeRepository.findAsDTOByNameContaining(name);
+    }
+    
+    /**
+     * Search employees by name, position, email and department name using the in-process index.
+     * Runs without a transaction so index hits never touch the connection pool;
+     * falls back to a database name search while the index is disabled or building.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<EmployeeSearchResult> fastSearchEmployees(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query is required");
+        }
+        int maxResults = keysetPaginator.resolvePageSize(limit);
+        
+        if (employeeSearchIndex.isReady()) {
+            return employeeSearchIndex.search(query, maxResults);
+        }
+        return employeeRepository.findAsDTOByNameContaining(query.trim()).stream()
+                .limit(maxResults)
+                .map(employee -> new EmployeeSearchResult(
+                        employee.getId(), employee.getName(), employee.getEmail(), employee.getPosition(),
+                        employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                        employee.getDepartment() != null ? employee.getDepartment().getName() : null, 0))
+                .toList();
     }
     
     /**
      * Search employees by position
      */
     @Transactional(readOnly = true)
-    public List<Employee> searchEmployeesByPosition(String position) {
-        return employeeRepository.findByPositionContainingIgnoreCase(position);
+    public List<EmployeeDTO> searchEmployeesByPosition(String position) {
+        return employeeRepository.findAsDTOByPositionContaining(position);
     }
     
     /**
      * Get employees by salary range
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesBySalaryRange(BigDecimal minSalary, BigDecimal maxSalary) {
+    public List<EmployeeDTO> getEmployeesBySalaryRange(BigDecimal minSalary, BigDecimal maxSalary) {
         if (minSalary.compareTo(maxSalary) > 0) {
             throw new BadRequestException("Minimum salary cannot be greater than maximum salary");
         }
-        return employeeRepository.findBySalaryBetween(minSalary, maxSalary);
+        return employeeRepository.findAsDTOBySalaryBetween(minSalary, maxSalary);
     }
     
     /**
      * Get employees who joined after a date
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesJoinedAfter(LocalDate date) {
-        return employeeRepository.findByDateOfJoiningAfter(date);
+    public List<EmployeeDTO> getEmployeesJoinedAfter(LocalDate date) {
+        return employeeRepository.findAsDTOByDateOfJoiningAfter(date);
     }
     
     /**
      * Get employees who joined before a date
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesJoinedBefore(LocalDate date) {
-        return employeeRepository.findByDateOfJoiningBefore(date);
+    public List<EmployeeDTO> getEmployeesJoinedBefore(LocalDate date) {
+        return employeeRepository.findAsDTOByDateOfJoiningBefore(date);
     }
     
     /**
      * Get employees who joined between dates
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesJoinedBetween(LocalDate startDate, LocalDate endDate) {
+    public List<EmployeeDTO> getEmployeesJoinedBetween(LocalDate startDate, LocalDate endDate) {
         if (startDate.isAfter(endDate)) {
             throw new BadRequestException("Start date cannot be after end date");
         }
-        return employeeRepository.findByDateOfJoiningBetween(startDate, endDate);
+        return employeeRepository.findAsDTOByDateOfJoiningBetween(startDate, endDate);
     }
     
     /**
      * Get employees ordered by salary (highest first)
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesOrderedBySalary() {
-        return employeeRepository.findAllByOrderBySalaryDesc();
+    public List<EmployeeDTO> getEmployeesOrderedBySalary() {
+        return employeeRepository.findAllAsDTOOrderBySalaryDesc();
     }
     
     /**
      * Get employees ordered by joining date (newest first)
      */
     @Transactional(readOnly = true)
-    public List<Employee> getEmployeesOrderedByJoiningDate() {
-        return employeeRepository.findAllByOrderByDateOfJoiningDesc();
+    public List<EmployeeDTO> getEmployeesOrderedByJoiningDate() {
+        return employeeRepository.findAllAsDTOOrderByDateOfJoiningDesc();
     }
     
     /**
      * Get employee with department details
      */
     @Transactional(readOnly = true)
-    public Employee getEmployeeWithDepartment(Long id) {
-        return employeeRepository.findByIdWithDepartment(id)
+    public EmployeeDTO getEmployeeWithDepartment(Long id) {
+        return employeeRepository.findWithDepartmentAsDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", "id", id));
     }
     
@@ -237,8 +355,8 @@ public class EmployeeService {
      * Search employees by multiple criteria
      */
     @Transactional(readOnly = true)
-    public List<Employee> searchEmployees(String name, String position, String departmentName) {
-        return employeeRepository.searchEmployees(name, position, departmentName);
+    public List<EmployeeDTO> searchEmployees(String name, String position, String departmentName) {
+        return employeeRepository.searchAsDTO(name, position, departmentName);
     }
     
     /**
@@ -264,4 +382,12 @@ public class EmployeeService {
     public boolean isEmailAvailable(String email) {
         return !employeeRepository.existsByEmail(email);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Resolve an employee's department name through the department cache
+     */
+    private String departmentNameOf(Employee employee) {
+        Department department = employee.getDepartment();
+        return department != null ? departmentService.getDepartmentByIdAsDTO(department.getId()).getName() : null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.hrms.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Reserves id ranges from the id_sequences table for rows inserted with plain JDBC.
+ *
+ * Entities draw their ids from the same table through Hibernate's table generator with
+ * the pooled-lo optimizer: next_val is the first id not yet handed out, and each
+ * allocation advances it by the size of the block taken. Reserving a block here follows
+ * the same rule, so JDBC batch inserts and entity saves never collide. The reservation
+ * commits in its own transaction (as Hibernate's does) to keep the row lock short;
+ * ids of a rolled-back insert are simply skipped.
+ */
+@Component
+public class IdBlockAllocator {
+
+    private static final String SELECT_SQL =
+            "SELECT next_val FROM id_sequences WHERE sequence_name = ? FOR UPDATE";
+    private static final String UPDATE_SQL =
+            "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    @Autowired
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserve count consecutive ids of a sequence (the table name, e.g. "employees")
+     *
+     * @return the first reserved id; the block is [first, first + count)
+     */
+    public long reserve(String sequenceName, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Id block size must be at least 1");
+        }
+        Long first = requiresNew.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(SELECT_SQL, Long.class, sequenceName);
+            if (current.isEmpty()) {
+                throw new IllegalStateException("Id sequence '" + sequenceName + "' is missing from id_sequences");
+            }
+            long next = current.get(0);
+            jdbcTemplate.update(UPDATE_SQL, next + count, sequenceName);
+            return next;
+        });
+        return first;
+    }
+}
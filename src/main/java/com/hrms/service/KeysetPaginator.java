@@ -0,0 +1,112 @@
+package com.hrms.service;
+
+import com.hrms.dto.CursorPage;
+import com.hrms.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared helpers for keyset-paginated list endpoints.
+ *
+ * A cursor is the (sort key, id) tuple of the last row of a page, encoded as
+ * URL-safe Base64 so clients treat it as opaque. Repositories seek past that
+ * tuple with range predicates instead of OFFSET, so every page costs the same
+ * regardless of how deep it is. Pages are fetched with one extra row to detect
+ * whether another page follows.
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final String SEPARATOR = "\u001F";
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public KeysetPaginator(@Value("${hrms.pagination.default-page-size:20}") int defaultPageSize,
+                           @Value("${hrms.pagination.max-page-size:100}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Resolve the requested page size, applying the default and the cap
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (requested < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    /**
+     * Limit for fetching a page plus one look-ahead row (always the first page, so no OFFSET)
+     */
+    public Pageable lookAhead(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Encode cursor parts. Free-text parts should come last: decoding keeps the
+     * remainder of the cursor in the last part.
+     */
+    public String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into exactly the expected number of parts
+     */
+    public String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, expectedParts);
+            if (parts.length != expectedParts) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Parse a numeric cursor part
+     */
+    public long parseLong(String part) {
+        try {
+            return Long.parseLong(part);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with {@link #lookAhead(int)}, trimming the look-ahead row
+     * and deriving the next cursor from the last row kept.
+     */
+    public <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, String> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, hasMore, nextCursor);
+    }
+}
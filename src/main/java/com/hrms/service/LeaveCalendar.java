@@ -0,0 +1,495 @@
+package com.hrms.service;
+
+import com.hrms.dto.LeaveIntervalDTO;
+import com.hrms.dto.TeamLeaveCalendarDTO;
+import com.hrms.dto.TeamLeaveCalendarDTO.Member;
+import com.hrms.entity.LeaveRequest;
+import com.hrms.entity.LeaveRequest.LeaveStatus;
+import com.hrms.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process leave calendar holding each employee's pending and approved leave as day bitmaps.
+ *
+ * Every employee has one pair of 366-bit bitmaps (approved, pending) per calendar year,
+ * covering the current year and hrms.leave.calendar.history-years before it. A department
+ * calendar copies the requested range out of each member's bitmaps with word-wide shifts,
+ * counts absences per day with a bit-sliced adder across all members, and expands the
+ * bitmaps into a dense day-by-employee matrix.
+ *
+ * The calendar is rebuilt from the database when the application is ready and kept in
+ * sync by LeaveRequestService and EmployeeService writes, applied after commit. Writes
+ * that arrive during a rebuild are replayed on the rebuilt calendar. Ranges starting
+ * before the covered years are rendered from database rows with the same code.
+ */
+@Component
+public class LeaveCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveCalendar.class);
+
+    private static final int WORDS_PER_YEAR = 6;
+    private static final char APPROVED = 'A';
+    private static final char PENDING = 'P';
+    private static final char AT_WORK = '.';
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final boolean enabled;
+    private final int historyYears;
+    private final int rebuildChunkSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private CalendarState state = new CalendarState(LocalDate.now().withDayOfYear(1));
+    private List<Consumer<CalendarState>> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    public LeaveCalendar(LeaveRequestRepository leaveRequestRepository,
+                         @Value("${hrms.leave.calendar.enabled:true}") boolean enabled,
+                         @Value("${hrms.leave.calendar.history-years:1}") int historyYears,
+                         @Value("${hrms.leave.calendar.rebuild-chunk-size:5000}") int rebuildChunkSize) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.enabled = enabled;
+        this.historyYears = historyYears;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the calendar from the database, reading leaves that end in the covered years in keyset chunks
+     */
+    public void rebuild() {
+        long startNanos = System.nanoTime();
+        withWriteLock(() -> pendingDuringRebuild = new ArrayList<>());
+
+        LocalDate coveredFrom = LocalDate.now().minusYears(historyYears).withDayOfYear(1);
+        CalendarState rebuilt = new CalendarState(coveredFrom);
+        int leaves = 0;
+        try {
+            long afterId = 0L;
+            List<LeaveIntervalDTO> rows;
+            do {
+                rows = leaveRequestRepository.findActiveIntervalsEndingFromAfter(
+                        coveredFrom, afterId, PageRequest.of(0, rebuildChunkSize));
+                for (LeaveIntervalDTO row : rows) {
+                    rebuilt.put(Leave.of(row));
+                    afterId = row.getId();
+                }
+                leaves += rows.size();
+            } while (rows.size() == rebuildChunkSize);
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pendingDuringRebuild = null);
+            logger.error("Leave calendar rebuild failed: {}", e.getMessage());
+            throw e;
+        }
+
+        withWriteLock(() -> {
+            pendingDuringRebuild.forEach(operation -> operation.accept(rebuilt));
+            pendingDuringRebuild = null;
+            state = rebuilt;
+            ready = true;
+        });
+        logger.info("Leave calendar built from {}: {} leaves of {} employees in {} ms",
+                coveredFrom, leaves, rebuilt.employees.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Whether a range starting on the given date can be rendered from the calendar
+     */
+    public boolean covers(LocalDate startDate) {
+        if (!enabled || !ready) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return startDate.toEpochDay() >= state.coveredFrom;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add, move or drop a leave request according to its status once the current transaction commits
+     */
+    public void put(LeaveRequest leaveRequest) {
+        if (leaveRequest.getStatus() == LeaveStatus.REJECTED) {
+            remove(leaveRequest.getId());
+            return;
+        }
+        Leave leave = new Leave(leaveRequest.getId(), leaveRequest.getEmployee().getId(),
+                leaveRequest.getStartDate().toEpochDay(), leaveRequest.getEndDate().toEpochDay(),
+                leaveRequest.getStatus() == LeaveStatus.APPROVED);
+        afterCommit(calendarState -> calendarState.put(leave));
+    }
+
+    /**
+     * Remove a leave request once the current transaction commits
+     */
+    public void remove(Long leaveRequestId) {
+        afterCommit(calendarState -> calendarState.remove(leaveRequestId));
+    }
+
+    /**
+     * Remove all leave of a deleted employee once the current transaction commits
+     */
+    public void removeEmployee(Long employeeId) {
+        afterCommit(calendarState -> calendarState.removeEmployee(employeeId));
+    }
+
+    /**
+     * Render the calendar of the given members from the in-memory bitmaps; check covers(startDate) first
+     */
+    public TeamLeaveCalendarDTO render(Long departmentId, List<Member> members, LocalDate startDate, LocalDate endDate) {
+        List<long[][]> windows;
+        lock.readLock().lock();
+        try {
+            windows = state.windows(members, startDate.toEpochDay(), endDate.toEpochDay());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toCalendar(departmentId, members, startDate, endDate, windows);
+    }
+
+    /**
+     * Render the calendar of the given members from leave rows read from the database
+     */
+    public TeamLeaveCalendarDTO render(Long departmentId, List<Member> members, LocalDate startDate, LocalDate endDate,
+                                       List<LeaveIntervalDTO> leaves) {
+        CalendarState snapshot = new CalendarState(startDate);
+        leaves.forEach(row -> snapshot.put(Leave.of(row)));
+        return toCalendar(departmentId, members, startDate, endDate,
+                snapshot.windows(members, startDate.toEpochDay(), endDate.toEpochDay()));
+    }
+
+    private TeamLeaveCalendarDTO toCalendar(Long departmentId, List<Member> members, LocalDate startDate,
+                                            LocalDate endDate, List<long[][]> windows) {
+        int days = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+        int words = wordsFor(days);
+
+        // Per-day counts: approved only, and approved or pending
+        List<long[]> approved = new ArrayList<>(windows.size());
+        List<long[]> absent = new ArrayList<>(windows.size());
+        for (long[][] window : windows) {
+            long[] out = new long[words];
+            for (int w = 0; w < words; w++) {
+                out[w] = window[0][w] | window[1][w];
+            }
+            approved.add(window[0]);
+            absent.add(out);
+        }
+        int[] approvedCounts = countPerDay(approved, days);
+        int[] absentCounts = countPerDay(absent, days);
+
+        // Dense matrix, one row per day; approved wins over pending on the same day
+        char[][] matrix = new char[days][members.size()];
+        for (char[] row : matrix) {
+            Arrays.fill(row, AT_WORK);
+        }
+        for (int e = 0; e < windows.size(); e++) {
+            markDays(matrix, e, windows.get(e)[1], PENDING);
+            markDays(matrix, e, windows.get(e)[0], APPROVED);
+        }
+        List<String> rows = new ArrayList<>(days);
+        for (char[] row : matrix) {
+            rows.add(new String(row));
+        }
+
+        int peak = 0;
+        for (int count : absentCounts) {
+            peak = Math.max(peak, count);
+        }
+        List<LocalDate> peakDates = new ArrayList<>();
+        for (int d = 0; peak > 0 && d < days; d++) {
+            if (absentCounts[d] == peak) {
+                peakDates.add(startDate.plusDays(d));
+            }
+        }
+
+        return new TeamLeaveCalendarDTO(departmentId, startDate, endDate, members, rows,
+                absentCounts, approvedCounts, peak, peakDates);
+    }
+
+    private void afterCommit(Consumer<CalendarState> operation) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private void apply(Consumer<CalendarState> operation) {
+        withWriteLock(() -> {
+            operation.accept(state);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(operation);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Bit operations
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Count the set bits at each position across all bitmaps with a bit-sliced ripple-carry adder:
+     * plane p holds bit p of every position's count, so each bitmap is added 64 days at a time
+     */
+    private static int[] countPerDay(List<long[]> bitmaps, int days) {
+        int words = wordsFor(days);
+        int planes = 32 - Integer.numberOfLeadingZeros(Math.max(1, bitmaps.size()));
+        long[][] counter = new long[planes][words];
+        for (long[] bitmap : bitmaps) {
+            for (int w = 0; w < words; w++) {
+                long carry = bitmap[w];
+                for (int p = 0; p < planes && carry != 0; p++) {
+                    long next = counter[p][w] & carry;
+                    counter[p][w] ^= carry;
+                    carry = next;
+                }
+            }
+        }
+
+        int[] counts = new int[days];
+        for (int p = 0; p < planes; p++) {
+            for (int d = 0; d < days; d++) {
+                counts[d] |= (int) ((counter[p][d >>> 6] >>> (d & 63)) & 1L) << p;
+            }
+        }
+        return counts;
+    }
+
+    private static void markDays(char[][] matrix, int column, long[] bitmap, char mark) {
+        for (int w = 0; w < bitmap.length; w++) {
+            long bits = bitmap[w];
+            while (bits != 0) {
+                int day = (w << 6) + Long.numberOfTrailingZeros(bits);
+                matrix[day][column] = mark;
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - (to & 63));
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            bits[w] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    private static void clearRange(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = to >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - (to & 63));
+        if (firstWord == lastWord) {
+            bits[firstWord] &= ~(firstMask & lastMask);
+            return;
+        }
+        bits[firstWord] &= ~firstMask;
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            bits[w] = 0L;
+        }
+        bits[lastWord] &= ~lastMask;
+    }
+
+    /**
+     * OR length bits of src starting at srcPos into dst starting at dstPos, up to one word at a time
+     */
+    private static void copyBits(long[] src, int srcPos, long[] dst, int dstPos, int length) {
+        while (length > 0) {
+            int n = Math.min(64 - (dstPos & 63), length);
+            int offset = srcPos & 63;
+            long value = src[srcPos >>> 6] >>> offset;
+            if (64 - offset < n) {
+                value |= src[(srcPos >>> 6) + 1] << (64 - offset);
+            }
+            if (n < 64) {
+                value &= (1L << n) - 1;
+            }
+            dst[dstPos >>> 6] |= value << (dstPos & 63);
+            srcPos += n;
+            dstPos += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * A pending or approved leave with its dates as epoch days
+     */
+    private record Leave(long id, long employeeId, long start, long end, boolean approved) {
+        static Leave of(LeaveIntervalDTO row) {
+            return new Leave(row.getId(), row.getEmployeeId(), row.getStartDate().toEpochDay(),
+                    row.getEndDate().toEpochDay(), row.getStatus() == LeaveStatus.APPROVED);
+        }
+    }
+
+    /**
+     * Day bitmaps of one calendar year: index 0 approved, index 1 pending; bit n is day n + 1 of the year
+     */
+    private record YearDays(long epochDayOfJanFirst, long[][] bitmaps) {
+        YearDays(int year) {
+            this(LocalDate.of(year, 1, 1).toEpochDay(), new long[][] {new long[WORDS_PER_YEAR], new long[WORDS_PER_YEAR]});
+        }
+
+        long lastEpochDay() {
+            return LocalDate.ofEpochDay(epochDayOfJanFirst).plusYears(1).toEpochDay() - 1;
+        }
+    }
+
+    private static final class EmployeeDays {
+        private final Map<Integer, YearDays> years = new HashMap<>();
+        private final Map<Long, Leave> leaves = new HashMap<>();
+    }
+
+    private static final class CalendarState {
+        private final long coveredFrom;
+        private final Map<Long, EmployeeDays> employees = new HashMap<>();
+        private final Map<Long, Long> employeeByLeave = new HashMap<>();
+
+        CalendarState(LocalDate coveredFrom) {
+            this.coveredFrom = coveredFrom.toEpochDay();
+        }
+
+        void put(Leave leave) {
+            remove(leave.id());
+            if (leave.end() < coveredFrom) {
+                return;
+            }
+            EmployeeDays days = employees.computeIfAbsent(leave.employeeId(), id -> new EmployeeDays());
+            days.leaves.put(leave.id(), leave);
+            employeeByLeave.put(leave.id(), leave.employeeId());
+            paint(days, leave, true);
+        }
+
+        void remove(Long leaveRequestId) {
+            Long employeeId = employeeByLeave.remove(leaveRequestId);
+            if (employeeId == null) {
+                return;
+            }
+            EmployeeDays days = employees.get(employeeId);
+            Leave removed = days.leaves.remove(leaveRequestId);
+            paint(days, removed, false);
+            // Repaint any other leave sharing the cleared days
+            for (Leave other : days.leaves.values()) {
+                if (other.start() <= removed.end() && other.end() >= removed.start()) {
+                    paint(days, other, true);
+                }
+            }
+            if (days.leaves.isEmpty()) {
+                employees.remove(employeeId);
+            }
+        }
+
+        void removeEmployee(Long employeeId) {
+            EmployeeDays days = employees.remove(employeeId);
+            if (days != null) {
+                days.leaves.keySet().forEach(employeeByLeave::remove);
+            }
+        }
+
+        /**
+         * Set (or clear) the leave's days inside the covered years; clearing clears both bitmaps
+         */
+        private void paint(EmployeeDays days, Leave leave, boolean set) {
+            long from = Math.max(leave.start(), coveredFrom);
+            int firstYear = LocalDate.ofEpochDay(from).getYear();
+            int lastYear = LocalDate.ofEpochDay(leave.end()).getYear();
+            for (int year = firstYear; year <= lastYear; year++) {
+                YearDays yearDays = set ? days.years.computeIfAbsent(year, YearDays::new) : days.years.get(year);
+                if (yearDays == null) {
+                    continue;
+                }
+                int first = (int) (Math.max(from, yearDays.epochDayOfJanFirst()) - yearDays.epochDayOfJanFirst());
+                int last = (int) (Math.min(leave.end(), yearDays.lastEpochDay()) - yearDays.epochDayOfJanFirst());
+                if (set) {
+                    setRange(yearDays.bitmaps()[leave.approved() ? 0 : 1], first, last);
+                } else {
+                    clearRange(yearDays.bitmaps()[0], first, last);
+                    clearRange(yearDays.bitmaps()[1], first, last);
+                }
+            }
+        }
+
+        /**
+         * Copy [start, end] out of each member's bitmaps: one {approved, pending} pair per member
+         */
+        List<long[][]> windows(List<Member> members, long start, long end) {
+            int length = (int) (end - start) + 1;
+            int words = wordsFor(length);
+            int firstYear = LocalDate.ofEpochDay(start).getYear();
+            int lastYear = LocalDate.ofEpochDay(end).getYear();
+
+            List<long[][]> windows = new ArrayList<>(members.size());
+            for (Member member : members) {
+                long[][] window = {new long[words], new long[words]};
+                EmployeeDays days = employees.get(member.getId());
+                if (days != null) {
+                    for (int year = firstYear; year <= lastYear; year++) {
+                        YearDays yearDays = days.years.get(year);
+                        if (yearDays == null) {
+                            continue;
+                        }
+                        long from = Math.max(start, yearDays.epochDayOfJanFirst());
+                        long to = Math.min(end, yearDays.lastEpochDay());
+                        int srcPos = (int) (from - yearDays.epochDayOfJanFirst());
+                        int dstPos = (int) (from - start);
+                        int count = (int) (to - from) + 1;
+                        copyBits(yearDays.bitmaps()[0], srcPos, window[0], dstPos, count);
+                        copyBits(yearDays.bitmaps()[1], srcPos, window[1], dstPos, count);
+                    }
+                }
+                windows.add(window);
+            }
+            return windows;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.hrms.service;
+
+import com.hrms.dto.LeaveIntervalDTO;
+import com.hrms.entity.LeaveRequest;
+import com.hrms.entity.LeaveRequest.LeaveStatus;
+import com.hrms.repository.LeaveRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process interval index over the pending and approved leave of each employee.
+ *
+ * Each employee's leaves are held in an immutable array sorted by start date, together
+ * with the running maximum of the end dates. An overlap query binary-searches the last
+ * leave starting on or before the range end and walks back while the running maximum
+ * still reaches the range start, so it costs O(log n + k) for k hits however long the
+ * employee's leave history is. Writes replace the employee's array (copy-on-write), so
+ * reads never take a lock.
+ *
+ * The index is rebuilt from the database when the application is ready and kept in sync
+ * by LeaveRequestService and EmployeeService writes, applied after commit. Writes that
+ * arrive during a rebuild are replayed on the rebuilt index. The database stays the
+ * authority for the overlap check on create and update; the index serves read-only
+ * overlap checks and department range queries.
+ */
+@Component
+public class LeaveIntervalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveIntervalIndex.class);
+
+    private static final Comparator<Interval> BY_START = Comparator.comparingLong(Interval::start)
+            .thenComparingLong(Interval::id);
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final boolean enabled;
+    private final int rebuildChunkSize;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile IndexState state = new IndexState();
+    private List<Consumer<IndexState>> pendingDuringRebuild;
+    private volatile boolean ready;
+
+    public LeaveIntervalIndex(LeaveRequestRepository leaveRequestRepository,
+                              @Value("${hrms.leave.interval-index.enabled:true}") boolean enabled,
+                              @Value("${hrms.leave.interval-index.rebuild-chunk-size:5000}") int rebuildChunkSize) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.enabled = enabled;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the index from the database, reading active leaves in keyset chunks
+     */
+    public void rebuild() {
+        long startNanos = System.nanoTime();
+        withWriteLock(() -> pendingDuringRebuild = new ArrayList<>());
+
+        Map<Long, List<Interval>> byEmployee = new HashMap<>();
+        try {
+            long afterId = 0L;
+            List<LeaveIntervalDTO> rows;
+            do {
+                rows = leaveRequestRepository.findActiveIntervalsAfter(afterId, PageRequest.of(0, rebuildChunkSize));
+                for (LeaveIntervalDTO row : rows) {
+                    Interval interval = Interval.of(row.getId(), row.getEmployeeId(), row.getStartDate(),
+                            row.getEndDate(), row.getStatus());
+                    byEmployee.computeIfAbsent(interval.employeeId(), id -> new ArrayList<>()).add(interval);
+                    afterId = row.getId();
+                }
+            } while (rows.size() == rebuildChunkSize);
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pendingDuringRebuild = null);
+            logger.error("Leave interval index rebuild failed: {}", e.getMessage());
+            throw e;
+        }
+
+        IndexState rebuilt = new IndexState();
+        byEmployee.forEach(rebuilt::load);
+
+        withWriteLock(() -> {
+            pendingDuringRebuild.forEach(operation -> operation.accept(rebuilt));
+            pendingDuringRebuild = null;
+            state = rebuilt;
+            ready = true;
+        });
+        logger.info("Leave interval index built: {} leaves of {} employees in {} ms",
+                rebuilt.size(), rebuilt.byEmployee.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Whether overlap queries can be answered from the index
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Add, move or drop a leave request according to its status once the current transaction commits
+     */
+    public void put(LeaveRequest leaveRequest) {
+        if (leaveRequest.getStatus() == LeaveStatus.REJECTED) {
+            remove(leaveRequest.getId());
+            return;
+        }
+        Interval interval = Interval.of(leaveRequest.getId(), leaveRequest.getEmployee().getId(),
+                leaveRequest.getStartDate(), leaveRequest.getEndDate(), leaveRequest.getStatus());
+        afterCommit(indexState -> indexState.put(interval));
+    }
+
+    /**
+     * Remove a leave request once the current transaction commits
+     */
+    public void remove(Long leaveRequestId) {
+        afterCommit(indexState -> indexState.remove(leaveRequestId));
+    }
+
+    /**
+     * Remove all leave of a deleted employee once the current transaction commits
+     */
+    public void removeEmployee(Long employeeId) {
+        afterCommit(indexState -> indexState.removeEmployee(employeeId));
+    }
+
+    /**
+     * Whether the employee has pending or approved leave overlapping the range, ignoring excludeId
+     */
+    public boolean overlaps(Long employeeId, LocalDate startDate, LocalDate endDate, Long excludeId) {
+        EmployeeIntervals intervals = state.byEmployee.get(employeeId);
+        if (intervals == null) {
+            return false;
+        }
+        List<Interval> hits = new ArrayList<>(1);
+        intervals.collect(startDate.toEpochDay(), endDate.toEpochDay(), excludeId != null ? excludeId : 0L, hits, true);
+        return !hits.isEmpty();
+    }
+
+    /**
+     * Get the pending and approved leave of the given employees overlapping the range,
+     * ordered by start date
+     */
+    public List<LeaveIntervalDTO> findOverlapping(Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate) {
+        IndexState current = state;
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        List<Interval> hits = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            EmployeeIntervals intervals = current.byEmployee.get(employeeId);
+            if (intervals != null) {
+                intervals.collect(start, end, 0L, hits, false);
+            }
+        }
+        hits.sort(BY_START);
+        return hits.stream().map(Interval::toDTO).toList();
+    }
+
+    private void afterCommit(Consumer<IndexState> operation) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(operation);
+                }
+            });
+        } else {
+            apply(operation);
+        }
+    }
+
+    private void apply(Consumer<IndexState> operation) {
+        withWriteLock(() -> {
+            operation.accept(state);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(operation);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        writeLock.lock();
+        try {
+            action.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * A leave with its dates as epoch days
+     */
+    private record Interval(long id, long employeeId, long start, long end, LeaveStatus status) {
+        static Interval of(Long id, Long employeeId, LocalDate startDate, LocalDate endDate, LeaveStatus status) {
+            return new Interval(id, employeeId, startDate.toEpochDay(), endDate.toEpochDay(), status);
+        }
+
+        LeaveIntervalDTO toDTO() {
+            return new LeaveIntervalDTO(id, employeeId, LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end), status);
+        }
+    }
+
+    /**
+     * Immutable leave intervals of one employee, sorted by start date, with the running maximum end date
+     */
+    private static final class EmployeeIntervals {
+        private final Interval[] intervals;
+        private final long[] maxEnd;
+
+        EmployeeIntervals(Interval[] sorted) {
+            this.intervals = sorted;
+            this.maxEnd = new long[sorted.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < sorted.length; i++) {
+                max = Math.max(max, sorted[i].end());
+                maxEnd[i] = max;
+            }
+        }
+
+        static EmployeeIntervals of(List<Interval> intervals) {
+            Interval[] sorted = intervals.toArray(Interval[]::new);
+            Arrays.sort(sorted, BY_START);
+            return new EmployeeIntervals(sorted);
+        }
+
+        /**
+         * Copy with the interval added, replacing any interval with the same id
+         */
+        EmployeeIntervals with(Interval interval) {
+            int existing = indexOf(interval.id());
+            Interval[] base = existing >= 0 ? removeAt(intervals, existing) : intervals;
+            int position = Arrays.binarySearch(base, interval, BY_START);
+            int insertAt = position >= 0 ? position : -position - 1;
+            Interval[] copy = new Interval[base.length + 1];
+            System.arraycopy(base, 0, copy, 0, insertAt);
+            copy[insertAt] = interval;
+            System.arraycopy(base, insertAt, copy, insertAt + 1, base.length - insertAt);
+            return new EmployeeIntervals(copy);
+        }
+
+        /**
+         * Copy without the interval, or null when no interval is left
+         */
+        EmployeeIntervals without(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return this;
+            }
+            return intervals.length == 1 ? null : new EmployeeIntervals(removeAt(intervals, index));
+        }
+
+        /**
+         * Add the intervals overlapping [start, end] to hits, latest start first; stop after one when firstOnly
+         */
+        void collect(long start, long end, long excludeId, List<Interval> hits, boolean firstOnly) {
+            // Last interval starting on or before the range end
+            int low = 0;
+            int high = intervals.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (intervals[middle].start() <= end) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            // Earlier intervals cannot reach the range once the running maximum end falls before it
+            for (int i = low - 1; i >= 0 && maxEnd[i] >= start; i--) {
+                Interval interval = intervals[i];
+                if (interval.end() >= start && interval.id() != excludeId) {
+                    hits.add(interval);
+                    if (firstOnly) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        Interval[] intervals() {
+            return intervals;
+        }
+
+        private static Interval[] removeAt(Interval[] source, int index) {
+            Interval[] copy = new Interval[source.length - 1];
+            System.arraycopy(source, 0, copy, 0, index);
+            System.arraycopy(source, index + 1, copy, index, source.length - index - 1);
+            return copy;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < intervals.length; i++) {
+                if (intervals[i].id() == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class IndexState {
+        private final Map<Long, EmployeeIntervals> byEmployee = new ConcurrentHashMap<>();
+        private final Map<Long, Long> employeeByLeave = new ConcurrentHashMap<>();
+
+        void load(Long employeeId, List<Interval> intervals) {
+            byEmployee.put(employeeId, EmployeeIntervals.of(intervals));
+            intervals.forEach(interval -> employeeByLeave.put(interval.id(), employeeId));
+        }
+
+        void put(Interval interval) {
+            Long previousEmployee = employeeByLeave.put(interval.id(), interval.employeeId());
+            if (previousEmployee != null && previousEmployee != interval.employeeId()) {
+                byEmployee.computeIfPresent(previousEmployee, (id, current) -> current.without(interval.id()));
+            }
+            byEmployee.compute(interval.employeeId(), (id, current) -> current == null
+                    ? new EmployeeIntervals(new Interval[] {interval})
+                    : current.with(interval));
+        }
+
+        void remove(Long leaveRequestId) {
+            Long employeeId = employeeByLeave.remove(leaveRequestId);
+            if (employeeId != null) {
+                byEmployee.computeIfPresent(employeeId, (id, current) -> current.without(leaveRequestId));
+            }
+        }
+
+        void removeEmployee(Long employeeId) {
+            EmployeeIntervals removed = byEmployee.remove(employeeId);
+            if (removed != null) {
+                for (Interval interval : removed.intervals()) {
+                    employeeByLeave.remove(interval.id());
+                }
+            }
+        }
+
+        int size() {
+            return employeeByLeave.size();
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.hrms.service;
 
+import com.hrms.dto.CursorPage;
+import com.hrms.dto.LeaveIntervalDTO;
+import com.hrms.dto.TeamLeaveCalendarDTO;
+import com.hrms.dto.TeamLeaveCalendarDTO.Member;
 import com.hrms.entity.LeaveRequest;
 import com.hrms.entity.LeaveRequest.LeaveStatus;
 import com.hrms.entity.LeaveRequest.LeaveType;
@@ -8,11 +12,19 @@ import com.hrms.exception.ResourceNotFoundException;
 import com.hrms.exception.BadRequestException;
 import com.hrms.repository.LeaveRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -20,11 +32,22 @@ public class LeaveRequestService {
     
     private final LeaveRequestRepository leaveRequestRepository;
     private final EmployeeService employeeService;
+    private final KeysetPaginator keysetPaginator;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final LeaveCalendar leaveCalendar;
+    private final int calendarMaxDays;
     
     @Autowired
-    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository, EmployeeService employeeService) {
+    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository, EmployeeService employeeService,
+                              KeysetPaginator keysetPaginator, LeaveIntervalIndex leaveIntervalIndex,
+                              LeaveCalendar leaveCalendar,
+                              @Value("${hrms.leave.calendar.max-days:366}") int calendarMaxDays) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.employeeService = employeeService;
+        this.keysetPaginator = keysetPaginator;
+        this.leaveIntervalIndex = leaveIntervalIndex;
+        this.leaveCalendar = leaveCalendar;
+        this.calendarMaxDays = calendarMaxDays;
     }
     
     /**
@@ -35,6 +58,31 @@ public class LeaveRequestService {
         return leaveRequestRepository.findAll();
     }
     
+    /**
+     * Get a page of leave requests, latest start date first, continuing after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LeaveRequest> getLeaveRequestsPage(String cursor, Integer size) {
+        int pageSize = keysetPaginator.resolvePageSize(size);
+        List<LeaveRequest> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = leaveRequestRepository.findFirstPageOrderByStartDate(keysetPaginator.lookAhead(pageSize));
+        } else {
+            // Cursor parts: [startDate, id]
+            String[] parts = keysetPaginator.decode(cursor, 2);
+            LocalDate startDate;
+            try {
+                startDate = LocalDate.parse(parts[0]);
+            } catch (DateTimeParseException e) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            rows = leaveRequestRepository.findPageOrderByStartDateBefore(
+                    startDate, keysetPaginator.parseLong(parts[1]), keysetPaginator.lookAhead(pageSize));
+        }
+        return keysetPaginator.toPage(rows, pageSize,
+                lr -> keysetPaginator.encode(lr.getStartDate(), lr.getId()));
+    }
+    
     /**
      * Get leave request by id
      */
@@ -55,15 +103,8 @@ public class LeaveRequestService {
         // Validate dates
         validateLeaveDates(leaveRequest.getStartDate(), leaveRequest.getEndDate());
         
-        // Check for overlapping leave requests
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository.findOverlappingLeaveRequests(
-                employee.getId(), 
-                leaveRequest.getStartDate(), 
-                leaveRequest.getEndDate(),
-                0L // New request, so no ID to exclude
-        );
-        
-        if (!overlappingRequests.isEmpty()) {
+        // Check for overlapping leave requests (new request, so no ID to exclude)
+        if (existsOverlappingLeave(employee.getId(), leaveRequest.getStartDate(), leaveRequest.getEndDate(), 0L)) {
             throw new BadRequestException("Leave request overlaps with existing leave requests");
         }
         
@@ -72,7 +113,10 @@ public class LeaveRequestService {
             leaveRequest.setStatus(LeaveStatus.PENDING);
         }
         
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+        leaveIntervalIndex.put(savedLeaveRequest);
+        leaveCalendar.put(savedLeaveRequest);
+        return savedLeaveRequest;
     }
     
     /**
@@ -85,14 +129,8 @@ public class LeaveRequestService {
         validateLeaveDates(leaveRequestDetails.getStartDate(), leaveRequestDetails.getEndDate());
         
         // Check for overlapping leave requests (excluding current request)
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository.findOverlappingLeaveRequests(
-                leaveRequest.getEmployee().getId(),
-                leaveRequestDetails.getStartDate(),
-                leaveRequestDetails.getEndDate(),
-                id
-        );
-        
-        if (!overlappingRequests.isEmpty()) {
+        if (existsOverlappingLeave(leaveRequest.getEmployee().getId(),
+                leaveRequestDetails.getStartDate(), leaveRequestDetails.getEndDate(), id)) {
             throw new BadRequestException("Leave request overlaps with existing leave requests");
         }
         
@@ -112,7 +150,10 @@ public class LeaveRequestService {
             leaveRequest.setAdminComments(leaveRequestDetails.getAdminComments());
         }
         
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+        leaveIntervalIndex.put(savedLeaveRequest);
+        leaveCalendar.put(savedLeaveRequest);
+        return savedLeaveRequest;
     }
     
     /**
@@ -130,7 +171,10 @@ public class LeaveRequestService {
             leaveRequest.setAdminComments(adminComments);
         }
         
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+        leaveIntervalIndex.put(savedLeaveRequest);
+        leaveCalendar.put(savedLeaveRequest);
+        return savedLeaveRequest;
     }
     
     /**
@@ -148,7 +192,10 @@ public class LeaveRequestService {
             leaveRequest.setAdminComments(adminComments);
         }
         
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest savedLeaveRequest = leaveRequestRepository.save(leaveRequest);
+        leaveIntervalIndex.put(savedLeaveRequest);
+        leaveCalendar.put(savedLeaveRequest);
+        return savedLeaveRequest;
     }
     
     /**
@@ -157,6 +204,8 @@ public class LeaveRequestService {
     public void deleteLeaveRequest(Long id) {
         LeaveRequest leaveRequest = getLeaveRequestById(id);
         leaveRequestRepository.delete(leaveRequest);
+        leaveIntervalIndex.remove(id);
+        leaveCalendar.remove(id);
     }
     
     /**
@@ -216,6 +265,39 @@ public class LeaveRequestService {
         return leaveRequestRepository.findByDepartmentId(departmentId);
     }
     
+    /**
+     * Get pending and approved leave of a department's employees overlapping a date range.
+     * Answered from the interval index when it is ready, otherwise from the database.
+     */
+    @Transactional(readOnly = true)
+    public List<LeaveIntervalDTO> getDepartmentLeavesInRange(Long departmentId, LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        if (leaveIntervalIndex.isReady()) {
+            return leaveIntervalIndex.findOverlapping(
+                    employeeService.getEmployeeIdsByDepartment(departmentId), startDate, endDate);
+        }
+        return leaveRequestRepository.findActiveIntervalsByDepartmentAndDateRange(departmentId, startDate, endDate);
+    }
+    
+    /**
+     * Get a department's day-by-employee leave calendar with daily absence counts and peak days.
+     * Rendered from the in-memory leave calendar when it covers the range, otherwise from the database.
+     */
+    @Transactional(readOnly = true)
+    public TeamLeaveCalendarDTO getDepartmentCalendar(Long departmentId, LocalDate startDate, LocalDate endDate) {
+        validateDateRange(startDate, endDate);
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > calendarMaxDays) {
+            throw new BadRequestException("Calendar range cannot exceed " + calendarMaxDays + " days");
+        }
+        
+        List<Member> members = employeeService.getDepartmentMembers(departmentId);
+        if (leaveCalendar.covers(startDate)) {
+            return leaveCalendar.render(departmentId, members, startDate, endDate);
+        }
+        return leaveCalendar.render(departmentId, members, startDate, endDate,
+                leaveRequestRepository.findActiveIntervalsByDepartmentAndDateRange(departmentId, startDate, endDate));
+    }
+    
     /**
      * Get approved leaves for employee in a year
      */
@@ -229,7 +311,32 @@ public class LeaveRequestService {
      */
     @Transactional(readOnly = true)
     public Long getApprovedLeaveDaysCount(Long employeeId, int year, int month) {
-        return leaveRequestRepository.countApprovedLeaveDaysByEmployeeAndMonth(employeeId, year, month);
+        return getApprovedLeaveDaysByEmployees(List.of(employeeId), year, month).getOrDefault(employeeId, 0L);
+    }
+    
+    /**
+     * Get approved leave days per employee in a month for a set of employees.
+     * Leaves crossing a month boundary only count the days inside the month.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getApprovedLeaveDaysByEmployees(Collection<Long> employeeIds, int year, int month) {
+        if (employeeIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        YearMonth period = YearMonth.of(year, month);
+        return toLeaveDaysMap(leaveRequestRepository.sumApprovedLeaveDaysInPeriodByEmployees(
+                employeeIds, period.atDay(1), period.atEndOfMonth()));
+    }
+    
+    /**
+     * Get approved leave days for every employee with leave in a month, in a single aggregation.
+     * Leaves crossing a month boundary only count the days inside the month.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getApprovedLeaveDaysByPeriod(int year, int month) {
+        YearMonth period = YearMonth.of(year, month);
+        return toLeaveDaysMap(leaveRequestRepository.sumApprovedLeaveDaysInPeriod(
+                period.atDay(1), period.atEndOfMonth()));
     }
     
     /**
@@ -253,10 +360,44 @@ public class LeaveRequestService {
      */
     @Transactional(readOnly = true)
     public boolean hasOverlappingLeaves(Long employeeId, LocalDate startDate, LocalDate endDate, Long excludeRequestId) {
-        List<LeaveRequest> overlappingRequests = leaveRequestRepository.findOverlappingLeaveRequests(
-                employeeId, startDate, endDate, excludeRequestId != null ? excludeRequestId : 0L
-        );
-        return !overlappingRequests.isEmpty();
+        validateDateRange(startDate, endDate);
+        long excludeId = excludeRequestId != null ? excludeRequestId : 0L;
+        if (leaveIntervalIndex.isReady()) {
+            return leaveIntervalIndex.overlaps(employeeId, startDate, endDate, excludeId);
+        }
+        return existsOverlappingLeave(employeeId, startDate, endDate, excludeId);
+    }
+    
+    /**
+     * Check the database for pending or approved leave overlapping the range with a single-row index probe
+     */
+    private boolean existsOverlappingLeave(Long employeeId, LocalDate startDate, LocalDate endDate, Long excludeId) {
+        return !leaveRequestRepository.findOverlappingLeaveIds(
+                employeeId, startDate, endDate, excludeId, PageRequest.of(0, 1)).isEmpty();
+    }
+    
+    /**
+     * Convert [employeeId, leaveDays] rows to a map
+     */
+    private Map<Long, Long> toLeaveDaysMap(List<Object[]> rows) {
+        Map<Long, Long> leaveDays = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            leaveDays.put((Long) row[0], row[1] != null ? ((Number) row[1]).longValue() : 0L);
+        }
+        return leaveDays;
+    }
+    
+    /**
+     * Validate a query date range
+     */
+    private void validateDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new BadRequestException("Start date and end date are required");
+        }
+        
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("Start date cannot be after end date");
+        }
     }
     
     /**
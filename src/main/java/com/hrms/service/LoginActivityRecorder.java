@@ -0,0 +1,260 @@
+package com.hrms.service;
+
+import com.hrms.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind recorder for login bookkeeping (last login, failed attempts).
+ *
+ * Login events are queued per user and coalesced: repeated successes keep only
+ * the latest timestamp, repeated failures add up to a single increment. A
+ * background thread flushes the queue every hrms.auth.activity.flush-interval-ms
+ * as two JDBC batch UPDATEs in one transaction, so the login request itself
+ * never loads or saves the User entity.
+ *
+ * Lockout does not wait for a flush. Failed attempts are counted in an atomic
+ * in-memory counter per user, seeded from the database the first time the user
+ * fails, and the account is locked synchronously once the counter reaches
+ * hrms.auth.max-failed-attempts. The lock is issued once per counter. A locked account
+ * is rejected before its password is checked, so a failure that reaches a counter whose
+ * lock has completed means the account was unlocked, possibly on another instance: the
+ * counter is dropped and the next failure re-seeds it (count and lock state) from the
+ * database. If a flush fails, its entries are queued again for the next one.
+ */
+@Component
+public class LoginActivityRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginActivityRecorder.class);
+
+    private static final String SUCCESS_SQL =
+            "UPDATE users SET last_login = ?, failed_login_attempts = 0 WHERE id = ?";
+
+    private static final String FAILURE_SQL =
+            "UPDATE users SET failed_login_attempts = failed_login_attempts + ? WHERE id = ?";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxFailedAttempts;
+    private final ScheduledExecutorService flusher;
+
+    private final Map<Long, PendingActivity> pending = new ConcurrentHashMap<>();
+    private final Map<Long, FailureCounter> failedAttempts = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdByIdentifier = new ConcurrentHashMap<>();
+
+    public LoginActivityRecorder(UserRepository userRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${hrms.auth.max-failed-attempts:5}") int maxFailedAttempts,
+                                 @Value("${hrms.auth.activity.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("login-activity-"));
+        this.flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a successful login: queue the last-login timestamp and reset failed attempts
+     */
+    public void recordSuccess(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        failedAttempts.computeIfPresent(userId, (id, counter) -> new FailureCounter(0, false));
+        pending.compute(userId, (id, activity) -> {
+            PendingActivity updated = activity != null ? activity : new PendingActivity();
+            updated.lastLogin = now;
+            updated.failedDelta = 0;
+            return updated;
+        });
+    }
+
+    /**
+     * Record a failed login for a username or email and lock the account when the
+     * threshold is reached. Unknown identifiers are ignored.
+     *
+     * @return true if this failure locked the account
+     */
+    public boolean recordFailure(String identifier) {
+        Long userId = resolveUserId(identifier);
+        if (userId == null) {
+            return false;
+        }
+
+        pending.compute(userId, (id, activity) -> {
+            PendingActivity updated = activity != null ? activity : new PendingActivity();
+            updated.failedDelta++;
+            return updated;
+        });
+        FailureCounter counter = failedAttempts.get(userId);
+        if (counter == null) {
+            // Dropped by a concurrent failure; the next one re-seeds it
+            return false;
+        }
+        int attempts = counter.attempts.incrementAndGet();
+        logger.debug("Recorded failed login attempt for user: {} (Total: {})", identifier, attempts);
+
+        int state = counter.state.get();
+        if (state == FailureCounter.LOCKED) {
+            failedAttempts.remove(userId, counter);
+            return false;
+        }
+        // >= so a counter seeded at or above the threshold (e.g. after it was lowered) still locks
+        if (state == FailureCounter.OPEN && attempts >= maxFailedAttempts
+                && counter.state.compareAndSet(FailureCounter.OPEN, FailureCounter.LOCKING)) {
+            transactionTemplate.executeWithoutResult(status -> userRepository.lockAccount(userId));
+            counter.state.set(FailureCounter.LOCKED);
+            logger.warn("Account locked due to {} failed login attempts: {}", attempts, identifier);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Forget failed attempts for a user, e.g. after an administrator unlocks the account
+     */
+    public void clearFailures(Long userId) {
+        failedAttempts.computeIfPresent(userId, (id, counter) -> new FailureCounter(0, false));
+        pending.computeIfPresent(userId, (id, activity) -> {
+            activity.failedDelta = 0;
+            return activity.lastLogin != null ? activity : null;
+        });
+    }
+
+    /**
+     * Write all queued activity in batched UPDATEs
+     */
+    public void flush() {
+        Map<Long, PendingActivity> drained = new HashMap<>();
+        List<Object[]> successes = new ArrayList<>();
+        List<Object[]> failures = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            PendingActivity activity = pending.remove(userId);
+            if (activity == null) {
+                continue;
+            }
+            drained.put(userId, activity);
+            // Successes are applied first, so a reset followed by new failures keeps the failures
+            if (activity.lastLogin != null) {
+                successes.add(new Object[] {Timestamp.valueOf(activity.lastLogin), userId});
+            }
+            if (activity.failedDelta > 0) {
+                failures.add(new Object[] {activity.failedDelta, userId});
+            }
+        }
+        if (successes.isEmpty() && failures.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!successes.isEmpty()) {
+                    jdbcTemplate.batchUpdate(SUCCESS_SQL, successes);
+                }
+                if (!failures.isEmpty()) {
+                    jdbcTemplate.batchUpdate(FAILURE_SQL, failures);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Nothing was written; put the entries back under anything queued since
+            drained.forEach((userId, activity) -> pending.merge(userId, activity, PendingActivity::after));
+            throw e;
+        }
+        logger.debug("Flushed login activity: {} logins, {} users with failed attempts",
+                successes.size(), failures.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushSafely();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Error flushing login activity: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve a username or email to a user id, seeding the failed-attempt counter
+     * from the database when the user has none
+     */
+    private Long resolveUserId(String identifier) {
+        Long cached = userIdByIdentifier.get(identifier);
+        if (cached != null && failedAttempts.containsKey(cached)) {
+            return cached;
+        }
+
+        List<Object[]> rows = userRepository.findLoginStateByUsernameOrEmail(identifier);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Long userId = (Long) rows.get(0)[0];
+        Integer persistedAttempts = (Integer) rows.get(0)[1];
+        boolean locked = Boolean.FALSE.equals(rows.get(0)[2]);
+        failedAttempts.computeIfAbsent(userId,
+                id -> new FailureCounter(persistedAttempts != null ? persistedAttempts : 0, locked));
+        userIdByIdentifier.put(identifier, userId);
+        return userId;
+    }
+
+    /**
+     * Coalesced activity for one user since the last flush. Guarded by the pending map's compute.
+     */
+    private static final class PendingActivity {
+        private LocalDateTime lastLogin;
+        private int failedDelta;
+
+        /**
+         * Combine activity queued after earlier activity; a later success resets earlier failures
+         */
+        static PendingActivity after(PendingActivity later, PendingActivity earlier) {
+            if (later.lastLogin == null) {
+                later.lastLogin = earlier.lastLogin;
+                later.failedDelta += earlier.failedDelta;
+            }
+            return later;
+        }
+    }
+
+    /**
+     * Failed attempts since the last reset, and whether the account is open, being locked
+     * by a failure on this counter, or locked
+     */
+    private static final class FailureCounter {
+        private static final int OPEN = 0;
+        private static final int LOCKING = 1;
+        private static final int LOCKED = 2;
+
+        private final AtomicInteger attempts;
+        private final AtomicInteger state;
+
+        private FailureCounter(int attempts, boolean locked) {
+            this.attempts = new AtomicInteger(attempts);
+            this.state = new AtomicInteger(locked ? LOCKED : OPEN);
+        }
+    }
+}
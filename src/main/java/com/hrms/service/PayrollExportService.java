@@ -0,0 +1,272 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams payroll rows for a year or a single month as CSV or newline-delimited JSON.
+ *
+ * Rows are read through a forward-only, read-only JDBC cursor with a fixed fetch size
+ * (hrms.payroll.export.fetch-size) and written to the output as they arrive, with
+ * employee and department columns joined in SQL. No entities are loaded and nothing
+ * is buffered beyond one fetch, so heap use does not grow with the number of rows.
+ * MySQL only honours the fetch size with useCursorFetch=true on the JDBC URL.
+ */
+@Service
+public class PayrollExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollExportService.class);
+
+    private static final String EXPORT_SQL =
+            "SELECT p.id, p.year, p.month, e.id, e.name, e.email, e.position, d.id, d.name, " +
+            "p.total_salary, p.deductions, p.bonuses, p.net_pay, p.working_days, p.leave_days_taken " +
+            "FROM payrolls p JOIN employees e ON e.id = p.employee_id " +
+            "LEFT JOIN departments d ON d.id = e.department_id WHERE p.year = ?";
+
+    private static final String[] COLUMNS = {
+            "payrollId", "year", "month", "employeeId", "employeeName", "employeeEmail", "position",
+            "departmentId", "departmentName", "totalSalary", "deductions", "bonuses", "netPay",
+            "workingDays", "leaveDaysTaken"
+    };
+
+    /**
+     * Supported export formats
+     */
+    public enum ExportFormat {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        ExportFormat(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static ExportFormat from(String value) {
+            for (ExportFormat format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + value + " (use csv or ndjson)");
+        }
+    }
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public PayrollExportService(DataSource dataSource,
+                                ObjectMapper objectMapper,
+                                @Value("${hrms.payroll.export.fetch-size:1000}") int fetchSize) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Validate export parameters before the response is committed
+     */
+    public void validatePeriod(Integer month, Integer year) {
+        if (year == null || year < 2000) {
+            throw new BadRequestException("Year must be 2000 or later");
+        }
+        if (month != null && (month < 1 || month > 12)) {
+            throw new BadRequestException("Month must be between 1 and 12");
+        }
+    }
+
+    /**
+     * Write all payrolls of a year, or of one month when month is not null, to the output stream.
+     * Runs read-only so the cursor holds a connection from the read pool, not the write pool
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Integer month, Integer year, ExportFormat format, OutputStream out) throws IOException {
+        validatePeriod(month, year);
+
+        List<Object> params = new ArrayList<>(2);
+        params.add(year);
+        String sql = EXPORT_SQL;
+        if (month != null) {
+            sql += " AND p.month = ?";
+            params.add(month);
+        }
+        sql += " ORDER BY p.month, p.id";
+
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long[] rows = {0};
+        try {
+            writer.start();
+            cursorJdbcTemplate.query(sql, rs -> {
+                writer.write(rs);
+                rows[0]++;
+            }, params.toArray());
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            // The client went away mid-download; stop reading from the cursor
+            logger.warn("Payroll export for {} aborted after {} rows: {}", period(month, year), rows[0],
+                    e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        logger.info("Exported {} payroll rows for {} as {}", rows[0], period(month, year), format);
+        return rows[0];
+    }
+
+    private static String period(Integer month, Integer year) {
+        return month != null ? month + "/" + year : String.valueOf(year);
+    }
+
+    // Row writers
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet rs) throws SQLException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final BufferedWriter writer;
+
+        CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            try {
+                for (int i = 1; i <= COLUMNS.length; i++) {
+                    if (i > 1) {
+                        writer.write(',');
+                    }
+                    Object value = rs.getObject(i);
+                    if (value != null) {
+                        writer.write(escape(value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString()));
+                    }
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final OutputStream out;
+        private JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonRowWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField(COLUMNS[0], rs.getLong(1));
+                generator.writeNumberField(COLUMNS[1], rs.getInt(2));
+                generator.writeNumberField(COLUMNS[2], rs.getInt(3));
+                generator.writeNumberField(COLUMNS[3], rs.getLong(4));
+                generator.writeStringField(COLUMNS[4], rs.getString(5));
+                generator.writeStringField(COLUMNS[5], rs.getString(6));
+                generator.writeStringField(COLUMNS[6], rs.getString(7));
+                writeNullableLong(COLUMNS[7], rs.getObject(8));
+                generator.writeStringField(COLUMNS[8], rs.getString(9));
+                for (int i = 10; i <= 13; i++) {
+                    generator.writeFieldName(COLUMNS[i - 1]);
+                    BigDecimal amount = rs.getBigDecimal(i);
+                    if (amount != null) {
+                        generator.writeNumber(amount);
+                    } else {
+                        generator.writeNull();
+                    }
+                }
+                writeNullableLong(COLUMNS[13], rs.getObject(14));
+                writeNullableLong(COLUMNS[14], rs.getObject(15));
+                generator.writeEndObject();
+                empty = false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+
+        private void writeNullableLong(String field, Object value) throws IOException {
+            if (value instanceof Number number) {
+                generator.writeNumberField(field, number.longValue());
+            } else {
+                generator.writeNullField(field);
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.hrms.service;
+
+import com.hrms.entity.Payroll;
+import com.hrms.entity.PayrollRun;
+import com.hrms.entity.PayrollRun.RunStatus;
+import com.hrms.exception.BadRequestException;
+import com.hrms.exception.DuplicateResourceException;
+import com.hrms.exception.ResourceNotFoundException;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.repository.PayrollRepository;
+import com.hrms.repository.PayrollRunRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk month-end payroll run engine.
+ *
+ * A run walks the workforce for a period in keyset-ordered chunks of employee ids.
+ * Approved leave days for the period are aggregated once per run in a single range scan.
+ * Each chunk is processed in its own transaction:
+ * 1. Load [id, salary, departmentId] for the next chunk of employees
+ * 2. Look up existing payrolls for the whole chunk at once
+ * 3. Compute payroll rows on a bounded worker pool
+ * 4. Write the rows with a JDBC batch insert, add them to the payroll summaries
+ *    and advance the run cursor
+ *
+ * Because the cursor is committed together with the chunk, a failed or interrupted
+ * run can be resumed from its last committed chunk without producing duplicates.
+ */
+@Service
+public class PayrollRunService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollRunService.class);
+
+    private static final String INSERT_PAYROLL_SQL =
+            "INSERT INTO payrolls (id, employee_id, month, year, total_salary, deductions, bonuses, net_pay, " +
+            "working_days, leave_days_taken, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<RunStatus> ACTIVE_STATUSES = List.of(RunStatus.PENDING, RunStatus.RUNNING);
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final EmployeeRepository employeeRepository;
+    private final PayrollRepository payrollRepository;
+    private final PayrollService payrollService;
+    private final PayrollSummaryService payrollSummaryService;
+    private final LeaveRequestService leaveRequestService;
+    private final IdBlockAllocator idBlockAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int workerThreads;
+    private final ExecutorService runExecutor;
+    private final ThreadPoolExecutor workerPool;
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public PayrollRunService(PayrollRunRepository payrollRunRepository,
+                             EmployeeRepository employeeRepository,
+                             PayrollRepository payrollRepository,
+                             PayrollService payrollService,
+                             PayrollSummaryService payrollSummaryService,
+                             LeaveRequestService leaveRequestService,
+                             IdBlockAllocator idBlockAllocator,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${hrms.payroll.run.chunk-size:500}") int chunkSize,
+                             @Value("${hrms.payroll.run.worker-threads:4}") int workerThreads) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.employeeRepository = employeeRepository;
+        this.payrollRepository = payrollRepository;
+        this.payrollService = payrollService;
+        this.payrollSummaryService = payrollSummaryService;
+        this.leaveRequestService = leaveRequestService;
+        this.idBlockAllocator = idBlockAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.workerThreads = workerThreads;
+        this.runExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("payroll-run-"));
+        // Bounded queue with caller-runs back-pressure so a chunk never queues unbounded work
+        this.workerPool = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerThreads * 4),
+                new CustomizableThreadFactory("payroll-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Start a new payroll run for the whole workforce for a month and year
+     */
+    public PayrollRun startRun(Integer month, Integer year) {
+        payrollService.validateMonthAndYear(month, year);
+
+        if (payrollRunRepository.existsByMonthAndYearAndStatusIn(month, year, ACTIVE_STATUSES)) {
+            throw new DuplicateResourceException(
+                String.format("A payroll run for %d/%d is already in progress or awaiting resume", month, year));
+        }
+
+        PayrollRun run = new PayrollRun(month, year, chunkSize);
+        run.setTotalEmployees(employeeRepository.countByDateOfJoiningLessThanEqual(periodEnd(month, year)));
+        run = payrollRunRepository.save(run);
+
+        submit(run.getId());
+        return run;
+    }
+
+    /**
+     * Resume a failed or interrupted payroll run from its last committed chunk
+     */
+    public PayrollRun resumeRun(Long runId) {
+        PayrollRun run = getRunById(runId);
+
+        if (run.isCompleted()) {
+            throw new BadRequestException("Payroll run " + runId + " is already completed");
+        }
+
+        submit(runId);
+        return run;
+    }
+
+    /**
+     * Get payroll run by id
+     */
+    public PayrollRun getRunById(Long runId) {
+        return payrollRunRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payroll Run", "id", runId));
+    }
+
+    /**
+     * Get payroll runs for a month and year
+     */
+    public List<PayrollRun> getRunsByPeriod(Integer month, Integer year) {
+        return payrollRunRepository.findByMonthAndYearOrderByCreatedAtDesc(month, year);
+    }
+
+    /**
+     * Get most recent payroll runs
+     */
+    public List<PayrollRun> getRecentRuns() {
+        return payrollRunRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    // Run execution
+
+    private void submit(Long runId) {
+        if (!activeRuns.add(runId)) {
+            throw new BadRequestException("Payroll run " + runId + " is already executing");
+        }
+        runExecutor.execute(() -> {
+            try {
+                execute(runId);
+            } finally {
+                activeRuns.remove(runId);
+            }
+        });
+    }
+
+    private void execute(Long runId) {
+        PayrollRun run = getRunById(runId);
+        run.setStatus(RunStatus.RUNNING);
+        run.setErrorMessage(null);
+        if (run.getStartedAt() == null) {
+            run.setStartedAt(LocalDateTime.now());
+        }
+        run = payrollRunRepository.save(run);
+
+        LocalDate periodEnd = periodEnd(run.getMonth(), run.getYear());
+        logger.info("Payroll run {} started for {} from employee id > {}",
+                runId, run.getPayrollPeriod(), run.getLastEmployeeId());
+
+        try {
+            final PayrollRun current = run;
+            Map<Long, Long> leaveDays = leaveRequestService.getApprovedLeaveDaysByPeriod(run.getYear(), run.getMonth());
+            int processed;
+            do {
+                Integer chunk = transactionTemplate.execute(status -> processChunk(current, periodEnd, leaveDays));
+                processed = chunk != null ? chunk : 0;
+            } while (processed == current.getChunkSize());
+
+            current.setStatus(RunStatus.COMPLETED);
+            current.setFinishedAt(LocalDateTime.now());
+            payrollRunRepository.save(current);
+
+            logger.info("Payroll run {} completed: {} processed, {} created, {} skipped ({} employees/s)",
+                    runId, current.getProcessedEmployees(), current.getCreatedCount(),
+                    current.getSkippedCount(), String.format("%.1f", current.getThroughputPerSecond()));
+        } catch (Exception e) {
+            logger.error("Payroll run {} failed after {} committed chunks: {}",
+                    runId, run.getCommittedChunks(), e.getMessage(), e);
+            markFailed(runId, e);
+        }
+    }
+
+    /**
+     * Process one chunk inside the caller's transaction and advance the run cursor.
+     *
+     * @return number of employees in the chunk
+     */
+    private int processChunk(PayrollRun run, LocalDate periodEnd, Map<Long, Long> leaveDays) {
+        List<Object[]> employees = employeeRepository.findPayrollChunk(
+                run.getLastEmployeeId(), periodEnd, PageRequest.of(0, run.getChunkSize()));
+        if (employees.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> employeeIds = new ArrayList<>(employees.size());
+        for (Object[] employee : employees) {
+            employeeIds.add((Long) employee[0]);
+        }
+
+        Set<Long> existing = new HashSet<>(
+                payrollRepository.findEmployeeIdsWithPayroll(employeeIds, run.getMonth(), run.getYear()));
+        List<PayrollRow> rows = computeRows(employees, existing, leaveDays, run.getMonth(), run.getYear());
+        insertRows(rows, run.getChunkSize());
+        payrollSummaryService.recordCreated(rows.stream()
+                .map(row -> PayrollSummaryService.Contribution.of(row.payroll(), row.departmentId()))
+                .toList());
+
+        run.recordChunk(employeeIds.get(employeeIds.size() - 1), employees.size(), rows.size(), existing.size());
+        payrollRunRepository.save(run);
+        return employees.size();
+    }
+
+    private List<PayrollRow> computeRows(List<Object[]> employees, Set<Long> existing,
+                                         Map<Long, Long> leaveDays, int month, int year) {
+        int sliceSize = Math.max(1, (employees.size() + workerThreads - 1) / workerThreads);
+        List<Future<List<PayrollRow>>> slices = new ArrayList<>();
+        for (int from = 0; from < employees.size(); from += sliceSize) {
+            List<Object[]> slice = employees.subList(from, Math.min(from + sliceSize, employees.size()));
+            slices.add(workerPool.submit(() -> computeSlice(slice, existing, leaveDays, month, year)));
+        }
+
+        List<PayrollRow> rows = new ArrayList<>(employees.size());
+        for (Future<List<PayrollRow>> slice : slices) {
+            try {
+                rows.addAll(slice.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Payroll run interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Payroll computation failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return rows;
+    }
+
+    private static List<PayrollRow> computeSlice(List<Object[]> slice, Set<Long> existing,
+                                                 Map<Long, Long> leaveDays, int month, int year) {
+        List<PayrollRow> rows = new ArrayList<>(slice.size());
+        for (Object[] employee : slice) {
+            Long employeeId = (Long) employee[0];
+            if (existing.contains(employeeId)) {
+                continue;
+            }
+            Payroll payroll = new Payroll(month, year, (BigDecimal) employee[1], null);
+            payroll.setLeaveDaysTaken(leaveDays.getOrDefault(employeeId, 0L).intValue());
+            rows.add(new PayrollRow(employeeId, (Long) employee[2], payroll));
+        }
+        return rows;
+    }
+
+    private void insertRows(List<PayrollRow> rows, int batchSize) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long nextId = idBlockAllocator.reserve("payrolls", rows.size());
+        for (PayrollRow row : rows) {
+            row.payroll().setId(nextId++);
+        }
+        jdbcTemplate.batchUpdate(INSERT_PAYROLL_SQL, rows, batchSize, (ps, row) -> {
+            Payroll payroll = row.payroll();
+            ps.setLong(1, payroll.getId());
+            ps.setLong(2, row.employeeId());
+            ps.setInt(3, payroll.getMonth());
+            ps.setInt(4, payroll.getYear());
+            ps.setBigDecimal(5, payroll.getTotalSalary());
+            ps.setBigDecimal(6, payroll.getDeductions());
+            ps.setBigDecimal(7, payroll.getBonuses());
+            ps.setBigDecimal(8, payroll.getNetPay());
+            ps.setNull(9, Types.INTEGER);
+            ps.setInt(10, payroll.getLeaveDaysTaken());
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+    }
+
+    private void markFailed(Long runId, Exception e) {
+        try {
+            PayrollRun failed = getRunById(runId);
+            failed.setStatus(RunStatus.FAILED);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            failed.setErrorMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+            payrollRunRepository.save(failed);
+        } catch (Exception saveError) {
+            logger.error("Could not mark payroll run {} as failed: {}", runId, saveError.getMessage());
+        }
+    }
+
+    private static LocalDate periodEnd(int month, int year) {
+        return YearMonth.of(year, month).atEndOfMonth();
+    }
+
+    private record PayrollRow(Long employeeId, Long departmentId, Payroll payroll) {
+    }
+}
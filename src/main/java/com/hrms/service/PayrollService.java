@@ -1,5 +1,6 @@
 package com.hrms.service;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.Payroll;
 import com.hrms.entity.Employee;
 import com.hrms.exception.ResourceNotFoundException;
@@ -22,14 +23,20 @@ public class PayrollService {
     private final PayrollRepository payrollRepository;
     private final EmployeeService employeeService;
     private final LeaveRequestService leaveRequestService;
+    private final KeysetPaginator keysetPaginator;
+    private final PayrollSummaryService payrollSummaryService;
     
     @Autowired
     public PayrollService(PayrollRepository payrollRepository, 
                          EmployeeService employeeService,
-                         LeaveRequestService leaveRequestService) {
+                         LeaveRequestService leaveRequestService,
+                         KeysetPaginator keysetPaginator,
+                         PayrollSummaryService payrollSummaryService) {
         this.payrollRepository = payrollRepository;
         this.employeeService = employeeService;
         this.leaveRequestService = leaveRequestService;
+        this.keysetPaginator = keysetPaginator;
+        this.payrollSummaryService = payrollSummaryService;
     }
     
     /**
@@ -40,6 +47,28 @@ public class PayrollService {
         return payrollRepository.findRecentPayrolls();
     }
     
+    /**
+     * Get a page of payroll records, most recent period first, continuing after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Payroll> getPayrollsPage(String cursor, Integer size) {
+        int pageSize = keysetPaginator.resolvePageSize(size);
+        List<Payroll> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = payrollRepository.findFirstRecentPage(keysetPaginator.lookAhead(pageSize));
+        } else {
+            // Cursor parts: [year, month, id]
+            String[] parts = keysetPaginator.decode(cursor, 3);
+            rows = payrollRepository.findRecentPageBefore(
+                    (int) keysetPaginator.parseLong(parts[0]),
+                    (int) keysetPaginator.parseLong(parts[1]),
+                    keysetPaginator.parseLong(parts[2]),
+                    keysetPaginator.lookAhead(pageSize));
+        }
+        return keysetPaginator.toPage(rows, pageSize,
+                p -> keysetPaginator.encode(p.getYear(), p.getMonth(), p.getId()));
+    }
+    
     /**
      * Get payroll by id
      */
@@ -88,7 +117,9 @@ public class PayrollService {
             payroll.setBonuses(BigDecimal.ZERO);
         }
         
-        return payrollRepository.save(payroll);
+        Payroll savedPayroll = payrollRepository.save(payroll);
+        payrollSummaryService.recordCreated(savedPayroll);
+        return savedPayroll;
     }
     
     /**
@@ -96,6 +127,7 @@ public class PayrollService {
      */
     public Payroll updatePayroll(Long id, Payroll payrollDetails) {
         Payroll payroll = getPayrollById(id);
+        PayrollSummaryService.Contribution previous = PayrollSummaryService.Contribution.of(payroll);
         
         // Validate month and year if being updated
         if (payrollDetails.getMonth() != null || payrollDetails.getYear() != null) {
@@ -142,7 +174,9 @@ public class PayrollService {
             payroll.setLeaveDaysTaken(payrollDetails.getLeaveDaysTaken());
         }
         
-        return payrollRepository.save(payroll);
+        Payroll savedPayroll = payrollRepository.save(payroll);
+        payrollSummaryService.recordUpdated(previous, savedPayroll);
+        return savedPayroll;
     }
     
     /**
@@ -150,6 +184,7 @@ public class PayrollService {
      */
     public void deletePayroll(Long id) {
         Payroll payroll = getPayrollById(id);
+        payrollSummaryService.recordDeleted(payroll);
         payrollRepository.delete(payroll);
     }
     
@@ -173,7 +208,9 @@ public class PayrollService {
         Long leaveDays = leaveRequestService.getApprovedLeaveDaysCount(employeeId, year, month);
         payroll.setLeaveDaysTaken(leaveDays.intValue());
         
-        return payrollRepository.save(payroll);
+        Payroll savedPayroll = payrollRepository.save(payroll);
+        payrollSummaryService.recordCreated(savedPayroll);
+        return savedPayroll;
     }
     
     /**
@@ -210,6 +247,27 @@ public class PayrollService {
         return payrollRepository.findByYear(year);
     }
     
+    /**
+     * Get a page of payroll records for a year, latest month first, continuing after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Payroll> getPayrollsByYearPage(Integer year, String cursor, Integer size) {
+        int pageSize = keysetPaginator.resolvePageSize(size);
+        List<Payroll> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = payrollRepository.findFirstPageByYear(year, keysetPaginator.lookAhead(pageSize));
+        } else {
+            // Cursor parts: [month, id]
+            String[] parts = keysetPaginator.decode(cursor, 2);
+            rows = payrollRepository.findPageByYearBefore(year,
+                    (int) keysetPaginator.parseLong(parts[0]),
+                    keysetPaginator.parseLong(parts[1]),
+                    keysetPaginator.lookAhead(pageSize));
+        }
+        return keysetPaginator.toPage(rows, pageSize,
+                p -> keysetPaginator.encode(p.getMonth(), p.getId()));
+    }
+    
     /**
      * Get payroll records by employee and year
      */
@@ -227,43 +285,43 @@ public class PayrollService {
     }
     
     /**
-     * Get total payroll cost by department
+     * Get total payroll cost by department (served from the payroll summaries)
      */
     @Transactional(readOnly = true)
     public List<Object[]> getTotalPayrollByDepartment(Integer month, Integer year) {
-        return payrollRepository.getTotalPayrollByDepartment(month, year);
+        return payrollSummaryService.getTotalPayrollByDepartment(month, year);
     }
     
     /**
-     * Get total payroll cost for period
+     * Get total payroll cost for period (served from the payroll summaries)
      */
     @Transactional(readOnly = true)
     public BigDecimal getTotalPayrollCost(Integer month, Integer year) {
-        return payrollRepository.getTotalPayrollCost(month, year);
+        return payrollSummaryService.getTotalPayrollCost(month, year);
     }
     
     /**
-     * Get average salary by department
+     * Get average salary by department (served from the payroll summaries)
      */
     @Transactional(readOnly = true)
     public List<Object[]> getAverageSalaryByDepartment() {
-        return payrollRepository.getAverageSalaryByDepartment();
+        return payrollSummaryService.getAverageSalaryByDepartment();
     }
     
     /**
-     * Get payroll statistics for a year
+     * Get payroll statistics for a year (served from the payroll summaries)
      */
     @Transactional(readOnly = true)
     public Object[] getPayrollStatisticsByYear(Integer year) {
-        return payrollRepository.getPayrollStatisticsByYear(year);
+        return payrollSummaryService.getPayrollStatisticsByYear(year);
     }
     
     /**
-     * Get monthly payroll trends for a year
+     * Get monthly payroll trends for a year (served from the payroll summaries)
      */
     @Transactional(readOnly = true)
     public List<Object[]> getMonthlyPayrollTrends(Integer year) {
-        return payrollRepository.getMonthlyPayrollTrends(year);
+        return payrollSummaryService.getMonthlyPayrollTrends(year);
     }
     
     /**
@@ -279,7 +337,7 @@ public class PayrollService {
     
     // Validation methods
     
-    private void validateMonthAndYear(Integer month, Integer year) {
+    void validateMonthAndYear(Integer month, Integer year) {
         if (month == null || month < 1 || month > 12) {
             throw new BadRequestException("Month must be between 1 and 12");
         }
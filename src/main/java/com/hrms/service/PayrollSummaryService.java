@@ -0,0 +1,426 @@
+package com.hrms.service;
+
+import com.hrms.entity.Department;
+import com.hrms.entity.Payroll;
+import com.hrms.entity.PayrollSummary;
+import com.hrms.repository.PayrollSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maintains the payroll_summaries table and serves payroll reports from it.
+ *
+ * Every payroll write applies a signed delta (count, salary, deductions, bonuses,
+ * net pay) to the summary row for its (year, month, department) with an atomic
+ * upsert, in the same transaction as the write itself: INSERT ... ON DUPLICATE KEY
+ * UPDATE on MySQL and a standard MERGE on other databases (H2 in tests and benchmarks).
+ * Payrolls are attributed to
+ * the employee's current department, as the join-based reports did, so moving or
+ * deleting an employee moves or removes their contributions too.
+ *
+ * A reconciliation job compares the summaries against an aggregate of the payrolls
+ * table on hrms.payroll.summary.reconcile-cron and rebuilds any period that drifted
+ * when hrms.payroll.summary.reconcile-repair is enabled. Mismatched periods are
+ * counted in hrms.payroll.summary.mismatches.
+ */
+@Service
+@Transactional
+public class PayrollSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollSummaryService.class);
+
+    private static final String MYSQL_UPSERT_SQL =
+            "INSERT INTO payroll_summaries (year, month, department_id, payroll_count, total_salary, " +
+            "total_deductions, total_bonuses, total_net_pay, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE payroll_count = payroll_count + new.payroll_count, " +
+            "total_salary = total_salary + new.total_salary, " +
+            "total_deductions = total_deductions + new.total_deductions, " +
+            "total_bonuses = total_bonuses + new.total_bonuses, " +
+            "total_net_pay = total_net_pay + new.total_net_pay, " +
+            "updated_at = new.updated_at";
+
+    private static final String MERGE_SQL =
+            "MERGE INTO payroll_summaries s USING (SELECT CAST(? AS INTEGER) AS year, CAST(? AS INTEGER) AS month, " +
+            "CAST(? AS BIGINT) AS department_id, CAST(? AS BIGINT) AS payroll_count, " +
+            "CAST(? AS DECIMAL(15, 2)) AS total_salary, CAST(? AS DECIMAL(15, 2)) AS total_deductions, " +
+            "CAST(? AS DECIMAL(15, 2)) AS total_bonuses, CAST(? AS DECIMAL(15, 2)) AS total_net_pay, " +
+            "CAST(? AS TIMESTAMP) AS updated_at) d " +
+            "ON s.year = d.year AND s.month = d.month AND s.department_id = d.department_id " +
+            "WHEN MATCHED THEN UPDATE SET payroll_count = s.payroll_count + d.payroll_count, " +
+            "total_salary = s.total_salary + d.total_salary, " +
+            "total_deductions = s.total_deductions + d.total_deductions, " +
+            "total_bonuses = s.total_bonuses + d.total_bonuses, " +
+            "total_net_pay = s.total_net_pay + d.total_net_pay, " +
+            "updated_at = d.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (year, month, department_id, payroll_count, total_salary, " +
+            "total_deductions, total_bonuses, total_net_pay, updated_at) VALUES (d.year, d.month, d.department_id, " +
+            "d.payroll_count, d.total_salary, d.total_deductions, d.total_bonuses, d.total_net_pay, d.updated_at)";
+
+    private static final String BASE_AGGREGATE_SQL =
+            "SELECT p.year, p.month, COALESCE(e.department_id, 0), COUNT(*), SUM(p.total_salary), " +
+            "COALESCE(SUM(p.deductions), 0), COALESCE(SUM(p.bonuses), 0), COALESCE(SUM(p.net_pay), 0) " +
+            "FROM payrolls p JOIN employees e ON e.id = p.employee_id";
+
+    private static final String BASE_GROUP_BY = " GROUP BY p.year, p.month, COALESCE(e.department_id, 0)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO payroll_summaries (year, month, department_id, payroll_count, total_salary, " +
+            "total_deductions, total_bonuses, total_net_pay, updated_at) " +
+            "SELECT p.year, p.month, COALESCE(e.department_id, 0), COUNT(*), SUM(p.total_salary), " +
+            "COALESCE(SUM(p.deductions), 0), COALESCE(SUM(p.bonuses), 0), COALESCE(SUM(p.net_pay), 0), " +
+            "CURRENT_TIMESTAMP FROM payrolls p JOIN employees e ON e.id = p.employee_id";
+
+    private static final String SUMMARY_SQL =
+            "SELECT year, month, department_id, payroll_count, total_salary, total_deductions, total_bonuses, " +
+            "total_net_pay FROM payroll_summaries";
+
+    private final PayrollSummaryRepository payrollSummaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String upsertSql;
+    private final boolean repair;
+    private final Counter mismatches;
+
+    @Autowired
+    public PayrollSummaryService(PayrollSummaryRepository payrollSummaryRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.datasource.url:}") String datasourceUrl,
+                                 @Value("${hrms.payroll.summary.reconcile-repair:true}") boolean repair) {
+        this.payrollSummaryRepository = payrollSummaryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.upsertSql = datasourceUrl.startsWith("jdbc:mysql:") ? MYSQL_UPSERT_SQL : MERGE_SQL;
+        this.repair = repair;
+        this.mismatches = Counter.builder("hrms.payroll.summary.mismatches")
+                .description("Payroll summary periods that did not match the payrolls table")
+                .register(meterRegistry);
+    }
+
+    // Incremental maintenance
+
+    /**
+     * Add a newly created payroll to its summary row
+     */
+    public void recordCreated(Payroll payroll) {
+        apply(List.of(Contribution.of(payroll)), 1);
+    }
+
+    /**
+     * Move a payroll's contribution from its state before an update to its current state
+     */
+    public void recordUpdated(Contribution before, Payroll after) {
+        apply(List.of(before), -1);
+        apply(List.of(Contribution.of(after)), 1);
+    }
+
+    /**
+     * Remove a payroll that is about to be deleted from its summary row
+     */
+    public void recordDeleted(Payroll payroll) {
+        apply(List.of(Contribution.of(payroll)), -1);
+    }
+
+    /**
+     * Add payrolls inserted in bulk, e.g. by a payroll run chunk
+     */
+    public void recordCreated(List<Contribution> contributions) {
+        apply(contributions, 1);
+    }
+
+    /**
+     * Move all payrolls of an employee from one department to another
+     */
+    public void moveEmployee(Long employeeId, Long fromDepartmentId, Long toDepartmentId) {
+        if (Objects.equals(fromDepartmentId, toDepartmentId)) {
+            return;
+        }
+        List<Contribution> contributions = employeeContributions(employeeId, fromDepartmentId);
+        apply(contributions, -1);
+        apply(contributions.stream().map(c -> c.withDepartment(toDepartmentId)).toList(), 1);
+    }
+
+    /**
+     * Remove all payrolls of an employee that is about to be deleted
+     */
+    public void removeEmployee(Long employeeId, Long departmentId) {
+        apply(employeeContributions(employeeId, departmentId), -1);
+    }
+
+    // Reports
+
+    /**
+     * Get [department name, total net pay] for a period
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getTotalPayrollByDepartment(Integer month, Integer year) {
+        return payrollSummaryRepository.getTotalPayrollByDepartment(month, year);
+    }
+
+    /**
+     * Get total net pay for a period
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalPayrollCost(Integer month, Integer year) {
+        return payrollSummaryRepository.getTotalPayrollCost(month, year);
+    }
+
+    /**
+     * Get [department name, average salary] across all periods
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getAverageSalaryByDepartment() {
+        List<Object[]> totals = payrollSummaryRepository.getSalaryTotalsByDepartment();
+        List<Object[]> averages = new ArrayList<>(totals.size());
+        for (Object[] row : totals) {
+            averages.add(new Object[] {row[0], average((BigDecimal) row[1], (Long) row[2])});
+        }
+        return averages;
+    }
+
+    /**
+     * Get [count, total salary, average salary, total deductions, total bonuses, total net pay] for a year
+     */
+    @Transactional(readOnly = true)
+    public Object[] getPayrollStatisticsByYear(Integer year) {
+        Object[] totals = payrollSummaryRepository.getTotalsByYear(year);
+        if (totals.length == 1 && totals[0] instanceof Object[] row) {
+            totals = row;
+        }
+        long count = totals[0] != null ? (Long) totals[0] : 0L;
+        if (count == 0) {
+            return new Object[] {0L, null, null, null, null, null};
+        }
+        BigDecimal totalSalary = (BigDecimal) totals[1];
+        return new Object[] {count, totalSalary, average(totalSalary, count), totals[2], totals[3], totals[4]};
+    }
+
+    /**
+     * Get [month, count, total net pay] for each month of a year
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getMonthlyPayrollTrends(Integer year) {
+        return payrollSummaryRepository.getMonthlyPayrollTrends(year);
+    }
+
+    // Reconciliation
+
+    /**
+     * Build the summaries from the payrolls table when they are empty, e.g. after a schema upgrade
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initializeSummaries() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (payrollSummaryRepository.count() == 0) {
+                int rows = jdbcTemplate.update(REBUILD_SQL + BASE_GROUP_BY);
+                if (rows > 0) {
+                    logger.info("Built {} payroll summary rows from the payrolls table", rows);
+                }
+            }
+        });
+    }
+
+    /**
+     * Compare every summary row with the payrolls table and rebuild periods that drifted
+     *
+     * @return number of mismatched (year, month) periods
+     */
+    @Scheduled(cron = "${hrms.payroll.summary.reconcile-cron:0 30 2 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconcile() {
+        Map<Key, Totals> expected = load(BASE_AGGREGATE_SQL + BASE_GROUP_BY);
+        Map<Key, Totals> actual = load(SUMMARY_SQL);
+        // Rows whose payrolls were all deleted are left at zero and are equivalent to no row
+        actual.values().removeIf(Totals::isEmpty);
+
+        Set<Key> keys = new TreeSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        Set<Period> drifted = new TreeSet<>();
+        for (Key key : keys) {
+            if (!Objects.equals(expected.get(key), actual.get(key))) {
+                drifted.add(new Period(key.year(), key.month()));
+            }
+        }
+
+        if (drifted.isEmpty()) {
+            logger.info("Payroll summaries reconciled: {} rows match the payrolls table", expected.size());
+            return 0;
+        }
+
+        mismatches.increment(drifted.size());
+        logger.warn("Payroll summaries out of sync for {} period(s): {}", drifted.size(), drifted);
+        if (repair) {
+            drifted.forEach(this::rebuildPeriod);
+            logger.info("Rebuilt payroll summaries for {} period(s)", drifted.size());
+        }
+        return drifted.size();
+    }
+
+    private void rebuildPeriod(Period period) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM payroll_summaries WHERE year = ? AND month = ?",
+                    period.year(), period.month());
+            jdbcTemplate.update(REBUILD_SQL + " WHERE p.year = ? AND p.month = ?" + BASE_GROUP_BY,
+                    period.year(), period.month());
+        });
+    }
+
+    private Map<Key, Totals> load(String sql) {
+        Map<Key, Totals> rows = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            rows.put(new Key(rs.getInt(1), rs.getInt(2), rs.getLong(3)),
+                    new Totals(rs.getLong(4), scaled(rs.getBigDecimal(5)), scaled(rs.getBigDecimal(6)),
+                            scaled(rs.getBigDecimal(7)), scaled(rs.getBigDecimal(8))));
+        });
+        return rows;
+    }
+
+    // Delta application
+
+    private List<Contribution> employeeContributions(Long employeeId, Long departmentId) {
+        long department = departmentId != null ? departmentId : PayrollSummary.NO_DEPARTMENT;
+        return jdbcTemplate.query(
+                "SELECT year, month, COUNT(*), SUM(total_salary), COALESCE(SUM(deductions), 0), " +
+                "COALESCE(SUM(bonuses), 0), COALESCE(SUM(net_pay), 0) FROM payrolls WHERE employee_id = ? " +
+                "GROUP BY year, month",
+                (rs, rowNum) -> new Contribution(rs.getInt(1), rs.getInt(2), department, rs.getLong(3),
+                        rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getBigDecimal(6), rs.getBigDecimal(7)),
+                employeeId);
+    }
+
+    private void apply(List<Contribution> contributions, int sign) {
+        if (contributions.isEmpty()) {
+            return;
+        }
+        // Merge contributions for the same summary row so each row is upserted once
+        Map<Key, Contribution> merged = new LinkedHashMap<>();
+        for (Contribution contribution : contributions) {
+            merged.merge(contribution.key(), contribution, Contribution::plus);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(merged.size());
+        for (Contribution c : merged.values()) {
+            batch.add(new Object[] {c.year(), c.month(), c.departmentId(), sign * c.count(),
+                    signed(c.salary(), sign), signed(c.deductions(), sign), signed(c.bonuses(), sign),
+                    signed(c.netPay(), sign), now});
+        }
+        jdbcTemplate.batchUpdate(upsertSql, batch);
+    }
+
+    private static BigDecimal signed(BigDecimal amount, int sign) {
+        return sign < 0 ? amount.negate() : amount;
+    }
+
+    private static BigDecimal scaled(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO.setScale(2);
+    }
+
+    private static Double average(BigDecimal total, long count) {
+        return total != null && count > 0 ? total.doubleValue() / count : null;
+    }
+
+    /**
+     * One payroll's (or a group of payrolls') contribution to a summary row
+     */
+    public record Contribution(int year, int month, long departmentId, long count,
+                               BigDecimal salary, BigDecimal deductions, BigDecimal bonuses, BigDecimal netPay) {
+
+        /**
+         * Snapshot a payroll's current contribution, attributed to its employee's current department
+         */
+        public static Contribution of(Payroll payroll) {
+            Department department = payroll.getEmployee() != null ? payroll.getEmployee().getDepartment() : null;
+            return of(payroll, department != null ? department.getId() : null);
+        }
+
+        public static Contribution of(Payroll payroll, Long departmentId) {
+            payroll.calculateNetPay();
+            return new Contribution(payroll.getYear(), payroll.getMonth(),
+                    departmentId != null ? departmentId : PayrollSummary.NO_DEPARTMENT, 1,
+                    orZero(payroll.getTotalSalary()), orZero(payroll.getDeductions()),
+                    orZero(payroll.getBonuses()), orZero(payroll.getNetPay()));
+        }
+
+        Contribution withDepartment(Long newDepartmentId) {
+            return new Contribution(year, month,
+                    newDepartmentId != null ? newDepartmentId : PayrollSummary.NO_DEPARTMENT,
+                    count, salary, deductions, bonuses, netPay);
+        }
+
+        Contribution plus(Contribution other) {
+            return new Contribution(year, month, departmentId, count + other.count,
+                    salary.add(other.salary), deductions.add(other.deductions),
+                    bonuses.add(other.bonuses), netPay.add(other.netPay));
+        }
+
+        Key key() {
+            return new Key(year, month, departmentId);
+        }
+
+        private static BigDecimal orZero(BigDecimal amount) {
+            return amount != null ? amount : BigDecimal.ZERO;
+        }
+    }
+
+    private record Key(int year, int month, long departmentId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byYear = Integer.compare(year, other.year);
+            if (byYear != 0) {
+                return byYear;
+            }
+            int byMonth = Integer.compare(month, other.month);
+            return byMonth != 0 ? byMonth : Long.compare(departmentId, other.departmentId);
+        }
+    }
+
+    private record Period(int year, int month) implements Comparable<Period> {
+        @Override
+        public int compareTo(Period other) {
+            int byYear = Integer.compare(year, other.year);
+            return byYear != 0 ? byYear : Integer.compare(month, other.month);
+        }
+
+        @Override
+        public String toString() {
+            return month + "/" + year;
+        }
+    }
+
+    private record Totals(long count, BigDecimal salary, BigDecimal deductions, BigDecimal bonuses,
+                          BigDecimal netPay) {
+        boolean isEmpty() {
+            return count == 0 && salary.signum() == 0 && deductions.signum() == 0
+                    && bonuses.signum() == 0 && netPay.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.hrms.config;
+
+import com.hrms.security.service.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replica routing, failover and read-your-writes pinning over H2 pools.
+ *
+ * The primary and each replica are separate in-memory databases holding a one-row node
+ * table with their own name, so every read shows which database served it. The routing
+ * DataSource is assembled as DataSourceConfig does, without a Spring context.
+ */
+class ReadReplicasTest {
+
+    private static final String DEAD_URL = "jdbc:h2:tcp://127.0.0.1:1/mem:hrms-replica-dead";
+    private static final String READ_NODE_SQL = "SELECT name FROM node";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private ReadReplicas readReplicas;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (readReplicas != null) {
+            readReplicas.shutdown();
+        }
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void readOnlyTransactionsRoundRobinOverReplicas() {
+        route(pool("replica-1", database("replica-1"), 2), pool("replica-2", database("replica-2"), 2));
+
+        assertThat(List.of(readOnly(), readOnly(), readOnly(), readOnly()))
+                .containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+        assertThat(readWrite()).isEqualTo("primary");
+    }
+
+    @Test
+    void unreachableReplicaIsSkippedAndTakenOutOfRotation() {
+        route(pool("replica-1", DEAD_URL, 2), pool("replica-2", database("replica-2"), 2));
+
+        assertThat(List.of(readOnly(), readOnly(), readOnly())).containsOnly("replica-2");
+        assertThat(replicaUp("replica-1")).isZero();
+        assertThat(replicaUp("replica-2")).isEqualTo(1);
+        assertThat(fallbacks()).isZero();
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenNoReplicaIsUp() {
+        route(pool("replica-1", DEAD_URL, 2), pool("replica-2", DEAD_URL, 2));
+
+        assertThat(readOnly()).isEqualTo("primary");
+        assertThat(fallbacks()).isEqualTo(1);
+    }
+
+    @Test
+    void exhaustedReplicaIsSkippedButStaysInRotation() throws SQLException {
+        HikariDataSource busy = pool("replica-1", database("replica-1"), 1);
+        route(busy, pool("replica-2", database("replica-2"), 2));
+
+        try (Connection held = busy.getConnection()) {
+            assertThat(List.of(readOnly(), readOnly())).containsOnly("replica-2");
+        }
+
+        assertThat(replicaUp("replica-1")).isEqualTo(1);
+        assertThat(List.of(readOnly(), readOnly())).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void readsStayOnPrimaryAfterTheUsersOwnWrite() {
+        route(pool("replica-1", database("replica-1"), 2));
+
+        authenticate(1L);
+        assertThat(readOnly()).isEqualTo("replica-1");
+        readWriteTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertThat(readOnly()).isEqualTo("primary");
+
+        authenticate(2L);
+        assertThat(readOnly()).isEqualTo("replica-1");
+    }
+
+    private void route(HikariDataSource... replicaPools) {
+        String primaryUrl = database("primary");
+        HikariDataSource write = pool("write", primaryUrl, 2);
+        HikariDataSource read = pool("read", primaryUrl, 2);
+        readReplicas = new ReadReplicas(List.of(replicaPools), read, Duration.ofMinutes(1));
+        readReplicas.bindTo(registry);
+
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        TransactionRoutingDataSource routingDataSource = new TransactionRoutingDataSource(true, readYourWrites);
+        routingDataSource.setTargetDataSources(Map.of(
+                TransactionRoutingDataSource.WRITE, write,
+                TransactionRoutingDataSource.READ, read,
+                TransactionRoutingDataSource.REPLICA, readReplicas.dataSource()));
+        routingDataSource.setDefaultTargetDataSource(write);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(readYourWrites);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    private String readOnly() {
+        return readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(READ_NODE_SQL, String.class));
+    }
+
+    private String readWrite() {
+        return readWriteTransaction.execute(status -> jdbcTemplate.queryForObject(READ_NODE_SQL, String.class));
+    }
+
+    private double replicaUp(String poolName) {
+        return registry.get("hrms.db.replica.up").tag("pool", poolName).gauge().value();
+    }
+
+    private double fallbacks() {
+        return registry.get("hrms.db.replica.fallbacks").counter().count();
+    }
+
+    private static void authenticate(Long userId) {
+        UserPrincipal principal = UserPrincipal.create(userId, "user" + userId, "user" + userId + "@example.com",
+                "User " + userId, List.of("EMPLOYEE"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * An in-memory database whose node table holds its name
+     */
+    private static String database(String name) {
+        String url = "jdbc:h2:mem:hrms-" + name + ";DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+            statement.execute("DELETE FROM node");
+            statement.execute("INSERT INTO node VALUES ('" + name + "')");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return url;
+    }
+
+    private HikariDataSource pool(String name, String url, int maximumSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setMaximumPoolSize(maximumSize);
+        pool.setConnectionTimeout(250);
+        pools.add(pool);
+        return pool;
+    }
+}
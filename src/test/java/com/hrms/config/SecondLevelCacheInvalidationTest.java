@@ -0,0 +1,188 @@
+package com.hrms.config;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.Department;
+import com.hrms.entity.Role;
+import com.hrms.entity.User;
+import com.hrms.repository.DepartmentRepository;
+import com.hrms.repository.RoleRepository;
+import com.hrms.repository.UserRepository;
+import com.hrms.service.DepartmentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes through Hibernate keep the second-level and query cache regions consistent:
+ * after each write the next read returns the new state, either from the database (a
+ * region miss) or, for READ_WRITE entity updates, from the entry Hibernate replaced on
+ * commit (a put by the write, then a hit).
+ *
+ * Every read runs in its own transaction, so it goes through the second-level cache
+ * rather than the persistence context of the write.
+ */
+@SpringBootTest(classes = HrManagementSystemApplication.class)
+@ActiveProfiles("test")
+class SecondLevelCacheInvalidationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void deleteSeededRows() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void roleUpdateReplacesCachedEntity() {
+        Long id = roleRepository.save(new Role("AUDITOR", "Audits")).getId();
+        warm(HibernateCacheConfig.ROLE_REGION, () -> roleRepository.findById(id));
+
+        transaction.executeWithoutResult(status ->
+                roleRepository.findById(id).orElseThrow().setDescription("Audits payroll"));
+        assertThat(region(HibernateCacheConfig.ROLE_REGION).getPutCount()).isEqualTo(1);
+        statistics().clear();
+
+        assertThat(roleRepository.findById(id).orElseThrow().getDescription()).isEqualTo("Audits payroll");
+        assertThat(region(HibernateCacheConfig.ROLE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void roleDeleteInvalidatesCachedEntity() {
+        Long id = roleRepository.save(new Role("AUDITOR", "Audits")).getId();
+        warm(HibernateCacheConfig.ROLE_REGION, () -> roleRepository.findById(id));
+
+        roleRepository.deleteById(id);
+        statistics().clear();
+
+        assertThat(roleRepository.findById(id)).isEmpty();
+        assertMissWithoutHit(HibernateCacheConfig.ROLE_REGION);
+    }
+
+    @Test
+    void departmentUpdateReplacesCachedEntity() {
+        Long id = departmentRepository.save(new Department("Audit", "Internal audit")).getId();
+        warm(HibernateCacheConfig.DEPARTMENT_REGION, () -> departmentRepository.findById(id));
+
+        departmentService.updateDepartment(id, new Department("Audit & Risk", "Internal audit"));
+        assertThat(region(HibernateCacheConfig.DEPARTMENT_REGION).getPutCount()).isEqualTo(1);
+        statistics().clear();
+
+        assertThat(departmentRepository.findById(id).orElseThrow().getName()).isEqualTo("Audit & Risk");
+        assertThat(region(HibernateCacheConfig.DEPARTMENT_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void departmentDeleteInvalidatesCachedEntity() {
+        Long id = departmentRepository.save(new Department("Audit", "Internal audit")).getId();
+        warm(HibernateCacheConfig.DEPARTMENT_REGION, () -> departmentRepository.findById(id));
+
+        departmentService.deleteDepartment(id);
+        statistics().clear();
+
+        assertThat(departmentRepository.findById(id)).isEmpty();
+        assertMissWithoutHit(HibernateCacheConfig.DEPARTMENT_REGION);
+    }
+
+    @Test
+    void roleChangeInvalidatesCachedUserRoles() {
+        Role employee = roleRepository.save(new Role("EMPLOYEE", "Employee"));
+        Role hr = roleRepository.save(new Role("HR", "Human resources"));
+        User user = new User("cacheuser", "cacheuser@example.com", "encoded-password", "Cache User");
+        user.addRole(employee);
+        Long id = userRepository.save(user).getId();
+        warm(HibernateCacheConfig.USER_ROLES_REGION, () -> userRepository.findById(id));
+
+        transaction.executeWithoutResult(status -> userRepository.findById(id).orElseThrow().addRole(hr));
+        statistics().clear();
+
+        assertThat(roleNames(id)).containsExactlyInAnyOrder("EMPLOYEE", "HR");
+        assertMissWithoutHit(HibernateCacheConfig.USER_ROLES_REGION);
+    }
+
+    @Test
+    void roleInsertInvalidatesCachedRoleByNameQuery() {
+        roleRepository.save(new Role("EMPLOYEE", "Employee"));
+        assertThat(roleRepository.findByName("MANAGER")).isEmpty();
+        statistics().clear();
+        assertThat(roleRepository.findByName("MANAGER")).isEmpty();
+        assertThat(region(HibernateCacheConfig.ROLE_BY_NAME_QUERY_REGION).getHitCount()).isEqualTo(1);
+
+        roleRepository.save(new Role("MANAGER", "Manager"));
+        statistics().clear();
+
+        assertThat(roleRepository.findByName("MANAGER")).isPresent();
+        assertMissWithoutHit(HibernateCacheConfig.ROLE_BY_NAME_QUERY_REGION);
+    }
+
+    /**
+     * Load once to populate the region, check that a second load hits it, and reset the statistics
+     */
+    private void warm(String regionName, Runnable read) {
+        read.run();
+        statistics().clear();
+        read.run();
+        assertThat(region(regionName).getHitCount()).isEqualTo(1);
+        statistics().clear();
+    }
+
+    private Set<String> roleNames(Long userId) {
+        return userRepository.findById(userId).orElseThrow().getRoles().stream()
+                .map(Role::getName).collect(Collectors.toSet());
+    }
+
+    private void assertMissWithoutHit(String regionName) {
+        CacheRegionStatistics region = region(regionName);
+        assertThat(region.getHitCount()).isZero();
+        assertThat(region.getMissCount()).isEqualTo(1);
+    }
+
+    private CacheRegionStatistics region(String regionName) {
+        return regionName.equals(HibernateCacheConfig.ROLE_BY_NAME_QUERY_REGION)
+                ? statistics().getQueryRegionStatistics(regionName)
+                : statistics().getDomainDataRegionStatistics(regionName);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
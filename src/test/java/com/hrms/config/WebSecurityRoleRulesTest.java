@@ -0,0 +1,86 @@
+package com.hrms.config;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.Role;
+import com.hrms.entity.User;
+import com.hrms.security.jwt.JwtAuthenticationTokenFilter;
+import com.hrms.security.jwt.JwtUtils;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * WebSecurityConfig's URL rules for principals authenticated by access token.
+ *
+ * Each request carries an access token cookie for a user holding a single role. A path
+ * the role may use must get past authorization (any status but 401 and 403, e.g. 404 for
+ * paths without a controller); any other role must get 403.
+ */
+@SpringBootTest(classes = HrManagementSystemApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WebSecurityRoleRulesTest {
+
+    private static final List<String> ROLES = List.of(Role.ADMIN, Role.HR, Role.MANAGER, Role.EMPLOYEE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @ParameterizedTest(name = "{0} allows {1}")
+    @CsvSource({
+            "/actuator/slowqueries,         ADMIN",
+            "/api/admin/settings,           ADMIN",
+            "/api/users/1,                  ADMIN HR",
+            "/api/departments,              ADMIN HR MANAGER",
+            "/api/employees,                ADMIN HR MANAGER",
+            "/api/leave-requests/approve/1, ADMIN HR MANAGER",
+            "/api/payrolls/1,               ADMIN HR",
+            "/api/profile/me,               ADMIN HR MANAGER EMPLOYEE",
+            "/api/my-leave-requests/1,      ADMIN HR MANAGER EMPLOYEE",
+            "/api/payroll,                  ADMIN HR MANAGER EMPLOYEE",
+            "/api/leave-requests,           ADMIN HR MANAGER EMPLOYEE"
+    })
+    void roleRulesGrantOnlyTheListedRoles(String path, String allowedRoles) throws Exception {
+        Set<String> allowed = Set.of(allowedRoles.split(" "));
+        for (String role : ROLES) {
+            int status = mockMvc.perform(get(path).cookie(accessToken(role))).andReturn().getResponse().getStatus();
+            if (allowed.contains(role)) {
+                assertThat(status).as("%s %s", role, path).isNotIn(401, 403);
+            } else {
+                assertThat(status).as("%s %s", role, path).isEqualTo(403);
+            }
+        }
+    }
+
+    @Test
+    void requestsWithoutTokenAreUnauthorized() throws Exception {
+        int status = mockMvc.perform(get("/api/employees")).andReturn().getResponse().getStatus();
+
+        assertThat(status).isEqualTo(401);
+    }
+
+    private Cookie accessToken(String role) {
+        User user = new User("rules." + role.toLowerCase(), "rules." + role.toLowerCase() + "@example.com",
+                "{noop}password", "Rules " + role);
+        user.setId(1L);
+        user.setRoles(Set.of(new Role(role)));
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return new Cookie(JwtAuthenticationTokenFilter.JWT_COOKIE_NAME, token);
+    }
+}
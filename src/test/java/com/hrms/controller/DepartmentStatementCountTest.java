@@ -0,0 +1,40 @@
+package com.hrms.controller;
+
+import com.hrms.entity.Department;
+import com.hrms.support.StatementCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The department list, by-id and search endpoints read DepartmentDTO projections with the
+ * employee count aggregated in SQL, so each prepares one statement however many employees
+ * the departments have.
+ */
+class DepartmentStatementCountTest extends StatementCountTestSupport {
+
+    @Autowired
+    private DepartmentController departmentController;
+
+    @Test
+    void departmentReadsPrepareOneStatementRegardlessOfEmployeeCount() {
+        List<Department> departments = List.of(department("Engineering"), department("Finance"), department("Sales"));
+        departments.forEach(department -> employees(department, 1));
+        Long id = departments.get(0).getId();
+
+        assertStatementCounts(id);
+
+        departments.forEach(department -> employees(department, 200));
+
+        assertStatementCounts(id);
+    }
+
+    private void assertStatementCounts(Long id) {
+        assertThat(statementsPrepared(() -> departmentController.getAllDepartments())).isEqualTo(1);
+        assertThat(statementsPrepared(() -> departmentController.getDepartmentById(id))).isEqualTo(1);
+        assertThat(statementsPrepared(() -> departmentController.searchDepartments("an"))).isEqualTo(1);
+    }
+}
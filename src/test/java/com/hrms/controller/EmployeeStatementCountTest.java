@@ -0,0 +1,65 @@
+package com.hrms.controller;
+
+import com.hrms.dto.EmployeeDTO;
+import com.hrms.entity.Department;
+import com.hrms.entity.Employee;
+import com.hrms.exception.ResourceNotFoundException;
+import com.hrms.support.StatementCountTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The employee read endpoints select EmployeeDTO projections with the department joined
+ * in, so each prepares one statement however many employees there are. The search and
+ * with-department endpoints inner join the department and leave out unassigned employees.
+ */
+class EmployeeStatementCountTest extends StatementCountTestSupport {
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Test
+    void employeeReadsPrepareOneStatementRegardlessOfEmployeeCount() {
+        List<Department> departments = List.of(department("Engineering"), department("Finance"), department("Sales"));
+        departments.forEach(department -> employees(department, 1));
+        Long employeeId = employees(departments.get(0), 1).get(0).getId();
+        Long departmentId = departments.get(0).getId();
+
+        assertStatementCounts(employeeId, departmentId);
+
+        departments.forEach(department -> employees(department, 200));
+
+        assertStatementCounts(employeeId, departmentId);
+    }
+
+    @Test
+    void searchAndWithDepartmentSkipEmployeesWithoutDepartment() {
+        Employee assigned = employees(department("Engineering"), 1).get(0);
+        Employee unassigned = employees(null, 1).get(0);
+
+        List<EmployeeDTO> found = employeeController.searchEmployees(null, "engineer", null).getBody().getData();
+        assertThat(found).extracting(EmployeeDTO::getId).containsExactly(assigned.getId());
+
+        assertThat(employeeController.getEmployeeWithDepartment(assigned.getId()).getBody().getData().getId())
+                .isEqualTo(assigned.getId());
+        assertThatThrownBy(() -> employeeController.getEmployeeWithDepartment(unassigned.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // The plain by-id read still returns an unassigned employee
+        assertThat(employeeController.getEmployeeById(unassigned.getId()).getBody().getData().getId())
+                .isEqualTo(unassigned.getId());
+    }
+
+    private void assertStatementCounts(Long employeeId, Long departmentId) {
+        assertThat(statementsPrepared(() -> employeeController.getAllEmployees())).isEqualTo(1);
+        assertThat(statementsPrepared(() -> employeeController.getEmployeeById(employeeId))).isEqualTo(1);
+        assertThat(statementsPrepared(() -> employeeController.getEmployeeWithDepartment(employeeId))).isEqualTo(1);
+        assertThat(statementsPrepared(() -> employeeController.getEmployeesByDepartment(departmentId))).isEqualTo(1);
+        assertThat(statementsPrepared(() -> employeeController.searchEmployees(null, "engineer", "eng"))).isEqualTo(1);
+    }
+}
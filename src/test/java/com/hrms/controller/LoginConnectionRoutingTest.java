@@ -0,0 +1,100 @@
+package com.hrms.controller;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.config.ConnectionPools;
+import com.hrms.entity.User;
+import com.hrms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A login reads the user in a read-only transaction and then writes the upgraded
+ * password hash. Without a session held open for the whole request, the write gets
+ * its own connection from the hrms-write pool instead of reusing the hrms-read one.
+ *
+ * The hrms-read pool connects as a database user that may only SELECT, so a write
+ * routed to it fails the login.
+ */
+@SpringBootTest(classes = HrManagementSystemApplication.class,
+        properties = "spring.datasource.url=" + LoginConnectionRoutingTest.URL)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginConnectionRoutingTest {
+
+    static final String URL =
+            "jdbc:h2:mem:hrms-login-routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE";
+
+    private static final String READER = "reader";
+    private static final String PASSWORD = "password123";
+
+    @TestConfiguration
+    static class SelectOnlyReadPool {
+
+        @Bean
+        static BeanPostProcessor selectOnlyReadPool() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof ConnectionPools pools) {
+                        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                             Statement statement = connection.createStatement()) {
+                            statement.execute("CREATE USER IF NOT EXISTS " + READER + " PASSWORD '" + READER + "'");
+                            statement.execute("GRANT SELECT ON SCHEMA PUBLIC TO " + READER);
+                        } catch (SQLException e) {
+                            throw new BeanCreationException(beanName, "Could not create the read-only user", e);
+                        }
+                        pools.read().setUsername(READER);
+                        pools.read().setPassword(READER);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void deleteSeededRows() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void passwordUpgradeAfterReadOnlyLookupUsesTheWritePool() throws Exception {
+        // Hashed below the configured strength, so the login re-hashes it
+        String weakHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        userRepository.save(new User("routing.user", "routing.user@example.com", weakHash, "Routing User"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernameOrEmail\":\"routing.user\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByUsername("routing.user").orElseThrow().getPassword();
+        assertThat(storedHash).isNotEqualTo(weakHash).doesNotStartWith("$2a$04$");
+    }
+}
@@ -0,0 +1,130 @@
+package com.hrms.controller;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Role;
+import com.hrms.entity.User;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.security.jwt.JwtAuthenticationTokenFilter;
+import com.hrms.security.jwt.JwtUtils;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read-your-writes through the full JPA and MVC stack: PUT /api/employees/{id} updates the
+ * employee in a read-write transaction and then reads the response in a read-only one.
+ *
+ * The replica has the schema but none of the rows, like a replica that has not caught up,
+ * so a read routed to it cannot find the employee.
+ */
+@SpringBootTest(classes = HrManagementSystemApplication.class, properties = {
+        "spring.datasource.url=" + ReadYourWritesRequestTest.PRIMARY_URL,
+        "hrms.db.replicas.urls=" + ReadYourWritesRequestTest.REPLICA_URL
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadYourWritesRequestTest {
+
+    private static final String H2_SETTINGS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,MONTH,DAY,VALUE";
+    static final String PRIMARY_URL = "jdbc:h2:mem:hrms-ryw-primary" + H2_SETTINGS;
+    static final String REPLICA_URL = "jdbc:h2:mem:hrms-ryw-replica" + H2_SETTINGS;
+
+    @TestConfiguration
+    static class LaggingReplica {
+
+        /**
+         * Copies the generated schema, without data, to the replica before the application
+         * starts reading from it
+         */
+        @Bean
+        List<String> replicaSchema(EntityManagerFactory entityManagerFactory) throws SQLException {
+            List<String> script = new ArrayList<>();
+            try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+                 Statement statement = primary.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SCRIPT NODATA")) {
+                while (resultSet.next()) {
+                    script.add(resultSet.getString(1));
+                }
+            }
+            try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+                 Statement statement = replica.createStatement()) {
+                for (String sql : script) {
+                    statement.execute(sql);
+                }
+            }
+            return script;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @AfterEach
+    void deleteSeededRows() {
+        employeeRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void readAfterWriteInTheSameRequestSeesTheWrite() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("Original Name", "ryw@example.com", "+201000000000",
+                "Engineer", LocalDate.of(2020, 1, 1), new BigDecimal("5000.00")));
+        Cookie accessToken = accessToken(42L);
+
+        // Without a write of its own the user reads from the lagging replica
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).cookie(accessToken))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(put("/api/employees/{id}", employee.getId())
+                        .cookie(accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Updated Name\",\"email\":\"ryw@example.com\",\"phone\":\"+201000000000\"," +
+                                "\"position\":\"Engineer\",\"dateOfJoining\":\"2020-01-01\",\"salary\":5500.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Updated Name"));
+
+        mockMvc.perform(get("/api/employees/{id}", employee.getId()).cookie(accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Updated Name"));
+    }
+
+    private Cookie accessToken(Long userId) {
+        User user = new User("ryw.hr", "ryw.hr@example.com", "{noop}password", "Read Your Writes");
+        user.setId(userId);
+        user.setRoles(Set.of(new Role(Role.HR)));
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return new Cookie(JwtAuthenticationTokenFilter.JWT_COOKIE_NAME, token);
+    }
+}
@@ -0,0 +1,192 @@
+package com.hrms.service;
+
+import com.hrms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lockout and flushing in LoginActivityRecorder, against a mocked repository that keeps
+ * one user's persisted failed attempts and lock state.
+ */
+class LoginActivityRecorderTest {
+
+    private static final long USER_ID = 1L;
+    private static final String USERNAME = "jdoe";
+    private static final int MAX_FAILED_ATTEMPTS = 5;
+    private static final String FAILURE_SQL =
+            "UPDATE users SET failed_login_attempts = failed_login_attempts + ? WHERE id = ?";
+
+    private final AtomicInteger persistedAttempts = new AtomicInteger();
+    private final AtomicBoolean persistedLocked = new AtomicBoolean();
+
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+    private LoginActivityRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(userRepository.findLoginStateByUsernameOrEmail(USERNAME)).thenAnswer(invocation ->
+                List.<Object[]>of(new Object[] {USER_ID, persistedAttempts.get(), !persistedLocked.get()}));
+        doAnswer(invocation -> {
+            persistedLocked.set(true);
+            return null;
+        }).when(userRepository).lockAccount(USER_ID);
+
+        // The periodic flush is pushed out of the way; tests flush explicitly
+        recorder = new LoginActivityRecorder(userRepository, jdbcTemplate, mock(PlatformTransactionManager.class),
+                MAX_FAILED_ATTEMPTS, 3_600_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.shutdown();
+    }
+
+    @Test
+    void locksOnceWhenThresholdIsReached() {
+        for (int i = 1; i < MAX_FAILED_ATTEMPTS; i++) {
+            assertThat(recorder.recordFailure(USERNAME)).isFalse();
+        }
+        assertThat(recorder.recordFailure(USERNAME)).isTrue();
+        for (int i = 0; i < 10; i++) {
+            assertThat(recorder.recordFailure(USERNAME)).isFalse();
+        }
+
+        verify(userRepository, times(1)).lockAccount(USER_ID);
+    }
+
+    @Test
+    void locksOnFirstFailureWhenPersistedCountIsAlreadyAboveThreshold() {
+        persistedAttempts.set(MAX_FAILED_ATTEMPTS + 2);
+
+        assertThat(recorder.recordFailure(USERNAME)).isTrue();
+
+        verify(userRepository, times(1)).lockAccount(USER_ID);
+    }
+
+    @Test
+    void locksAgainAfterUnlock() {
+        for (int i = 0; i < MAX_FAILED_ATTEMPTS; i++) {
+            recorder.recordFailure(USERNAME);
+        }
+
+        // Administrator unlock: the repository resets the persisted state, AuthService clears the counter
+        persistedAttempts.set(0);
+        persistedLocked.set(false);
+        recorder.clearFailures(USER_ID);
+
+        for (int i = 1; i < MAX_FAILED_ATTEMPTS; i++) {
+            assertThat(recorder.recordFailure(USERNAME)).isFalse();
+        }
+        assertThat(recorder.recordFailure(USERNAME)).isTrue();
+
+        verify(userRepository, times(2)).lockAccount(USER_ID);
+    }
+
+    @Test
+    void locksAgainAfterUnlockOnAnotherInstance() {
+        for (int i = 0; i < MAX_FAILED_ATTEMPTS; i++) {
+            recorder.recordFailure(USERNAME);
+        }
+
+        // Unlocked elsewhere: only the database changes
+        persistedAttempts.set(0);
+        persistedLocked.set(false);
+
+        // The first failure finds the stale locked counter and drops it; the next one re-seeds
+        for (int i = 0; i < MAX_FAILED_ATTEMPTS; i++) {
+            assertThat(recorder.recordFailure(USERNAME)).isFalse();
+        }
+        assertThat(recorder.recordFailure(USERNAME)).isTrue();
+
+        verify(userRepository, times(2)).lockAccount(USER_ID);
+    }
+
+    @Test
+    void concurrentFailuresLockOnceAndFlushEveryAttempt() throws Exception {
+        int threads = 64;
+        int failuresPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int locks = 0;
+                    for (int i = 0; i < failuresPerThread; i++) {
+                        if (recorder.recordFailure(USERNAME)) {
+                            locks++;
+                        }
+                    }
+                    return locks;
+                }));
+            }
+            start.countDown();
+
+            int locks = 0;
+            for (Future<Integer> result : results) {
+                locks += result.get();
+            }
+            assertThat(locks).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(userRepository, times(1)).lockAccount(USER_ID);
+
+        recorder.flush();
+
+        verify(jdbcTemplate).batchUpdate(eq(FAILURE_SQL), failureRow(threads * failuresPerThread));
+    }
+
+    @Test
+    void failedFlushIsRequeued() {
+        when(jdbcTemplate.batchUpdate(eq(FAILURE_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"))
+                .thenReturn(new int[] {1});
+
+        recorder.recordFailure(USERNAME);
+        recorder.recordFailure(USERNAME);
+        assertThatThrownBy(recorder::flush).isInstanceOf(DataAccessResourceFailureException.class);
+
+        recorder.recordFailure(USERNAME);
+        recorder.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(FAILURE_SQL), anyList());
+        verify(jdbcTemplate).batchUpdate(eq(FAILURE_SQL), failureRow(3));
+        verify(userRepository, never()).lockAccount(any());
+    }
+
+    private static List<Object[]> failureRow(int delta) {
+        return argThat(rows -> rows.size() == 1 && Arrays.equals(rows.get(0), new Object[] {delta, USER_ID}));
+    }
+}
@@ -0,0 +1,132 @@
+package com.hrms.service;
+
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.Department;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Payroll;
+import com.hrms.repository.DepartmentRepository;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.repository.PayrollRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Summary maintenance on the test profile's H2 database, where the upsert is the
+ * standard MERGE rather than MySQL's ON DUPLICATE KEY UPDATE.
+ */
+@SpringBootTest(classes = HrManagementSystemApplication.class)
+@ActiveProfiles("test")
+class PayrollSummaryServiceTest {
+
+    private static final int YEAR = 2024;
+    private static final int MONTH = 3;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private PayrollSummaryService payrollSummaryService;
+
+    @Autowired
+    private PayrollRepository payrollRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department department;
+    private Employee first;
+    private Employee second;
+
+    @BeforeEach
+    void setUp() {
+        department = departmentRepository.save(new Department("Payroll", "Payroll department"));
+        first = employee("summary.first@example.com");
+        second = employee("summary.second@example.com");
+    }
+
+    @AfterEach
+    void deleteSeededRows() {
+        payrollRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM payroll_summaries");
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void payrollWritesUpsertTheSummaryRow() {
+        Payroll firstPayroll = payrollService.createPayroll(new Payroll(MONTH, YEAR, new BigDecimal("5000.00"), first));
+        assertSummary(1, "5000.00", "5000.00");
+
+        Payroll secondPayroll = payrollService.createPayroll(new Payroll(MONTH, YEAR, new BigDecimal("4000.00"), second));
+        assertSummary(2, "9000.00", "9000.00");
+
+        Payroll changes = new Payroll();
+        changes.setTotalSalary(new BigDecimal("6000.00"));
+        changes.setBonuses(new BigDecimal("500.00"));
+        payrollService.updatePayroll(firstPayroll.getId(), changes);
+        assertSummary(2, "10000.00", "10500.00");
+
+        payrollService.deletePayroll(secondPayroll.getId());
+        assertSummary(1, "6000.00", "6500.00");
+
+        assertThat(payrollSummaryService.reconcile()).isZero();
+    }
+
+    @Test
+    void summariesAreBuiltFromPayrollsWhenEmpty() {
+        payrollService.createPayroll(new Payroll(MONTH, YEAR, new BigDecimal("5000.00"), first));
+        payrollService.createPayroll(new Payroll(MONTH, YEAR, new BigDecimal("4000.00"), second));
+        jdbcTemplate.update("DELETE FROM payroll_summaries");
+
+        payrollSummaryService.initializeSummaries();
+
+        assertSummary(2, "9000.00", "9000.00");
+    }
+
+    @Test
+    void reconcileRebuildsDriftedPeriods() {
+        payrollService.createPayroll(new Payroll(MONTH, YEAR, new BigDecimal("5000.00"), first));
+        jdbcTemplate.update("UPDATE payroll_summaries SET payroll_count = 7");
+
+        assertThat(payrollSummaryService.reconcile()).isEqualTo(1);
+
+        assertSummary(1, "5000.00", "5000.00");
+        assertThat(payrollSummaryService.reconcile()).isZero();
+    }
+
+    private void assertSummary(long count, String totalSalary, String totalNetPay) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT payroll_count, total_salary, total_net_pay FROM payroll_summaries " +
+                "WHERE year = ? AND month = ? AND department_id = ?",
+                (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getBigDecimal(2), rs.getBigDecimal(3)},
+                YEAR, MONTH, department.getId());
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)[0]).isEqualTo(count);
+        assertThat((BigDecimal) rows.get(0)[1]).isEqualByComparingTo(totalSalary);
+        assertThat((BigDecimal) rows.get(0)[2]).isEqualByComparingTo(totalNetPay);
+    }
+
+    private Employee employee(String email) {
+        Employee employee = new Employee("Employee " + email, email, "+201000000000", "Engineer",
+                LocalDate.of(2020, 1, 1), new BigDecimal("5000.00"));
+        employee.setDepartment(department);
+        return employeeRepository.save(employee);
+    }
+}
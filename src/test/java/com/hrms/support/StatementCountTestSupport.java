@@ -0,0 +1,102 @@
+package com.hrms.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.application.HrManagementSystemApplication;
+import com.hrms.entity.Department;
+import com.hrms.entity.Employee;
+import com.hrms.repository.DepartmentRepository;
+import com.hrms.repository.EmployeeRepository;
+import com.hrms.service.DepartmentCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Base for tests that pin the number of SQL statements a request path prepares.
+ *
+ * The application runs on embedded H2 (test profile) with Hibernate statistics on.
+ * Each measured call starts with the department cache and the second-level cache
+ * empty, so the count is the one a cold request pays, and its result is serialized
+ * as the controller's response would be, so lazy loads during rendering are counted.
+ */
+@SpringBootTest(classes = HrManagementSystemApplication.class)
+@ActiveProfiles("test")
+public abstract class StatementCountTestSupport {
+
+    private static final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    protected DepartmentRepository departmentRepository;
+
+    @Autowired
+    protected EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentCache departmentCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void deleteSeededRows() {
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Statements prepared by the call and by serializing its result, with caches cold
+     */
+    protected long statementsPrepared(Supplier<?> call) {
+        departmentCache.clear();
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = statistics();
+        statistics.clear();
+        Object result = call.get();
+        try {
+            objectMapper.writeValueAsString(result instanceof ResponseEntity<?> response ? response.getBody() : result);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return statistics.getPrepareStatementCount();
+    }
+
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    protected Department department(String name) {
+        return departmentRepository.save(new Department(name, name + " department"));
+    }
+
+    /**
+     * Add employees to a department (or to none when department is null)
+     */
+    protected List<Employee> employees(Department department, int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long n = sequence.incrementAndGet();
+            Employee employee = new Employee("Employee " + n, "employee" + n + "@example.com", "+201000000000",
+                    "Engineer", LocalDate.of(2020, 1, 1), new BigDecimal("5000.00"));
+            employee.setDepartment(department);
+            employees.add(employee);
+        }
+        return employeeRepository.saveAll(employees);
+    }
+}